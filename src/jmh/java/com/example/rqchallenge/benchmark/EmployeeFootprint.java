@@ -0,0 +1,45 @@
+package com.example.rqchallenge.benchmark;
+
+import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.snapshot.EmployeeTable;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Measures the retained heap of List&lt;Employee&gt; against EmployeeTable for the same rows.
+ * JMH does not measure retained size, so this runs as a plain main class from the jmh jar:
+ * {@code java -Xmx8g -cp build/libs/<name>-jmh.jar com.example.rqchallenge.benchmark.EmployeeFootprint 1000000}
+ */
+public class EmployeeFootprint {
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        long baseline = usedHeap();
+        List<Employee> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(new Employee(String.valueOf(i), "Employee " + Integer.toString(i, 36),
+                    ThreadLocalRandom.current().nextInt(1_000_000), 20 + i % 45, ""));
+        }
+        long listBytes = usedHeap() - baseline;
+
+        EmployeeTable table = EmployeeTable.of(employees);
+        employees = null;
+        long tableBytes = usedHeap() - baseline;
+
+        System.out.printf("rows=%d list=%,d bytes (%.1f/row) table=%,d bytes (%.1f/row, columns report %,d)%n",
+                size, listBytes, (double) listBytes / size, tableBytes, (double) tableBytes / size, table.footprint());
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
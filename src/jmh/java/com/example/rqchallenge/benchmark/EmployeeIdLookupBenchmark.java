@@ -0,0 +1,76 @@
+package com.example.rqchallenge.benchmark;
+
+import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.snapshot.EmployeeIdIndex;
+import com.example.rqchallenge.employees.snapshot.EmployeeTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous linear scan in EmployeeService.getEmployeeById with the id index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class EmployeeIdLookupBenchmark {
+
+    @Param({"10000", "1000000", "10000000"})
+    private int size;
+
+    private List<Employee> employees;
+
+    private EmployeeIdIndex index;
+
+    private String[] ids;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(new Employee(String.valueOf(i), "Employee " + i, i % 500000, 20 + i % 45, ""));
+        }
+        index = EmployeeIdIndex.build(EmployeeTable.of(employees).numericIds());
+        ids = new String[1024];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = String.valueOf(ThreadLocalRandom.current().nextInt(size));
+        }
+    }
+
+    @Benchmark
+    public Optional<Employee> linearScan() {
+        String id = nextId();
+        return employees.stream().filter(employee -> employee.getId().equalsIgnoreCase(id)).findFirst();
+    }
+
+    @Benchmark
+    public Employee indexLookup() {
+        String id = nextId();
+        int row = index.rowOf(EmployeeIdIndex.parseId(id));
+        return row == EmployeeIdIndex.NOT_FOUND ? null : employees.get(row);
+    }
+
+    private String nextId() {
+        return ids[next++ & (ids.length - 1)];
+    }
+}
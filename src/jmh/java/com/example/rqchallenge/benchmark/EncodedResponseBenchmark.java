@@ -0,0 +1,124 @@
+package com.example.rqchallenge.benchmark;
+
+import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.snapshot.EmployeeResponseCache;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshot;
+import com.example.rqchallenge.employees.snapshot.EmployeeTableJsonWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cost of writing the GET / and /topTenHighestEarningEmployeeNames bodies of an unchanged snapshot:
+ * Jackson serializing the employees on every request (the previous path) against copying the bytes
+ * encoded once per snapshot. The sink only counts bytes, so the numbers exclude the network.
+ * The gzip cases compare compressing the full list per response with serving the variant compressed
+ * once per snapshot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EncodedResponseBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private EmployeeSnapshot snapshot;
+
+    private EmployeeResponseCache responseCache;
+
+    private final EmployeeTableJsonWriter employeeTableJsonWriter = new EmployeeTableJsonWriter(objectMapper.getFactory());
+
+    private final CountingOutputStream sink = new CountingOutputStream();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Employee> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(new Employee(String.valueOf(i), "Employee " + i, ThreadLocalRandom.current().nextInt(1_000_000), 20 + i % 45, ""));
+        }
+        snapshot = new EmployeeSnapshot(1, Instant.now(), employees);
+        responseCache = new EmployeeResponseCache(objectMapper);
+    }
+
+    @Benchmark
+    public long allEmployeesJackson() throws IOException {
+        objectMapper.writeValue(sink, snapshot.getEmployees());
+        return sink.count;
+    }
+
+    @Benchmark
+    public long allEmployeesEncoded() throws IOException {
+        sink.write(responseCache.get(snapshot, EmployeeResponseCache.Body.ALL_EMPLOYEES));
+        return sink.count;
+    }
+
+    @Benchmark
+    public long allEmployeesGzipPerResponse() throws IOException {
+        try (GZIPOutputStream gzip = new GZIPOutputStream(sink, 8192)) {
+            employeeTableJsonWriter.writeArray(snapshot, 0, Integer.MAX_VALUE, gzip);
+        }
+        return sink.count;
+    }
+
+    @Benchmark
+    public long allEmployeesGzipEncoded() throws IOException {
+        sink.write(responseCache.get(snapshot, EmployeeResponseCache.Body.ALL_EMPLOYEES, true));
+        return sink.count;
+    }
+
+    @Benchmark
+    public long topTenNamesJackson() throws IOException {
+        objectMapper.writeValue(sink, snapshot.getTopNamesBySalary(10));
+        return sink.count;
+    }
+
+    @Benchmark
+    public long topTenNamesEncoded() throws IOException {
+        sink.write(responseCache.get(snapshot, EmployeeResponseCache.Body.TOP_TEN_NAMES));
+        return sink.count;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
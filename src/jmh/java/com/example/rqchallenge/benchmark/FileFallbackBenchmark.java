@@ -0,0 +1,87 @@
+package com.example.rqchallenge.benchmark;
+
+import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.dto.EmployeeCollectionDto;
+import com.example.rqchallenge.employees.snapshot.EmployeeTable;
+import com.example.rqchallenge.employees.snapshot.EmployeeTableFile;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold-start latency of the file fallback: parsing employee.json with Jackson (the previous path)
+ * against mapping the binary employee.snapshot. Single shot in fresh forks, so each measurement
+ * runs on a JVM that has not yet warmed up the read path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(value = 10, jvmArgsAppend = "-Xmx4g")
+public class FileFallbackBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int size;
+
+    private Path directory;
+
+    private Path jsonFile;
+
+    private Path snapshotFile;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<Employee> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(new Employee(String.valueOf(i), "Employee " + i, ThreadLocalRandom.current().nextInt(1_000_000), 30, ""));
+        }
+        EmployeeCollectionDto employeeCollectionDto = new EmployeeCollectionDto();
+        employeeCollectionDto.setStatus("success");
+        employeeCollectionDto.setData(employees);
+
+        directory = Files.createTempDirectory("employee-fallback");
+        jsonFile = directory.resolve("employee.json");
+        snapshotFile = directory.resolve("employee.snapshot");
+        Files.writeString(jsonFile, objectMapper.writeValueAsString(employeeCollectionDto));
+        EmployeeTableFile.write(EmployeeTable.of(employees), snapshotFile);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(jsonFile);
+        Files.deleteIfExists(snapshotFile);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public EmployeeCollectionDto json() throws IOException {
+        return objectMapper.readValue(Files.readString(jsonFile), EmployeeCollectionDto.class);
+    }
+
+    @Benchmark
+    public EmployeeTable binary() throws IOException {
+        return EmployeeTableFile.read(snapshotFile);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.rqchallenge.benchmark;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Minimal HTTP/1.1 keep-alive upstream that answers every request with a fixed JSON body after a
+ * fixed delay. Each connection is served by its own virtual thread, so the stub itself does not
+ * cap the concurrency of the client under test.
+ */
+final class SlowUpstreamStub implements Closeable {
+
+    private final ServerSocket serverSocket;
+
+    private final ExecutorService connections = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final byte[] response;
+
+    private final long delayMillis;
+
+    SlowUpstreamStub(String body, long delayMillis) throws IOException {
+        byte[] bodyBytes = body.getBytes(StandardCharsets.UTF_8);
+        byte[] head = ("HTTP/1.1 200 OK\r\nContent-Type: application/json\r\nContent-Length: " + bodyBytes.length + "\r\n\r\n")
+                .getBytes(StandardCharsets.US_ASCII);
+        this.response = new byte[head.length + bodyBytes.length];
+        System.arraycopy(head, 0, response, 0, head.length);
+        System.arraycopy(bodyBytes, 0, response, head.length, bodyBytes.length);
+        this.delayMillis = delayMillis;
+        this.serverSocket = new ServerSocket(0, 4096, InetAddress.getLoopbackAddress());
+        Thread.ofVirtual().name("stub-accept").start(this::accept);
+    }
+
+    String url(String path) {
+        return "http://127.0.0.1:" + serverSocket.getLocalPort() + path;
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.execute(() -> serve(socket));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket) {
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            OutputStream out = socket.getOutputStream();
+            while (skipRequest(in)) {
+                Thread.sleep(delayMillis);
+                out.write(response);
+                out.flush();
+            }
+        } catch (IOException e) {
+            // client closed the connection
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Reads up to the blank line that ends the request head, requests of the benchmarks carry no body.
+     */
+    private boolean skipRequest(InputStream in) throws IOException {
+        int matched = 0;
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == (matched % 2 == 0 ? '\r' : '\n')) {
+                if (++matched == 4) {
+                    return true;
+                }
+            } else {
+                matched = b == '\r' ? 1 : 0;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.shutdownNow();
+    }
+}
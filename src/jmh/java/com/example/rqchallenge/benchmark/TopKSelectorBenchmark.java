@@ -0,0 +1,75 @@
+package com.example.rqchallenge.benchmark;
+
+import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.helper.TopKSelector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the full sort previously done by EmployeeService.sortBySalary with the bounded heap selection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class TopKSelectorBenchmark {
+
+    @Param({"10000", "1000000", "10000000"})
+    private int size;
+
+    @Param({"10", "1000"})
+    private int k;
+
+    private List<Employee> employees;
+
+    private int[] salaries;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        employees = new ArrayList<>(size);
+        salaries = new int[size];
+        for (int i = 0; i < size; i++) {
+            int salary = ThreadLocalRandom.current().nextInt(1_000_000);
+            employees.add(new Employee(String.valueOf(i), "Employee " + i, salary, 30, ""));
+            salaries[i] = salary;
+        }
+    }
+
+    @Benchmark
+    public List<Employee> sortBySalary() {
+        return employees.stream()
+                .sorted(Comparator.comparingInt(Employee::getEmployeeSalary).reversed())
+                .collect(Collectors.toList())
+                .subList(0, Math.min(k, size));
+    }
+
+    @Benchmark
+    public int[] heapSequential() {
+        return TopKSelector.selectSequential(salaries, k);
+    }
+
+    @Benchmark
+    public int[] heapParallel() {
+        return TopKSelector.selectParallel(salaries, k, ForkJoinPool.commonPool());
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.rqchallenge.benchmark;
+
+import com.example.rqchallenge.employees.config.BeanConfig;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load against a local upstream stub that answers after a fixed delay: the previous RestTemplate on
+ * SimpleClientHttpRequestFactory against the pooled Apache HttpClient from BeanConfig. Reports
+ * throughput and the latency distribution under 16 concurrent callers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(16)
+@Fork(1)
+public class UpstreamConnectionBenchmark {
+
+    private static final byte[] BODY = ("{\"status\":\"success\",\"data\":[{\"id\":\"1\",\"employee_name\":\"Aarav Patel\","
+            + "\"employee_salary\":50000,\"employee_age\":30,\"profile_image\":\"\"}]}").getBytes(StandardCharsets.UTF_8);
+
+    @Param({"simple", "pooled"})
+    private String client;
+
+    @Param({"5"})
+    private long upstreamDelayMillis;
+
+    private HttpServer server;
+
+    private ExecutorService serverExecutor;
+
+    private CloseableHttpClient pooledHttpClient;
+
+    private RestTemplate restTemplate;
+
+    private String url;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        serverExecutor = Executors.newFixedThreadPool(64);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 128);
+        server.setExecutor(serverExecutor);
+        server.createContext("/employees", exchange -> {
+            try {
+                Thread.sleep(upstreamDelayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, BODY.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(BODY);
+            }
+        });
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/employees";
+
+        if ("pooled".equals(client)) {
+            BeanConfig beanConfig = new BeanConfig();
+            pooledHttpClient = beanConfig.pooledHttpClient(beanConfig.employeeConnectionManager(50, 20, 2000),
+                    5000, 10000, 2000, 30000, 60000);
+            restTemplate = beanConfig.restTemplate(pooledHttpClient);
+        } else {
+            restTemplate = new RestTemplate();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (pooledHttpClient != null) {
+            pooledHttpClient.close();
+        }
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public String fetchAllEmployees() {
+        return restTemplate.getForObject(url, String.class);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.rqchallenge.benchmark;
+
+import com.example.rqchallenge.employees.config.BeanConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Handler throughput with blocking upstream calls: a burst of requests, each blocking on a slow
+ * upstream stub through the pooled RestTemplate, is run on a 200 thread platform pool (the Tomcat
+ * default) and on a virtual thread per task executor. The score is bursts per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class VirtualThreadBenchmark {
+
+    private static final int PLATFORM_THREADS = 200;
+
+    private static final String BODY = "{\"status\":\"success\",\"data\":[]}";
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"1000"})
+    private int requests;
+
+    @Param({"50"})
+    private long upstreamDelayMillis;
+
+    private SlowUpstreamStub upstream;
+
+    private ExecutorService handlerExecutor;
+
+    private CloseableHttpClient pooledHttpClient;
+
+    private RestTemplate restTemplate;
+
+    private String url;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        upstream = new SlowUpstreamStub(BODY, upstreamDelayMillis);
+        url = upstream.url("/employees");
+
+        BeanConfig beanConfig = new BeanConfig();
+        pooledHttpClient = beanConfig.pooledHttpClient(beanConfig.employeeConnectionManager(requests, requests, 2000),
+                5000, 10000, 10000, 30000, 60000);
+        restTemplate = beanConfig.restTemplate(pooledHttpClient);
+
+        handlerExecutor = "virtual".equals(threads)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(PLATFORM_THREADS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        handlerExecutor.shutdownNow();
+        pooledHttpClient.close();
+        upstream.close();
+    }
+
+    @Benchmark
+    public int burst() throws InterruptedException, ExecutionException {
+        List<Future<String>> responses = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            responses.add(handlerExecutor.submit(() -> restTemplate.getForObject(url, String.class)));
+        }
+        int length = 0;
+        for (Future<String> response : responses) {
+            length += response.get().length();
+        }
+        return length;
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.rqchallenge.employees.client;
+
+import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.dto.GetEmployeeDto;
+import com.example.rqchallenge.employees.exceptions.RateLimitExceededException;
+import com.example.rqchallenge.employees.exceptions.UpstreamUnavailableException;
+import com.example.rqchallenge.employees.helper.RateLimitBudget;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking counterpart of the writes of {@link EmployeeClient} on {@link HttpClient#sendAsync}.
+ * No thread is held while the upstream call is pending, the returned futures complete on the
+ * executor of the HttpClient. Error responses surface as {@link RestClientResponseException}; a 429 is
+ * retried with the exponential random backoff the blocking client configures through {@code @Retryable},
+ * the wait runs on a delayed executor instead of a sleeping thread. Every attempt takes a permit from the
+ * shared {@link UpstreamRateLimiter} without blocking and is sent once the permit is due; 429 responses and
+ * their Retry-After slow the limiter down like those of the blocking client. Attempts also go through the
+ * shared {@link UpstreamCircuitBreaker}: while it is open they fail at once with
+ * {@link UpstreamUnavailableException} and their outcomes count towards it. Reads are served by the
+ * snapshot cache, which loads through the blocking client.
+ */
+@Component
+@Slf4j
+public class AsyncEmployeeClient {
+
+    @Autowired
+    HttpClient httpClient;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    UpstreamRateLimiter upstreamRateLimiter;
+
+    @Autowired
+    UpstreamCircuitBreaker upstreamCircuitBreaker;
+
+    @Value("${employee.client.base-url:" + UrlConstants.BASE_URL + "}")
+    String baseUrl = UrlConstants.BASE_URL;
+
+    @Value("${employee.client.timeout-ms:10000}")
+    long timeoutMillis = 10000;
+
+    @Value("${employee.client.retry.max-attempts:3}")
+    int maxAttempts = 3;
+
+    @Value("${employee.client.retry.backoff-ms:1000}")
+    long backoffMillis = 1000;
+
+    @Value("${employee.client.retry.max-backoff-ms:60000}")
+    long maxBackoffMillis = 60000;
+
+    /**
+     * Send request to create employee without blocking the calling thread
+     * @param employee
+     * @return future of the created Employee
+     */
+    public CompletableFuture<Employee> createEmployee(Employee employee) {
+        String url = baseUrl + "/create";
+
+        log.info("Sending async request to create employee: {}", employee);
+
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(employee);
+        } catch (IOException e) {
+            log.error("Exception occurred while creating employee: {}", e.getMessage(), e);
+            return CompletableFuture.failedFuture(new RuntimeException("Exception occurred while creating employee", e));
+        }
+
+        HttpRequest request = requestBuilder(url)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        return withRetry(() -> send(request), "creating employee")
+                .thenApply(response -> {
+                    checkStatus(response, "creating employee");
+                    try {
+                        GetEmployeeDto savedEmployee = objectMapper.readValue(response.body(), GetEmployeeDto.class);
+                        log.info("Employee created successfully: {}", savedEmployee);
+                        return savedEmployee.getData();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /**
+     * Send request to delete employee without blocking the calling thread
+     * @param id
+     * @return future completed once the employee is deleted
+     */
+    public CompletableFuture<Void> deleteEmployeeById(String id) {
+        String url = baseUrl + "/delete/" + id;
+
+        log.info("Sending async request to delete employee: {}", id);
+
+        HttpRequest request = requestBuilder(url).DELETE().build();
+        return withRetry(() -> send(request), "deleting employee")
+                .thenAccept(response -> {
+                    checkStatus(response, "deleting employee");
+                    log.info("Employee deleted successfully: {}", id);
+                });
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> withRetry(Supplier<CompletableFuture<HttpResponse<byte[]>>> request, String operation) {
+        return withRetry(request, operation, 1, backoffMillis);
+    }
+
+    /**
+     * Sends the request again while the upstream answers 429 and attempts are left. The backoff doubles
+     * per attempt up to the maximum and is spread randomly up to twice its value, like the
+     * ExponentialRandomBackOffPolicy behind {@code @Retryable}.
+     * @param request sends one attempt
+     * @param operation
+     * @param attempt number of the attempt about to be sent, from one
+     * @param backoff base delay before the next attempt
+     * @return future of the last response
+     */
+    private CompletableFuture<HttpResponse<byte[]>> withRetry(Supplier<CompletableFuture<HttpResponse<byte[]>>> request, String operation,
+                                                              int attempt, long backoff) {
+        return request.get().thenCompose(response -> {
+            if (response.statusCode() != HttpStatus.TOO_MANY_REQUESTS.value() || attempt >= maxAttempts) {
+                return CompletableFuture.completedFuture(response);
+            }
+            long delay = Math.min(maxBackoffMillis, (long) (backoff * (1 + ThreadLocalRandom.current().nextDouble())));
+            log.warn("Error {}: Too many requests, attempt {} of {}, retrying in {} ms", operation, attempt, maxAttempts, delay);
+            Executor delayed = CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS);
+            return CompletableFuture.supplyAsync(() -> null, delayed)
+                    .thenCompose(ignored -> withRetry(request, operation, attempt + 1, Math.min(maxBackoffMillis, backoff * 2)));
+        });
+    }
+
+    /**
+     * Sends one request once the circuit breaker and the rate limiter permit it and reports the outcome to
+     * both, with the rules of the blocking client: server errors and failures without a response count
+     * against the circuit, a 429 slows the rate limiter down.
+     * @param request
+     * @return future of the response, failed with UpstreamUnavailableException while the circuit is open or
+     * with RateLimitExceededException when no permit is due within the maximum wait
+     */
+    private CompletableFuture<HttpResponse<byte[]>> send(HttpRequest request) {
+        try {
+            upstreamCircuitBreaker.acquirePermission();
+        } catch (UpstreamUnavailableException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        long wait;
+        try {
+            wait = upstreamRateLimiter.reserve();
+        } catch (RuntimeException e) {
+            upstreamCircuitBreaker.onCancelled();
+            return CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<HttpResponse<byte[]>> response = wait > 0
+                ? CompletableFuture.supplyAsync(() -> null, CompletableFuture.delayedExecutor(wait, TimeUnit.NANOSECONDS))
+                        .thenCompose(ignored -> httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()))
+                : httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+        return response.whenComplete((result, e) -> {
+            if (result == null) {
+                upstreamCircuitBreaker.onFailure();
+                return;
+            }
+            if (result.statusCode() >= HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+                upstreamCircuitBreaker.onFailure();
+            } else {
+                upstreamCircuitBreaker.onSuccess();
+            }
+            if (result.statusCode() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                upstreamRateLimiter.onThrottled(RateLimitBudget.retryAfterMillis(
+                        result.headers().firstValue(HttpHeaders.RETRY_AFTER).orElse(null), 0));
+            } else if (result.statusCode() >= 200 && result.statusCode() < 300) {
+                upstreamRateLimiter.onSuccess();
+            }
+        });
+    }
+
+    private HttpRequest.Builder requestBuilder(String url) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofMillis(timeoutMillis))
+                .header("Accept", "application/json");
+    }
+
+    private void checkStatus(HttpResponse<byte[]> response, String operation) {
+        int statusCode = response.statusCode();
+        if (statusCode >= 200 && statusCode < 300) {
+            return;
+        }
+        HttpStatus status = HttpStatus.resolve(statusCode);
+        String statusText = status == null ? String.valueOf(statusCode) : status.getReasonPhrase();
+        log.error("Error {}: {}", operation, statusText);
+        throw new RestClientResponseException("Error " + operation + ": " + statusText, statusCode, statusText,
+                null, response.body(), StandardCharsets.UTF_8);
+    }
+}
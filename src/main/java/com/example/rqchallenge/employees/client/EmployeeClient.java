@@ -3,18 +3,35 @@ package com.example.rqchallenge.employees.client;
 import com.example.rqchallenge.employees.dto.Employee;
 import com.example.rqchallenge.employees.dto.EmployeeCollectionDto;
 import com.example.rqchallenge.employees.dto.GetEmployeeDto;
+import com.example.rqchallenge.employees.exceptions.RateLimitExceededException;
+import com.example.rqchallenge.employees.exceptions.UpstreamUnavailableException;
 import com.example.rqchallenge.employees.helper.EmployeeFileUtils;
+import com.example.rqchallenge.employees.helper.RateLimitBudget;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 @Component
 @Slf4j
@@ -26,30 +43,133 @@ public class EmployeeClient {
     @Autowired
     EmployeeFileUtils employeeFileUtils;
 
+    @Autowired
+    EmployeeStreamParser employeeStreamParser;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    UpstreamRateLimiter upstreamRateLimiter;
+
+    @Autowired
+    UpstreamCircuitBreaker upstreamCircuitBreaker;
+
+    /**
+     * Base URL of the employee API, shared with {@link AsyncEmployeeClient} so reads and writes go to the same host.
+     */
+    @Value("${employee.client.base-url:" + UrlConstants.BASE_URL + "}")
+    String baseUrl = UrlConstants.BASE_URL;
+
+    /**
+     * Parse the employee list from the response stream instead of binding it into EmployeeCollectionDto.
+     */
+    @Value("${employee.client.streaming:false}")
+    boolean streamingEnabled;
+
+
+    private final AtomicReference<CompletableFuture<List<Employee>>> inFlightFetch = new AtomicReference<>();
+
+    private final AtomicLong upstreamFetches = new AtomicLong();
+
+    private final AtomicLong coalescedFetches = new AtomicLong();
+
+    private final AtomicLong unchangedFetches = new AtomicLong();
 
     /**
-     * Fetches a list of all employees from the using RestTemplate
-     * @return List of Employee object
+     * Validators and content hash of the last employee list fetched from the upstream. Only the leader
+     * of a coalesced fetch reads and writes it.
+     */
+    private volatile FetchedEmployees lastFetched;
+
+    /**
+     * Fetches a list of all employees from the using RestTemplate. Concurrent calls are coalesced:
+     * the first caller fetches and the others wait for and share its result, so a burst of callers
+     * costs one upstream request and one file write.
+     * <p>
+     * The request is conditional on the ETag and Last-Modified of the previous response. When the upstream
+     * answers 304, or sends a body with the same hash as the previous one, the list of the previous fetch is
+     * returned as is, without deserializing the body or rewriting the file.
+     * @return List of Employee object, shared between coalesced callers and not to be modified
      */
     public List<Employee> fetchAllEmployees() {
-        String url = UrlConstants.ALL_EMPLOYEE_URl;
+        CompletableFuture<List<Employee>> fetch = new CompletableFuture<>();
+        CompletableFuture<List<Employee>> running = inFlightFetch.compareAndExchange(null, fetch);
+        if (running != null) {
+            coalescedFetches.incrementAndGet();
+            log.debug("Joining the in-flight fetch of all employees");
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+
+        upstreamFetches.incrementAndGet();
+        try {
+            List<Employee> employees = fetchAllEmployeesFromUpstream();
+            fetch.complete(employees);
+            return employees;
+        } catch (RuntimeException | Error e) {
+            fetch.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightFetch.set(null);
+        }
+    }
+
+    /**
+     * @return number of fetches that called the upstream
+     */
+    public long getUpstreamFetches() {
+        return upstreamFetches.get();
+    }
+
+    /**
+     * @return number of fetches that joined an in-flight fetch instead of calling the upstream
+     */
+    public long getCoalescedFetches() {
+        return coalescedFetches.get();
+    }
+
+    /**
+     * @return number of upstream fetches that found the employee list unchanged
+     */
+    public long getUnchangedFetches() {
+        return unchangedFetches.get();
+    }
+
+    private List<Employee> fetchAllEmployeesFromUpstream() {
+        String url = baseUrl + "/employees";
 
         log.info("Started fetching all employees");
         log.debug("Calling URL: {}", url);
 
 
+        FetchedEmployees previous = lastFetched;
         EmployeeCollectionDto employeeCollectionDto;
         try {
-            employeeCollectionDto = restTemplate.getForObject(url, EmployeeCollectionDto.class);
+            FetchedEmployees fetched = callUpstream(() -> restTemplate.execute(url, HttpMethod.GET,
+                    request -> addValidators(request.getHeaders(), previous),
+                    response -> readEmployees(response, previous)));
+            employeeCollectionDto = fetched == null ? null : fetched.employees;
 
             log.info("Finished fetching all employees");
 
-            if (employeeCollectionDto != null && employeeCollectionDto.getStatus().equalsIgnoreCase("success")) {
+            if (previous != null && employeeCollectionDto == previous.employees) {
+                unchangedFetches.incrementAndGet();
+                log.info("Employees unchanged since the last fetch");
+                lastFetched = fetched;
+            } else if (employeeCollectionDto != null && employeeCollectionDto.getStatus().equalsIgnoreCase("success")) {
                 employeeFileUtils.saveEmployeeResponseToFile(employeeCollectionDto);
+                lastFetched = fetched;
             } else {
                 log.warn("[{}] Received null response from the service fetching employees from file");
                throw new RuntimeException("Received null response from the service");
             }
+        } catch (UpstreamUnavailableException e) {
+            log.warn("{}. Fetching employees from file", e.getMessage());
+            employeeCollectionDto = employeeFileUtils.fetchEmployeeFromFile();
         } catch (Exception e) {
             log.error("[{}] Exception occurred while fetching employees. Fetching employees from file", e);
             employeeCollectionDto = employeeFileUtils.fetchEmployeeFromFile();
@@ -57,31 +177,107 @@ public class EmployeeClient {
         return employeeCollectionDto.getData();
     }
 
+    private void addValidators(HttpHeaders headers, FetchedEmployees previous) {
+        if (previous == null) {
+            return;
+        }
+        if (previous.etag != null) {
+            headers.set(HttpHeaders.IF_NONE_MATCH, previous.etag);
+        }
+        if (previous.lastModified != null) {
+            headers.set(HttpHeaders.IF_MODIFIED_SINCE, previous.lastModified);
+        }
+    }
+
+    /**
+     * Reads the employee list while hashing the body. A 304, or a body hashing like the previous one,
+     * yields the previous employees. Without streaming the body is buffered and hashed before it is
+     * deserialized, so an unchanged body is never deserialized. With streaming it goes through
+     * {@link EmployeeStreamParser} straight into an EmployeeTable and is hashed as it is parsed, the returned
+     * DTO holds the table-backed list so no intermediate employee list is materialized.
+     * @param response
+     * @param previous
+     * @return the employees with the validators and hash of the response
+     */
+    private FetchedEmployees readEmployees(ClientHttpResponse response, FetchedEmployees previous) throws IOException {
+        String etag = response.getHeaders().getETag();
+        String lastModified = response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED);
+        if (response.getRawStatusCode() == HttpStatus.NOT_MODIFIED.value() && previous != null) {
+            log.debug("Employee list not modified");
+            return previous.revalidated(etag, lastModified);
+        }
+
+        MessageDigest digest = newDigest();
+        byte[] hash;
+        EmployeeCollectionDto employeeCollectionDto;
+        if (streamingEnabled) {
+            EmployeeStreamParser.Result result = employeeStreamParser.parse(new DigestInputStream(response.getBody(), digest));
+            hash = digest.digest();
+            if (previous != null && MessageDigest.isEqual(previous.hash, hash)) {
+                return previous.revalidated(etag, lastModified);
+            }
+            employeeCollectionDto = new EmployeeCollectionDto();
+            employeeCollectionDto.setStatus(result.getStatus());
+            employeeCollectionDto.setData(result.getTable().asList());
+        } else {
+            byte[] body = StreamUtils.copyToByteArray(response.getBody());
+            hash = digest.digest(body);
+            if (previous != null && MessageDigest.isEqual(previous.hash, hash)) {
+                return previous.revalidated(etag, lastModified);
+            }
+            employeeCollectionDto = body.length == 0 ? null : objectMapper.readValue(body, EmployeeCollectionDto.class);
+        }
+        return new FetchedEmployees(etag, lastModified, hash, employeeCollectionDto);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
     /**
      * Send request to create employee
      * @param employee
      * @return Employee
      */
-    @Retryable(value = RestClientResponseException.class, backoff = @Backoff(delay = 60000))
+    @Retryable(value = RestClientResponseException.class, maxAttemptsExpression = "${employee.client.retry.max-attempts:3}",
+            backoff = @Backoff(delayExpression = "${employee.client.retry.backoff-ms:1000}",
+                    maxDelayExpression = "${employee.client.retry.max-backoff-ms:60000}", multiplier = 2, random = true))
     public Employee createEmployee(Employee employee){
+        return tryCreateEmployee(employee);
+    }
 
-        String url = UrlConstants.CREATE_EMPLOYEE;
+    /**
+     * Send request to create employee once, without the retry of {@link #createEmployee(Employee)}.
+     * A 429 is thrown as RestClientResponseException so the caller can decide how to back off.
+     * @param employee
+     * @return Employee
+     */
+    public Employee tryCreateEmployee(Employee employee) {
+
+        String url = baseUrl + "/create";
 
         log.info("Sending request to create employee: {}", employee);
 
         GetEmployeeDto savedEmployee;
         try {
-            savedEmployee = restTemplate.postForObject(url, employee, GetEmployeeDto.class);
+            savedEmployee = callUpstream(() -> restTemplate.postForObject(url, employee, GetEmployeeDto.class));
             log.info("Employee created successfully: {}", savedEmployee);
             return savedEmployee.getData();
         } catch (RestClientResponseException e) {
             if (e.getRawStatusCode() == HttpStatus.TOO_MANY_REQUESTS.value()) {
-                log.error("Error creating employee: Too many requests ({}). Retrying in 1 minute", e.getStatusText(), e);
+                log.error("Error creating employee: Too many requests ({})", e.getStatusText(), e);
                 throw e;
             } else {
                 log.error("Error creating employee: {}",e.getStatusText(), e);
                 throw new RuntimeException("Error creating employee: " + e.getStatusText(), e);
             }
+        } catch (UpstreamUnavailableException | RateLimitExceededException e) {
+            log.error("Employee not created: {}", e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("Exception occurred while creating employee: {}", e.getMessage(), e);
             throw new RuntimeException("Exception occurred while creating employee", e);
@@ -94,48 +290,117 @@ public class EmployeeClient {
      * Send request to delete employee
      * @param id
      */
-    @Retryable(value = RestClientResponseException.class, backoff = @Backoff(delay = 60000))
+    @Retryable(value = RestClientResponseException.class, maxAttemptsExpression = "${employee.client.retry.max-attempts:3}",
+            backoff = @Backoff(delayExpression = "${employee.client.retry.backoff-ms:1000}",
+                    maxDelayExpression = "${employee.client.retry.max-backoff-ms:60000}", multiplier = 2, random = true))
     public void deleteEmployeeById(String id) {
-        {
+        if (!tryDeleteEmployeeById(id)) {
+            throw new RuntimeException("Error deleting employee: Not Found");
+        }
+    }
 
-            String url = UrlConstants.DELETE_EMPLOYEE + "/" + id;
+    /**
+     * Send request to delete employee once, without the retry of {@link #deleteEmployeeById(String)}.
+     * A 429 is thrown as RestClientResponseException so the caller can decide how to back off.
+     * @param id
+     * @return false when the upstream has no employee with the id
+     */
+    public boolean tryDeleteEmployeeById(String id) {
 
+        String url = baseUrl + "/delete/" + id;
 
-            log.info("Sending request to delete employee: {}",id);
+        log.info("Sending request to delete employee: {}",id);
 
-            try {
+        try {
+            callUpstream(() -> {
                 restTemplate.delete(url);
-                log.info("Employee deleted successfully: {}", id);
-            } catch (RestClientResponseException e) {
-                if (e.getRawStatusCode() == HttpStatus.TOO_MANY_REQUESTS.value()) {
-                    log.error("Error deleting employee: Too many requests ({}). Retrying in 1 minute",e.getStatusText(), e);
-                    throw e;
-                } else {
-                    log.error("Error deleting employee: {}",e.getStatusText(), e);
-                    throw new RuntimeException("Error deleting employee: " + e.getStatusText(), e);
-                }
-            } catch (Exception e) {
-                log.error("Exception occurred while deleting employee: {}", e.getMessage(), e);
-                throw new RuntimeException("Exception occurred while deleting employee", e);
+                return null;
+            });
+            log.info("Employee deleted successfully: {}", id);
+            return true;
+        } catch (RestClientResponseException e) {
+            if (e.getRawStatusCode() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                log.error("Error deleting employee: Too many requests ({})",e.getStatusText(), e);
+                throw e;
+            } else if (e.getRawStatusCode() == HttpStatus.NOT_FOUND.value()) {
+                log.error("Error deleting employee: employee {} not found", id);
+                return false;
+            } else {
+                log.error("Error deleting employee: {}",e.getStatusText(), e);
+                throw new RuntimeException("Error deleting employee: " + e.getStatusText(), e);
             }
+        } catch (UpstreamUnavailableException | RateLimitExceededException e) {
+            log.error("Employee {} not deleted: {}", id, e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("Exception occurred while deleting employee: {}", e.getMessage(), e);
+            throw new RuntimeException("Exception occurred while deleting employee", e);
+        }
+    }
 
-
+    /**
+     * Runs one upstream request behind the circuit breaker and the rate limiter and reports its outcome
+     * to both. Server errors and failures without a response count against the circuit, other HTTP errors
+     * show that the upstream is reachable and a 429 also slows the rate limiter down.
+     * @param request
+     * @return result of the request
+     */
+    private <T> T callUpstream(Supplier<T> request) {
+        upstreamCircuitBreaker.acquirePermission();
+        try {
+            upstreamRateLimiter.acquire();
+        } catch (RuntimeException e) {
+            upstreamCircuitBreaker.onCancelled();
+            throw e;
         }
 
+        try {
+            T result = request.get();
+            upstreamCircuitBreaker.onSuccess();
+            upstreamRateLimiter.onSuccess();
+            return result;
+        } catch (RestClientResponseException e) {
+            if (e.getRawStatusCode() >= HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+                upstreamCircuitBreaker.onFailure();
+            } else {
+                upstreamCircuitBreaker.onSuccess();
+            }
+            if (e.getRawStatusCode() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                upstreamRateLimiter.onThrottled(RateLimitBudget.retryAfterMillis(e, 0));
+            }
+            throw e;
+        } catch (RuntimeException | Error e) {
+            upstreamCircuitBreaker.onFailure();
+            throw e;
+        }
     }
 
-
     /**
-     * Refreshing employee data after create and delete employee from file.
+     * An employee list read from the upstream with the validators and SHA-256 hash of its response.
      */
-    @Async
-    public void fetchAllEmployeesWithDelay() {
-        try {
-            Thread.sleep(60000);
-            fetchAllEmployees();
-        } catch (InterruptedException e) {
-            log.error("Exception occurred while refreshing employee records", e);
-            throw new RuntimeException("Exception occurred refreshing employee records", e);
+    private static final class FetchedEmployees {
+
+        private final String etag;
+
+        private final String lastModified;
+
+        private final byte[] hash;
+
+        private final EmployeeCollectionDto employees;
+
+        private FetchedEmployees(String etag, String lastModified, byte[] hash, EmployeeCollectionDto employees) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.hash = hash;
+            this.employees = employees;
+        }
+
+        /**
+         * @return the same employees with the validators of a response that did not change them
+         */
+        private FetchedEmployees revalidated(String etag, String lastModified) {
+            return new FetchedEmployees(etag != null ? etag : this.etag, lastModified != null ? lastModified : this.lastModified,
+                    hash, employees);
         }
     }
 }
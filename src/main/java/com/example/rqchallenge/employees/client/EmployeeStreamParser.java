@@ -0,0 +1,106 @@
+package com.example.rqchallenge.employees.client;
+
+import com.example.rqchallenge.employees.snapshot.EmployeeTable;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Parses the upstream employee list token by token and appends every row straight to an
+ * {@link EmployeeTable.Builder}, without binding an intermediate {@code List<Employee>}.
+ * Accepts the same shapes as the Jackson binding of EmployeeCollectionDto: ids as strings or numbers,
+ * salaries and ages as numbers or numeric strings, unknown fields are skipped.
+ */
+@Component
+public class EmployeeStreamParser {
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    public EmployeeStreamParser() {
+    }
+
+    public EmployeeStreamParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @param body response body, not closed
+     * @return status and rows of the response
+     * @throws IOException when the body is not valid JSON
+     */
+    public Result parse(InputStream body) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object in the employee response");
+            }
+            String status = null;
+            EmployeeTable.Builder builder = new EmployeeTable.Builder(0);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("status".equals(field)) {
+                    status = parser.getValueAsString();
+                } else if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        readEmployee(parser, builder);
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return new Result(status, builder.build());
+        }
+    }
+
+    private void readEmployee(JsonParser parser, EmployeeTable.Builder builder) throws IOException {
+        String id = null;
+        String name = null;
+        int salary = 0;
+        int age = 0;
+        String profileImage = "";
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "id":
+                    id = parser.getValueAsString();
+                    break;
+                case "employee_name":
+                    name = parser.getValueAsString();
+                    break;
+                case "employee_salary":
+                    salary = parser.getValueAsInt();
+                    break;
+                case "employee_age":
+                    age = parser.getValueAsInt();
+                    break;
+                case "profile_image":
+                    profileImage = parser.getValueAsString();
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        builder.add(id, name, salary, age, profileImage);
+    }
+
+    @Getter
+    public static class Result {
+
+        private final String status;
+
+        private final EmployeeTable table;
+
+        public Result(String status, EmployeeTable table) {
+            this.status = status;
+            this.table = table;
+        }
+    }
+}
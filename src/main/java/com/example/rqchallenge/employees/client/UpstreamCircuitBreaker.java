@@ -0,0 +1,189 @@
+package com.example.rqchallenge.employees.client;
+
+import com.example.rqchallenge.employees.exceptions.UpstreamUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Circuit breaker around the upstream calls of {@link EmployeeClient}.
+ * <p>
+ * While CLOSED every call goes through and its outcome is recorded in a window of the last
+ * {@code window-size} calls. Once at least {@code minimum-calls} are recorded and the failure rate reaches
+ * the threshold the circuit OPENS: calls are refused without touching the network, so callers fall back
+ * to local data immediately instead of waiting for a connection attempt to fail. After {@code open-ms} the
+ * circuit is HALF_OPEN and lets a single probe through; its success closes the circuit, its failure opens
+ * it again.
+ */
+@Component
+@Slf4j
+public class UpstreamCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureRateThreshold;
+
+    private final int minimumCalls;
+
+    private final long openNanos;
+
+    /**
+     * Outcomes of the last calls, true for a failure.
+     */
+    private final boolean[] window;
+
+    private int windowPosition;
+
+    private int recordedCalls;
+
+    private int failedCalls;
+
+    private volatile State state = State.CLOSED;
+
+    private long openedAt;
+
+    private boolean probeInFlight;
+
+    private final Map<State, AtomicLong> transitions = new EnumMap<>(State.class);
+
+    private final AtomicLong notPermitted = new AtomicLong();
+
+    @Autowired
+    public UpstreamCircuitBreaker(@Value("${employee.client.circuit.failure-rate-threshold:50}") int failureRateThreshold,
+                                  @Value("${employee.client.circuit.window-size:20}") int windowSize,
+                                  @Value("${employee.client.circuit.minimum-calls:5}") int minimumCalls,
+                                  @Value("${employee.client.circuit.open-ms:30000}") long openMillis) {
+        this.failureRateThreshold = failureRateThreshold;
+        this.window = new boolean[Math.max(1, windowSize)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, window.length));
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+        for (State each : State.values()) {
+            transitions.put(each, new AtomicLong());
+        }
+    }
+
+    /**
+     * Asks for permission to call the upstream.
+     * @throws UpstreamUnavailableException while the circuit is open or a half-open probe is running
+     */
+    public void acquirePermission() {
+        if (state == State.CLOSED) {
+            return;
+        }
+        long retryAfterMillis;
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (state == State.OPEN && now - openedAt >= openNanos) {
+                transitionTo(State.HALF_OPEN);
+            }
+            if (state == State.CLOSED) {
+                return;
+            }
+            if (state == State.HALF_OPEN && !probeInFlight) {
+                probeInFlight = true;
+                log.info("Upstream circuit half-open, sending probe");
+                return;
+            }
+            retryAfterMillis = state == State.OPEN ? TimeUnit.NANOSECONDS.toMillis(openNanos - (now - openedAt)) : 0;
+        }
+        notPermitted.incrementAndGet();
+        throw new UpstreamUnavailableException("Upstream is unavailable, circuit is " + state, retryAfterMillis);
+    }
+
+    /**
+     * Releases the permission of a call that was not sent after all.
+     */
+    public synchronized void onCancelled() {
+        probeInFlight = false;
+    }
+
+    /**
+     * Records a call the upstream answered.
+     */
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+            transitionTo(State.CLOSED);
+            return;
+        }
+        record(false);
+    }
+
+    /**
+     * Records a call that failed because of the upstream: no connection, timeout or server error.
+     */
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+            transitionTo(State.OPEN);
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED && recordedCalls >= minimumCalls && getFailureRate() >= failureRateThreshold) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private void record(boolean failed) {
+        if (recordedCalls == window.length) {
+            if (window[windowPosition]) {
+                failedCalls--;
+            }
+        } else {
+            recordedCalls++;
+        }
+        window[windowPosition] = failed;
+        if (failed) {
+            failedCalls++;
+        }
+        windowPosition = (windowPosition + 1) % window.length;
+    }
+
+    private void transitionTo(State next) {
+        log.warn("Upstream circuit {} -> {}, failure rate {}%", state, next, getFailureRate());
+        state = next;
+        transitions.get(next).incrementAndGet();
+        if (next == State.OPEN) {
+            openedAt = System.nanoTime();
+        }
+        if (next == State.CLOSED) {
+            recordedCalls = 0;
+            failedCalls = 0;
+            windowPosition = 0;
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * @return percentage of failed calls in the window, 0 when nothing is recorded
+     */
+    public synchronized double getFailureRate() {
+        return recordedCalls == 0 ? 0 : 100.0 * failedCalls / recordedCalls;
+    }
+
+    /**
+     * @param state
+     * @return number of transitions into the state
+     */
+    public long getTransitions(State state) {
+        return transitions.get(state).get();
+    }
+
+    /**
+     * @return calls refused without reaching the upstream
+     */
+    public long getNotPermitted() {
+        return notPermitted.get();
+    }
+}
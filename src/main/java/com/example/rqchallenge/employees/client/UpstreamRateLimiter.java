@@ -0,0 +1,209 @@
+package com.example.rqchallenge.employees.client;
+
+import com.example.rqchallenge.employees.exceptions.RateLimitExceededException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket in front of every call {@link EmployeeClient} makes to the upstream, so requests are spaced
+ * to the upstream quota before it answers 429 rather than after.
+ * <p>
+ * The bucket holds up to {@code burst} permits and refills at the current rate. Callers reserve a permit and
+ * sleep outside the lock until it is due, so waiting callers are released one by one at the rate instead of
+ * all at once. The rate adapts: every 429 halves it, down to the configured minimum, and pauses the bucket for
+ * the Retry-After of the response; every success raises it again by a twentieth of the configured rate.
+ * A rate of zero or less disables the limiter.
+ */
+@Component
+@Slf4j
+public class UpstreamRateLimiter {
+
+    private static final double RECOVERY_STEP = 0.05;
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final double maxRate;
+
+    private final double minRate;
+
+    private final double burst;
+
+    private final long maxWaitNanos;
+
+    private volatile double rate;
+
+    private double tokens;
+
+    /**
+     * Time the bucket was last refilled, in the future while the bucket is paused after a 429.
+     */
+    private long refilledAt;
+
+    private final AtomicLong permits = new AtomicLong();
+
+    private final AtomicLong delayed = new AtomicLong();
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    private final AtomicLong throttled = new AtomicLong();
+
+    private final AtomicLong waitedNanos = new AtomicLong();
+
+    @Autowired
+    public UpstreamRateLimiter(@Value("${employee.client.rate-limit.permits-per-second:5}") double permitsPerSecond,
+                               @Value("${employee.client.rate-limit.min-permits-per-second:0.5}") double minPermitsPerSecond,
+                               @Value("${employee.client.rate-limit.burst:10}") int burst,
+                               @Value("${employee.client.rate-limit.max-wait-ms:30000}") long maxWaitMillis) {
+        this.maxRate = permitsPerSecond;
+        this.minRate = Math.min(minPermitsPerSecond, permitsPerSecond);
+        this.burst = Math.max(1, burst);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.rate = permitsPerSecond;
+        this.tokens = this.burst;
+        this.refilledAt = System.nanoTime();
+    }
+
+    /**
+     * Takes a permit, blocking until one is available.
+     * @throws RateLimitExceededException when the permit would not be available within the maximum wait
+     */
+    public void acquire() {
+        long wait = reserve();
+        if (wait > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for an upstream permit", e);
+            }
+        }
+    }
+
+    /**
+     * Takes a permit without blocking, for callers that delay the request themselves.
+     * @return nanos until the permit is due, 0 when it is available now
+     * @throws RateLimitExceededException when the permit would not be available within the maximum wait
+     */
+    public long reserve() {
+        if (!isEnabled()) {
+            return 0;
+        }
+        long wait = reserve(System.nanoTime());
+        if (wait < 0) {
+            rejected.incrementAndGet();
+            long retryAfterMillis = TimeUnit.NANOSECONDS.toMillis(-wait);
+            log.warn("Upstream rate limit exceeded, next permit in {} ms", retryAfterMillis);
+            throw new RateLimitExceededException("Upstream rate limit exceeded, retry in " + retryAfterMillis + " ms", retryAfterMillis);
+        }
+        permits.incrementAndGet();
+        if (wait > 0) {
+            delayed.incrementAndGet();
+            waitedNanos.addAndGet(wait);
+        }
+        return wait;
+    }
+
+    /**
+     * @return nanos until the reserved permit is due, or minus the wait when it exceeds the maximum
+     */
+    private synchronized long reserve(long now) {
+        refill(now);
+        double remaining = tokens - 1;
+        long wait = Math.max(0, refilledAt - now) + (remaining < 0 ? (long) (-remaining / rate * NANOS_PER_SECOND) : 0);
+        if (wait > maxWaitNanos) {
+            return -wait;
+        }
+        tokens = remaining;
+        return wait;
+    }
+
+    /**
+     * Records a 429 from the upstream: halves the rate and pauses the bucket for the Retry-After.
+     * @param retryAfterMillis Retry-After of the response, 0 when it had none
+     */
+    public void onThrottled(long retryAfterMillis) {
+        throttled.incrementAndGet();
+        if (!isEnabled()) {
+            return;
+        }
+        synchronized (this) {
+            long now = System.nanoTime();
+            refill(now);
+            rate = Math.max(minRate, rate / 2);
+            tokens = Math.min(tokens, 0);
+            refilledAt = Math.max(refilledAt, now + TimeUnit.MILLISECONDS.toNanos(retryAfterMillis));
+        }
+        log.warn("Upstream answered 429, rate lowered to {} permits per second, paused for {} ms", rate, retryAfterMillis);
+    }
+
+    /**
+     * Records a successful upstream call, raising a lowered rate back towards the configured one.
+     */
+    public void onSuccess() {
+        if (!isEnabled() || rate >= maxRate) {
+            return;
+        }
+        synchronized (this) {
+            refill(System.nanoTime());
+            rate = Math.min(maxRate, rate + maxRate * RECOVERY_STEP);
+        }
+    }
+
+    private void refill(long now) {
+        if (now > refilledAt) {
+            tokens = Math.min(burst, tokens + (now - refilledAt) * rate / NANOS_PER_SECOND);
+            refilledAt = now;
+        }
+    }
+
+    public boolean isEnabled() {
+        return maxRate > 0;
+    }
+
+    /**
+     * @return current permits per second, below the configured rate after a 429
+     */
+    public double getRate() {
+        return rate;
+    }
+
+    /**
+     * @return permits handed out
+     */
+    public long getPermits() {
+        return permits.get();
+    }
+
+    /**
+     * @return permits that had to wait for the bucket
+     */
+    public long getDelayed() {
+        return delayed.get();
+    }
+
+    /**
+     * @return requests refused because the wait exceeded the maximum
+     */
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    /**
+     * @return 429 responses received from the upstream
+     */
+    public long getThrottled() {
+        return throttled.get();
+    }
+
+    /**
+     * @return total time callers waited for permits, in nanoseconds
+     */
+    public long getWaitedNanos() {
+        return waitedNanos.get();
+    }
+}
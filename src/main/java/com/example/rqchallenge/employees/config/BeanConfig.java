@@ -1,19 +1,147 @@
 package com.example.rqchallenge.employees.config;
 
 
+import com.example.rqchallenge.employees.client.EmployeeClient;
+import com.example.rqchallenge.employees.client.UpstreamCircuitBreaker;
+import com.example.rqchallenge.employees.client.UpstreamRateLimiter;
+import com.example.rqchallenge.employees.snapshot.EmployeeResponseCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.springdoc.core.GroupedOpenApi;
 import org.springdoc.core.SwaggerUiConfigParameters;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 public class BeanConfig {
 
+    /**
+     * Blocking client for the upstream API, shared by fetch, create and delete.
+     * @param pooledHttpClient
+     * @return RestTemplate on the pooled connection layer
+     */
+    @Bean
+    public RestTemplate restTemplate(CloseableHttpClient pooledHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(pooledHttpClient));
+    }
+
+    /**
+     * Connection pool of the upstream API, every route is capped at max-per-route leased connections.
+     * @param maxTotal
+     * @param maxPerRoute
+     * @param validateAfterInactivityMillis idle time after which a pooled connection is checked before reuse
+     * @return PoolingHttpClientConnectionManager
+     */
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager employeeConnectionManager(
+            @Value("${employee.client.pool.max-total:50}") int maxTotal,
+            @Value("${employee.client.pool.max-per-route:20}") int maxPerRoute,
+            @Value("${employee.client.pool.validate-after-inactivity-ms:2000}") int validateAfterInactivityMillis) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setValidateAfterInactivity(validateAfterInactivityMillis);
+        return connectionManager;
+    }
+
+    /**
+     * Apache HttpClient on the shared pool. Keep-alive follows the Keep-Alive header of the upstream,
+     * capped at keep-alive-ms; idle and expired connections are evicted by a background thread.
+     * @param employeeConnectionManager
+     * @param connectTimeoutMillis
+     * @param readTimeoutMillis maximum inactivity between two data packets of the response
+     * @param connectionRequestTimeoutMillis maximum wait for a connection from the pool
+     * @param keepAliveMillis
+     * @param maxIdleMillis
+     * @return CloseableHttpClient
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient pooledHttpClient(
+            PoolingHttpClientConnectionManager employeeConnectionManager,
+            @Value("${employee.client.connect-timeout-ms:5000}") int connectTimeoutMillis,
+            @Value("${employee.client.read-timeout-ms:10000}") int readTimeoutMillis,
+            @Value("${employee.client.pool.connection-request-timeout-ms:2000}") int connectionRequestTimeoutMillis,
+            @Value("${employee.client.pool.keep-alive-ms:30000}") long keepAliveMillis,
+            @Value("${employee.client.pool.max-idle-ms:60000}") long maxIdleMillis) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(connectTimeoutMillis)
+                .setSocketTimeout(readTimeoutMillis)
+                .setConnectionRequestTimeout(connectionRequestTimeoutMillis)
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(employeeConnectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy((response, context) -> {
+                    long keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return keepAlive > 0 ? Math.min(keepAlive, keepAliveMillis) : keepAliveMillis;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(maxIdleMillis, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * @param employeeConnectionManager
+     * @return gauges for leased, pending, available and max connections of the upstream pool
+     */
+    @Bean
+    public ConnectionPoolMetrics employeeConnectionPoolMetrics(PoolingHttpClientConnectionManager employeeConnectionManager) {
+        return new ConnectionPoolMetrics(employeeConnectionManager);
+    }
+
+    /**
+     * @param upstreamRateLimiter
+     * @return rate, permit, delay, rejection and 429 metrics of the upstream rate limiter
+     */
+    @Bean
+    public RateLimiterMetrics upstreamRateLimiterMetrics(UpstreamRateLimiter upstreamRateLimiter) {
+        return new RateLimiterMetrics(upstreamRateLimiter);
+    }
+
+    /**
+     * @param employeeClient
+     * @return counters of upstream and coalesced employee list fetches
+     */
+    @Bean
+    public FetchCoalescingMetrics employeeFetchCoalescingMetrics(EmployeeClient employeeClient) {
+        return new FetchCoalescingMetrics(employeeClient);
+    }
+
+    /**
+     * @param upstreamCircuitBreaker
+     * @return binder publishing the state of the upstream circuit breaker
+     */
+    @Bean
+    public CircuitBreakerMetrics upstreamCircuitBreakerMetrics(UpstreamCircuitBreaker upstreamCircuitBreaker) {
+        return new CircuitBreakerMetrics(upstreamCircuitBreaker);
+    }
+
+    /**
+     * @param employeeResponseCache
+     * @return binder publishing the hits and misses of the encoded response cache
+     */
+    @Bean
+    public ResponseCacheMetrics employeeResponseCacheMetrics(EmployeeResponseCache employeeResponseCache) {
+        return new ResponseCacheMetrics(employeeResponseCache);
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public HttpClient httpClient(@Value("${employee.client.connect-timeout-ms:5000}") long connectTimeoutMillis) {
+        return HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
     }
 
     @Bean
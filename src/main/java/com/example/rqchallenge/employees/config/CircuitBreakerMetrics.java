@@ -0,0 +1,40 @@
+package com.example.rqchallenge.employees.config;
+
+import com.example.rqchallenge.employees.client.UpstreamCircuitBreaker;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes the state of the upstream circuit breaker under employee.client.circuit.*,
+ * available through /actuator/metrics.
+ */
+public class CircuitBreakerMetrics implements MeterBinder {
+
+    private final UpstreamCircuitBreaker circuitBreaker;
+
+    public CircuitBreakerMetrics(UpstreamCircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.client.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("Circuit state: 0 closed, 1 open, 2 half-open")
+                .register(registry);
+        Gauge.builder("employee.client.circuit.failure.rate", circuitBreaker, UpstreamCircuitBreaker::getFailureRate)
+                .description("Percentage of failed upstream calls in the window")
+                .baseUnit("percent")
+                .register(registry);
+        for (UpstreamCircuitBreaker.State state : UpstreamCircuitBreaker.State.values()) {
+            FunctionCounter.builder("employee.client.circuit.transitions", circuitBreaker, breaker -> breaker.getTransitions(state))
+                    .description("Transitions of the circuit into a state")
+                    .tag("state", state.name().toLowerCase())
+                    .register(registry);
+        }
+        FunctionCounter.builder("employee.client.circuit.not.permitted", circuitBreaker, UpstreamCircuitBreaker::getNotPermitted)
+                .description("Upstream calls refused without reaching the upstream")
+                .register(registry);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.rqchallenge.employees.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the totals of the upstream connection pool as gauges under employee.client.pool.*,
+ * available through /actuator/metrics.
+ */
+public class ConnectionPoolMetrics implements MeterBinder {
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+
+    public ConnectionPoolMetrics(PoolingHttpClientConnectionManager connectionManager) {
+        this.connectionManager = connectionManager;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        gauge(registry, "employee.client.pool.leased", "Connections currently leased to requests", PoolStats::getLeased);
+        gauge(registry, "employee.client.pool.pending", "Requests waiting for a connection", PoolStats::getPending);
+        gauge(registry, "employee.client.pool.available", "Idle connections kept alive in the pool", PoolStats::getAvailable);
+        gauge(registry, "employee.client.pool.max", "Maximum number of connections in the pool", PoolStats::getMax);
+    }
+
+    private void gauge(MeterRegistry registry, String name, String description, ToDoubleFunction<PoolStats> stat) {
+        Gauge.builder(name, connectionManager, manager -> stat.applyAsDouble(manager.getTotalStats()))
+                .description(description)
+                .register(registry);
+    }
+}
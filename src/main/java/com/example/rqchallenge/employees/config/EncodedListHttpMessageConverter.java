@@ -0,0 +1,49 @@
+package com.example.rqchallenge.employees.config;
+
+import com.example.rqchallenge.employees.dto.EncodedList;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Writes an {@link EncodedList} as its pre-encoded JSON body, so the typed controller methods serve the
+ * bodies encoded once per snapshot. Spring Boot places converter beans ahead of the default ones, any other
+ * body is left to Jackson.
+ */
+@Component
+public class EncodedListHttpMessageConverter extends AbstractHttpMessageConverter<EncodedList<?>> {
+
+    public EncodedListHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return EncodedList.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected EncodedList<?> readInternal(Class<? extends EncodedList<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Encoded lists are only written", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(EncodedList<?> body, MediaType contentType) {
+        return (long) body.getEncoded().length;
+    }
+
+    @Override
+    protected void writeInternal(EncodedList<?> body, HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getBody().write(body.getEncoded());
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.rqchallenge.employees.config;
+
+import com.example.rqchallenge.employees.client.EmployeeClient;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes how many employee list fetches reached the upstream, how many were coalesced into
+ * an in-flight one and how many found the list unchanged, under employee.client.fetch.*,
+ * available through /actuator/metrics.
+ */
+public class FetchCoalescingMetrics implements MeterBinder {
+
+    private final EmployeeClient employeeClient;
+
+    public FetchCoalescingMetrics(EmployeeClient employeeClient) {
+        this.employeeClient = employeeClient;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("employee.client.fetch.upstream", employeeClient, EmployeeClient::getUpstreamFetches)
+                .description("Employee list fetches that called the upstream")
+                .register(registry);
+        FunctionCounter.builder("employee.client.fetch.coalesced", employeeClient, EmployeeClient::getCoalescedFetches)
+                .description("Employee list fetches that shared an in-flight upstream call")
+                .register(registry);
+        FunctionCounter.builder("employee.client.fetch.unchanged", employeeClient, EmployeeClient::getUnchangedFetches)
+                .description("Upstream fetches answered 304 or with an unchanged body, skipping deserialization and the file write")
+                .register(registry);
+    }
+}
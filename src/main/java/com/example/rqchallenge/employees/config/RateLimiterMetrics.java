@@ -0,0 +1,41 @@
+package com.example.rqchallenge.employees.config;
+
+import com.example.rqchallenge.employees.client.UpstreamRateLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the state of the upstream rate limiter under employee.client.limiter.*,
+ * available through /actuator/metrics.
+ */
+public class RateLimiterMetrics implements MeterBinder {
+
+    private final UpstreamRateLimiter rateLimiter;
+
+    public RateLimiterMetrics(UpstreamRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.client.limiter.rate", rateLimiter, UpstreamRateLimiter::getRate)
+                .description("Current permits per second, lowered after 429 responses")
+                .register(registry);
+        counter(registry, "employee.client.limiter.permits", "Upstream requests let through", UpstreamRateLimiter::getPermits);
+        counter(registry, "employee.client.limiter.delayed", "Upstream requests that waited for a permit", UpstreamRateLimiter::getDelayed);
+        counter(registry, "employee.client.limiter.rejected", "Upstream requests refused because the wait was too long", UpstreamRateLimiter::getRejected);
+        counter(registry, "employee.client.limiter.throttled", "429 responses received from the upstream", UpstreamRateLimiter::getThrottled);
+        counter(registry, "employee.client.limiter.wait", "Total time spent waiting for permits in seconds",
+                limiter -> limiter.getWaitedNanos() / 1e9);
+    }
+
+    private void counter(MeterRegistry registry, String name, String description, ToDoubleFunction<UpstreamRateLimiter> count) {
+        FunctionCounter.builder(name, rateLimiter, count)
+                .description(description)
+                .register(registry);
+    }
+}
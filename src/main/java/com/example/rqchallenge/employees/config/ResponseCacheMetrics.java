@@ -0,0 +1,29 @@
+package com.example.rqchallenge.employees.config;
+
+import com.example.rqchallenge.employees.snapshot.EmployeeResponseCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes how many read responses were served from bodies already encoded for the snapshot and how many
+ * had to be encoded, under employee.response.cache.*, available through /actuator/metrics.
+ */
+public class ResponseCacheMetrics implements MeterBinder {
+
+    private final EmployeeResponseCache responseCache;
+
+    public ResponseCacheMetrics(EmployeeResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("employee.response.cache.hits", responseCache, EmployeeResponseCache::getHits)
+                .description("Read responses served from a body already encoded for the snapshot")
+                .register(registry);
+        FunctionCounter.builder("employee.response.cache.misses", responseCache, EmployeeResponseCache::getMisses)
+                .description("Read responses whose body had to be encoded")
+                .register(registry);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.rqchallenge.employees.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Opt-in execution mode that runs Tomcat request handling, @Async methods and async MVC
+ * (CompletableFuture and StreamingResponseBody results) on virtual threads.
+ * Blocking upstream calls then park a virtual thread instead of holding one of the bounded
+ * platform threads. Enabled with employee.threads.virtual=true.
+ */
+@Configuration
+@ConditionalOnProperty(name = "employee.threads.virtual", havingValue = "true")
+@Slf4j
+public class VirtualThreadConfig {
+
+    /**
+     * Replaces the Tomcat connector thread pool with a thread per request executor.
+     * @return TomcatProtocolHandlerCustomizer
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> {
+            log.info("Handling requests on virtual threads");
+            protocolHandler.setExecutor(Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-virtual-", 0).factory()));
+        };
+    }
+
+    /**
+     * Replaces the application task executor that backs @Async and async MVC, the thread pool
+     * auto-configured by Spring Boot backs off when this bean is present.
+     * @return AsyncTaskExecutor
+     */
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, "taskExecutor"})
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        log.info("Running @Async tasks on virtual threads");
+        return new TaskExecutorAdapter(Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("task-virtual-", 0).factory()));
+    }
+}
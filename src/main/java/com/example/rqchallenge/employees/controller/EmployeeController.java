@@ -1,53 +1,123 @@
 package com.example.rqchallenge.employees.controller;
 
 
+import com.example.rqchallenge.employees.dto.BatchResult;
 import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.dto.RefreshStatus;
 import com.example.rqchallenge.employees.service.EmployeeService;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 public class EmployeeController implements IEmployeeController {
 
+    static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private static final String GZIP = "gzip";
+
     @Autowired
     EmployeeService employeeService;
 
+    /**
+     * How long clients may reuse a read response without revalidating it, 0 to revalidate every time.
+     */
+    @Value("${employee.http.max-age-s:0}")
+    long maxAgeSeconds;
+
     @Override
-    public ResponseEntity<List<Employee>> getAllEmployees() throws IOException {
-        List<Employee> employeeList = employeeService.getAllEmployees();
-        return new ResponseEntity<>(employeeList, HttpStatus.OK);
+    public ResponseEntity<List<Employee>> getAllEmployees(String ifNoneMatch, String acceptEncoding) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String etag = employeeService.getSnapshotETag();
+        if (gzip) {
+            etag = variant(etag, GZIP);
+        }
+        if (matches(ifNoneMatch, etag) || matchesAny(ifNoneMatch)) {
+            return notModified(etag, HttpHeaders.ACCEPT_ENCODING);
+        }
+        List<Employee> body = employeeService.getAllEmployeesJson(gzip);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        return response.body(body);
+    }
 
+    @Override
+    public ResponseEntity<StreamingResponseBody> streamAllEmployees(String ifNoneMatch, String accept, String acceptEncoding, int offset, int limit) {
+        boolean ndjson = accept != null && MediaType.parseMediaTypes(accept).stream()
+                .anyMatch(mediaType -> mediaType.equalsTypeAndSubtype(APPLICATION_NDJSON));
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String etag = variant(employeeService.getSnapshotETag(), ndjson ? "ndjson" : "json");
+        if (gzip) {
+            etag = variant(etag, GZIP);
+        }
+        if (matches(ifNoneMatch, etag) || matchesAny(ifNoneMatch)) {
+            return notModified(etag, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        }
+        StreamingResponseBody body = employeeService.streamAllEmployees(offset, limit, ndjson);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(ndjson ? APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(cacheControl())
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, GZIP);
+            return response.body(gzipped(body));
+        }
+        return response.body(body);
     }
 
     @Override
-    public ResponseEntity<List<Employee>> getEmployeesByNameSearch(String searchString) {
-        List<Employee> employeeList = employeeService.searchEmployeesByName(searchString);
-        return new ResponseEntity<>(employeeList, HttpStatus.OK);
+    public ResponseEntity<List<Employee>> getEmployeesByNameSearch(String ifNoneMatch, String searchString) {
+        return conditional(ifNoneMatch, () -> employeeService.searchEmployeesByName(searchString));
+    }
 
+    @Override
+    public ResponseEntity<List<Employee>> getEmployeesByNamePrefix(String ifNoneMatch, String prefix, int limit) {
+        return conditional(ifNoneMatch, () -> employeeService.searchEmployeesByPrefix(prefix, limit));
     }
 
     @Override
-    public ResponseEntity<Employee> getEmployeeById(String id) {
-        Employee employee = employeeService.getEmployeeById(id);
-        return new ResponseEntity<>(employee, HttpStatus.OK);
+    public ResponseEntity<Employee> getEmployeeById(String ifNoneMatch, String id) {
+        return conditional(ifNoneMatch, () -> employeeService.getEmployeeById(id));
+    }
+
+    @Override
+    public ResponseEntity<Integer> getHighestSalaryOfEmployees(String ifNoneMatch) {
+        return conditional(ifNoneMatch, () -> employeeService.getHighestSalaryOfEmployee());
+    }
+
+    @Override
+    public ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames(String ifNoneMatch) {
+        return conditional(ifNoneMatch, () -> employeeService.getTopTenHighestSalaryEmployeeNamesJson());
     }
 
     @Override
-    public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
-        Integer employeeSalary = employeeService.getHighestSalaryOfEmployee();
-        return new ResponseEntity<>(employeeSalary, HttpStatus.OK);
+    public ResponseEntity<List<Employee>> getTopEarners(String ifNoneMatch, int k) {
+        return conditional(ifNoneMatch, () -> employeeService.getTopEarners(k));
     }
 
     @Override
-    public ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames() {
-        List<String> employeeNames = employeeService.getTopTenHighestSalaryEmployeeNames();
-        return new ResponseEntity<>(employeeNames, HttpStatus.OK);
+    public ResponseEntity<RefreshStatus> getRefreshStatus() {
+        return new ResponseEntity<>(employeeService.getRefreshStatus(), HttpStatus.OK);
     }
 
     @Override
@@ -58,9 +128,176 @@ public class EmployeeController implements IEmployeeController {
 
     }
 
+    @Override
+    public ResponseEntity<List<BatchResult>> createEmployees(List<Map<String, Object>> employeeInputs) {
+        List<BatchResult> results = employeeService.createEmployees(employeeInputs);
+        return new ResponseEntity<>(results, HttpStatus.OK);
+    }
+
+    @Override
+    public ResponseEntity<List<BatchResult>> deleteEmployees(List<String> ids) {
+        List<BatchResult> results = employeeService.deleteEmployees(ids);
+        return new ResponseEntity<>(results, HttpStatus.OK);
+    }
+
     @Override
     public ResponseEntity<String> deleteEmployeeById(String id) {
         employeeService.deleteEmployee(id);
         return new ResponseEntity<>("Successfully! deleted Record", HttpStatus.OK);
     }
+
+    @Override
+    public CompletableFuture<ResponseEntity<List<Employee>>> getAllEmployeesAsync(String ifNoneMatch) {
+        return conditionalAsync(ifNoneMatch, () -> employeeService.getAllEmployeesAsync());
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Employee>> getEmployeeByIdAsync(String ifNoneMatch, String id) {
+        return conditionalAsync(ifNoneMatch, () -> employeeService.getEmployeeByIdAsync(id));
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<Employee>> createEmployeeAsync(Map<String, Object> employeeInput) {
+        return employeeService.createEmployeeAsync(employeeInput)
+                .thenApply(employee -> new ResponseEntity<>(employee, HttpStatus.OK));
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<String>> deleteEmployeeByIdAsync(String id) {
+        return employeeService.deleteEmployeeAsync(id)
+                .thenApply(ignored -> new ResponseEntity<>("Successfully! deleted Record", HttpStatus.OK));
+    }
+
+    /**
+     * Answers 304 Not Modified when the request already holds the entity tag of the current snapshot,
+     * otherwise the body read from the snapshot with its weak entity tag. The body is neither read nor
+     * serialized for a 304. If-None-Match: * only holds once the body is resolved, so a missing or
+     * invalid resource still answers with its error instead of 304.
+     * @param ifNoneMatch If-None-Match header of the request
+     * @param body reads the body from the current snapshot
+     * @return ResponseEntity
+     */
+    private <T> ResponseEntity<T> conditional(String ifNoneMatch, Supplier<T> body) {
+        String etag = employeeService.getSnapshotETag();
+        if (matches(ifNoneMatch, etag)) {
+            return notModified(weak(etag));
+        }
+        T value = body.get();
+        if (matchesAny(ifNoneMatch)) {
+            return notModified(weak(etag));
+        }
+        return ResponseEntity.ok().eTag(weak(etag)).cacheControl(cacheControl()).body(value);
+    }
+
+    private <T> CompletableFuture<ResponseEntity<T>> conditionalAsync(String ifNoneMatch, Supplier<CompletableFuture<T>> body) {
+        return employeeService.getSnapshotETagAsync().thenCompose(etag -> matches(ifNoneMatch, etag)
+                ? CompletableFuture.completedFuture(notModified(weak(etag)))
+                : body.get().thenApply(value -> matchesAny(ifNoneMatch)
+                        ? notModified(weak(etag))
+                        : ResponseEntity.ok().eTag(weak(etag)).cacheControl(cacheControl()).body(value)));
+    }
+
+    private <T> ResponseEntity<T> notModified(String etag, String... vary) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl());
+        if (vary.length > 0) {
+            response.varyBy(vary);
+        }
+        return response.build();
+    }
+
+    private CacheControl cacheControl() {
+        return maxAgeSeconds > 0 ? CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePrivate() : CacheControl.noCache().cachePrivate();
+    }
+
+    /**
+     * @param etag quoted entity tag of the snapshot
+     * @param variant representation of the snapshot
+     * @return quoted entity tag of the representation
+     */
+    private static String variant(String etag, String variant) {
+        return etag.substring(0, etag.length() - 1) + "-" + variant + "\"";
+    }
+
+    /**
+     * Tomcat leaves responses with a strong entity tag uncompressed, so the reads that rely on
+     * server.compression send a weak one: the gzip and identity bodies are equivalent, not identical.
+     * @param etag quoted entity tag of the snapshot
+     * @return weak entity tag of the snapshot
+     */
+    private static String weak(String etag) {
+        return "W/" + etag;
+    }
+
+    /**
+     * A page depends on offset and limit, so unlike the full list it is compressed while it is written.
+     * @param body
+     * @return the body written through gzip
+     */
+    private static StreamingResponseBody gzipped(StreamingResponseBody body) {
+        return outputStream -> {
+            GZIPOutputStream gzip = new GZIPOutputStream(outputStream, 8192);
+            body.writeTo(gzip);
+            gzip.finish();
+        };
+    }
+
+    /**
+     * @param acceptEncoding Accept-Encoding header of the request
+     * @return true when gzip, or * without an explicit gzip entry, is accepted with a non zero quality
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean wildcard = null;
+        for (String candidate : acceptEncoding.split(",")) {
+            String[] parameters = candidate.split(";");
+            String coding = parameters[0].trim();
+            boolean accepted = true;
+            for (int i = 1; i < parameters.length; i++) {
+                String parameter = parameters[i].trim();
+                if (parameter.startsWith("q=")) {
+                    accepted = NumberUtils.toDouble(parameter.substring(2).trim(), 0) > 0;
+                }
+            }
+            if (coding.equalsIgnoreCase(GZIP) || coding.equalsIgnoreCase("x-gzip")) {
+                return accepted;
+            }
+            if (coding.equals("*")) {
+                wildcard = accepted;
+            }
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    /**
+     * Weak comparison of If-None-Match with an entity tag, as required for GET. A * is left to
+     * {@link #matchesAny(String)}, since it only holds for a resource that exists.
+     * @param ifNoneMatch comma separated entity tags or *
+     * @param etag quoted entity tag
+     * @return true when one of the tags matches
+     */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param ifNoneMatch If-None-Match header of the request
+     * @return true when the header is *, which matches any current representation
+     */
+    private static boolean matchesAny(String ifNoneMatch) {
+        return ifNoneMatch != null && ifNoneMatch.trim().equals("*");
+    }
 }
@@ -0,0 +1,58 @@
+package com.example.rqchallenge.employees.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one item of a batch request, results are returned in request order.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchResult {
+
+    public enum Status {
+        @JsonProperty("created")
+        CREATED,
+        @JsonProperty("deleted")
+        DELETED,
+        @JsonProperty("not_found")
+        NOT_FOUND,
+        @JsonProperty("invalid")
+        INVALID,
+        @JsonProperty("rate_limited")
+        RATE_LIMITED,
+        @JsonProperty("failed")
+        FAILED
+    }
+
+    private int index;
+
+    private String id;
+
+    private Status status;
+
+    private Employee employee;
+
+    private String error;
+
+    public static BatchResult created(int index, Employee employee) {
+        return new BatchResult(index, null, Status.CREATED, employee, null);
+    }
+
+    public static BatchResult deleted(int index, String id) {
+        return new BatchResult(index, id, Status.DELETED, null, null);
+    }
+
+    public static BatchResult failed(int index, Status status, String error) {
+        return failed(index, null, status, error);
+    }
+
+    public static BatchResult failed(int index, String id, Status status, String error) {
+        return new BatchResult(index, id, status, null, error);
+    }
+}
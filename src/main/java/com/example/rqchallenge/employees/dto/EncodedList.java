@@ -0,0 +1,44 @@
+package com.example.rqchallenge.employees.dto;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Read-only list whose JSON body was encoded ahead of time, possibly gzip compressed. Java callers see the
+ * elements, {@link com.example.rqchallenge.employees.config.EncodedListHttpMessageConverter} writes the
+ * encoded bytes as they are instead of serializing the elements again.
+ * @param <T> element type
+ */
+public final class EncodedList<T> extends AbstractList<T> implements RandomAccess {
+
+    private final List<T> elements;
+
+    private final byte[] encoded;
+
+    /**
+     * @param elements the elements the body was encoded from
+     * @param encoded the JSON body, shared and not to be modified
+     */
+    public EncodedList(List<T> elements, byte[] encoded) {
+        this.elements = elements;
+        this.encoded = encoded;
+    }
+
+    /**
+     * @return the JSON body, not to be modified
+     */
+    public byte[] getEncoded() {
+        return encoded;
+    }
+
+    @Override
+    public T get(int index) {
+        return elements.get(index);
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+}
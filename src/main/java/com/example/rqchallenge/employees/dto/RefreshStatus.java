@@ -0,0 +1,24 @@
+package com.example.rqchallenge.employees.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+/**
+ * Refresh state of the in-memory employee snapshot, times are epoch milliseconds.
+ */
+@Data
+public class RefreshStatus {
+
+    @JsonProperty("refresh_pending")
+    private boolean refreshPending;
+    @JsonProperty("pending_mutations")
+    private int pendingMutations;
+    @JsonProperty("dirty_since")
+    private Long dirtySince;
+    @JsonProperty("next_refresh_at")
+    private Long nextRefreshAt;
+    @JsonProperty("last_refresh_at")
+    private Long lastRefreshAt;
+    @JsonProperty("snapshot_version")
+    private Long snapshotVersion;
+}
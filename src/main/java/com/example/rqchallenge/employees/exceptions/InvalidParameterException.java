@@ -0,0 +1,7 @@
+package com.example.rqchallenge.employees.exceptions;
+
+public class InvalidParameterException extends RuntimeException {
+    public InvalidParameterException(String message) {
+        super(message);
+    }
+}
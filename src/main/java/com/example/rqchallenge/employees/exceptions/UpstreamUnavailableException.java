@@ -0,0 +1,15 @@
+package com.example.rqchallenge.employees.exceptions;
+
+public class UpstreamUnavailableException extends RuntimeException {
+
+    private final long retryAfterMillis;
+
+    public UpstreamUnavailableException(String message, long retryAfterMillis) {
+        super(message);
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
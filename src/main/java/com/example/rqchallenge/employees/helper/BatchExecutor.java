@@ -0,0 +1,91 @@
+package com.example.rqchallenge.employees.helper;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs the items of a batch with bounded concurrency. A fixed number of lanes pull the next item as soon
+ * as their previous one finished, so at most {@code concurrency} items of a batch are in flight and a slow
+ * item never holds back the rest of the batch. The lanes of all batches share one pool of at most
+ * {@code max-threads} threads, lanes beyond it queue, so concurrent batches cannot multiply the threads.
+ */
+@Component
+public class BatchExecutor {
+
+    private final int concurrency;
+
+    private final Executor executor;
+
+    @Autowired
+    public BatchExecutor(@Value("${employee.batch.concurrency:8}") int concurrency,
+                         @Value("${employee.batch.max-threads:32}") int maxThreads) {
+        this(concurrency, sharedPool(maxThreads));
+    }
+
+    public BatchExecutor(int concurrency, Executor executor) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("Batch concurrency should be greater than zero.");
+        }
+        this.concurrency = concurrency;
+        this.executor = executor;
+    }
+
+    private static ThreadPoolExecutor sharedPool(int maxThreads) {
+        if (maxThreads <= 0) {
+            throw new IllegalArgumentException("Batch threads should be greater than zero.");
+        }
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "employee-batch");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Applies the task to every item and waits for all of them.
+     * @param items
+     * @param task applied once per item, expected to report failures in its result
+     * @return results in item order
+     */
+    public <T, R> List<R> map(List<T> items, Function<T, R> task) {
+        Object[] results = new Object[items.size()];
+        AtomicInteger next = new AtomicInteger();
+        CompletableFuture<?>[] lanes = new CompletableFuture<?>[Math.min(concurrency, items.size())];
+        for (int lane = 0; lane < lanes.length; lane++) {
+            lanes[lane] = CompletableFuture.runAsync(() -> {
+                for (int index = next.getAndIncrement(); index < results.length; index = next.getAndIncrement()) {
+                    results[index] = task.apply(items.get(index));
+                }
+            }, executor);
+        }
+
+        try {
+            CompletableFuture.allOf(lanes).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<R> mapped = (List<R>) Arrays.asList(results);
+        return mapped;
+    }
+}
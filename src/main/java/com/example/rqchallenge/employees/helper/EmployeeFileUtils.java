@@ -2,64 +2,93 @@ package com.example.rqchallenge.employees.helper;
 
 import com.example.rqchallenge.employees.dto.EmployeeCollectionDto;
 import com.example.rqchallenge.employees.exceptions.FileNotExist;
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.example.rqchallenge.employees.snapshot.EmployeeTable;
+import com.example.rqchallenge.employees.snapshot.EmployeeTableFile;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ClassPathResource;
-import org.springframework.core.io.Resource;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
-import java.time.Instant;
+import java.util.Collections;
 
 @Component
 @Slf4j
 public class EmployeeFileUtils {
 
+    private static final String SNAPSHOT_FILE_NAME = "employee.snapshot";
+
+    private static final String JSON_FILE_NAME = "employee.json";
+
     @Autowired
     ObjectMapper objectMapper;
 
+    /**
+     * Also write the employee list as JSON next to the binary snapshot.
+     */
+    @Value("${employee.file.json-export:true}")
+    boolean jsonExportEnabled = true;
+
+    /**
+     * Saves the employee response as a binary snapshot and, when enabled, as JSON.
+     * @param employeeCollectionDto
+     * @throws IOException
+     */
     @Async
     public void saveEmployeeResponseToFile(EmployeeCollectionDto employeeCollectionDto) throws IOException {
 
         log.info("Started saving employee response to file");
-        String fileName = "employee.json";
-
-        String projectDirectoryPath = System.getProperty("user.dir");
-        String filesDirectoryPath = projectDirectoryPath + File.separator + "files";
 
-        File filesDirectory = new File(filesDirectoryPath);
+        File filesDirectory = filesDirectory();
         if (!filesDirectory.exists()) {
             filesDirectory.mkdirs();
         }
 
-        File jsonFile = new File(filesDirectory, fileName);
+        EmployeeTable table = EmployeeTable.of(employeeCollectionDto.getData() == null ? Collections.emptyList() : employeeCollectionDto.getData());
+        EmployeeTableFile.write(table, new File(filesDirectory, SNAPSHOT_FILE_NAME).toPath());
 
-        String jsonString = objectMapper.writeValueAsString(employeeCollectionDto);
-        Files.writeString(Path.of(jsonFile.getAbsolutePath()), jsonString);
+        if (jsonExportEnabled) {
+            File jsonFile = new File(filesDirectory, JSON_FILE_NAME);
+            String jsonString = objectMapper.writeValueAsString(employeeCollectionDto);
+            writeAtomically(Path.of(jsonFile.getAbsolutePath()), jsonString);
+        }
 
         log.info("Finished saving employee response to file");
     }
 
 
+    /**
+     * Reads the employee response saved by {@link #saveEmployeeResponseToFile(EmployeeCollectionDto)}.
+     * The binary snapshot is memory mapped when present, the JSON export is only parsed as a fallback.
+     * @return EmployeeCollectionDto
+     */
     public EmployeeCollectionDto fetchEmployeeFromFile() {
         log.info("Started fetching employee response from file");
-        String fileName = "employee.json";
+        String fileName = SNAPSHOT_FILE_NAME;
 
         EmployeeCollectionDto employeeCollectionDto = null;
         try {
-            String projectDirectoryPath = System.getProperty("user.dir");
-            String filesDirectoryPath = projectDirectoryPath + File.separator + "files";
-            File jsonFile = new File(filesDirectoryPath, fileName);
-
-            if (jsonFile.exists()) {
+            File filesDirectory = filesDirectory();
+            File snapshotFile = new File(filesDirectory, SNAPSHOT_FILE_NAME);
+            File jsonFile = new File(filesDirectory, JSON_FILE_NAME);
+
+            if (snapshotFile.exists()) {
+                EmployeeTable table = EmployeeTableFile.read(snapshotFile.toPath());
+                employeeCollectionDto = new EmployeeCollectionDto();
+                employeeCollectionDto.setStatus("success");
+                employeeCollectionDto.setData(table.asList());
+            } else if (jsonFile.exists()) {
+                fileName = JSON_FILE_NAME;
                 String jsonString = Files.readString(Path.of(jsonFile.getAbsolutePath()));
                 employeeCollectionDto = objectMapper.readValue(jsonString, EmployeeCollectionDto.class);
             } else {
@@ -81,5 +110,32 @@ public class EmployeeFileUtils {
         return employeeCollectionDto;
     }
 
+    /**
+     * Writes the content to a unique temp file next to the target and moves it over the target, like
+     * {@link EmployeeTableFile#write(EmployeeTable, Path)}, so a crash or a concurrent save never leaves
+     * a torn file behind.
+     * @param target
+     * @param content
+     * @throws IOException
+     */
+    private static void writeAtomically(Path target, String content) throws IOException {
+        Path temp = Files.createTempFile(target.toAbsolutePath().getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = StandardCharsets.UTF_8.encode(content);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
 
+    private File filesDirectory() {
+        String projectDirectoryPath = System.getProperty("user.dir");
+        return new File(projectDirectoryPath + File.separator + "files");
+    }
 }
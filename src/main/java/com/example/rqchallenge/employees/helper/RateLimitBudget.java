@@ -0,0 +1,102 @@
+package com.example.rqchallenge.employees.helper;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rate-limit budget shared by all items of one batch. A 429 on any item pauses the whole batch until the
+ * upstream's Retry-After has passed, and the retries of all items draw on one allowance, so a throttled
+ * batch backs off together instead of every item sleeping and retrying on its own. A Retry-After beyond the
+ * maximum wait is not slept through: the batch gives up and its remaining items are reported as throttled.
+ */
+public class RateLimitBudget {
+
+    private final AtomicInteger retriesLeft;
+
+    private final long defaultBackoffMillis;
+
+    private final long maxWaitMillis;
+
+    private final AtomicLong resumeAt = new AtomicLong();
+
+    private volatile boolean exhausted;
+
+    public RateLimitBudget(int maxRetries, long defaultBackoffMillis, long maxWaitMillis) {
+        this.retriesLeft = new AtomicInteger(maxRetries);
+        this.defaultBackoffMillis = defaultBackoffMillis;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    /**
+     * Blocks while the batch is paused after a 429.
+     * @return false when the batch gave up and the item should not be sent
+     */
+    public boolean awaitTurn() {
+        long wait;
+        while (!exhausted && (wait = resumeAt.get() - System.currentTimeMillis()) > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the rate limit to reset", e);
+            }
+        }
+        return !exhausted;
+    }
+
+    /**
+     * Pauses the batch for the Retry-After of the response and takes one retry from the allowance.
+     * A Retry-After beyond the maximum wait ends the batch instead.
+     * @param e 429 response
+     * @return true when the item may be retried, false when the allowance is used up or the wait is too long
+     */
+    public boolean onRateLimited(RestClientResponseException e) {
+        long retryAfter = retryAfterMillis(e, defaultBackoffMillis);
+        if (retryAfter > maxWaitMillis) {
+            exhausted = true;
+            return false;
+        }
+        resumeAt.accumulateAndGet(System.currentTimeMillis() + retryAfter, Math::max);
+        return retriesLeft.getAndDecrement() > 0 && !exhausted;
+    }
+
+    /**
+     * Reads the Retry-After header, given either in seconds or as an HTTP date.
+     * @param e
+     * @param defaultMillis used when the header is missing or cannot be parsed
+     * @return delay in milliseconds
+     */
+    public static long retryAfterMillis(RestClientResponseException e, long defaultMillis) {
+        HttpHeaders headers = e.getResponseHeaders();
+        return retryAfterMillis(headers == null ? null : headers.getFirst(HttpHeaders.RETRY_AFTER), defaultMillis);
+    }
+
+    /**
+     * Parses a Retry-After value, given either in seconds or as an HTTP date.
+     * @param retryAfter header value, may be null
+     * @param defaultMillis used when the value is missing or cannot be parsed
+     * @return delay in milliseconds
+     */
+    public static long retryAfterMillis(String retryAfter, long defaultMillis) {
+        if (retryAfter == null || retryAfter.trim().isEmpty()) {
+            return defaultMillis;
+        }
+        try {
+            return Math.max(0, TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim())));
+        } catch (NumberFormatException notSeconds) {
+            try {
+                ZonedDateTime date = ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, date.toInstant().toEpochMilli() - System.currentTimeMillis());
+            } catch (DateTimeParseException notDate) {
+                return defaultMillis;
+            }
+        }
+    }
+}
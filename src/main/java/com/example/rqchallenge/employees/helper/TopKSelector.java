@@ -0,0 +1,171 @@
+package com.example.rqchallenge.employees.helper;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Selects the rows with the k largest keys using a bounded min-heap, O(n log k) instead of a full sort.
+ * <p>
+ * Heap entries are primitive longs holding the key in the high bits and the inverted row in the low bits,
+ * so entries are totally ordered: larger key first and, for equal keys, lower row first. This matches a
+ * stable descending sort and makes the sequential and parallel results identical.
+ */
+public final class TopKSelector {
+
+    /**
+     * Below this size {@link #select(int[], int)} does not fork.
+     */
+    public static final int PARALLEL_THRESHOLD = 1 << 20;
+
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    private static final long ROW_MASK = 0xFFFFFFFFL;
+
+    private TopKSelector() {
+    }
+
+    /**
+     * Selects sequentially or in parallel depending on the number of keys.
+     * @param keys key per row
+     * @param k
+     * @return rows of the k largest keys, largest first
+     */
+    public static int[] select(int[] keys, int k) {
+        return keys.length >= PARALLEL_THRESHOLD ? selectParallel(keys, k, ForkJoinPool.commonPool()) : selectSequential(keys, k);
+    }
+
+    /**
+     * @param keys key per row
+     * @param k
+     * @return rows of the k largest keys, largest first
+     */
+    public static int[] selectSequential(int[] keys, int k) {
+        Heap heap = new Heap(Math.min(k, keys.length));
+        heap.offerAll(keys, 0, keys.length);
+        return heap.toRows();
+    }
+
+    /**
+     * Splits the keys into chunks, builds one heap per chunk on the pool and merges the heaps pairwise.
+     * @param keys key per row
+     * @param k
+     * @param pool
+     * @return rows of the k largest keys, largest first
+     */
+    public static int[] selectParallel(int[] keys, int k, ForkJoinPool pool) {
+        int capacity = Math.min(k, keys.length);
+        return pool.invoke(new SelectTask(keys, 0, keys.length, capacity)).toRows();
+    }
+
+    private static long pack(int key, int row) {
+        return ((long) key << 32) | (ROW_MASK - row);
+    }
+
+    private static int rowOf(long entry) {
+        return (int) (ROW_MASK - (entry & ROW_MASK));
+    }
+
+    private static final class SelectTask extends RecursiveTask<Heap> {
+
+        private final int[] keys;
+
+        private final int from;
+
+        private final int to;
+
+        private final int capacity;
+
+        private SelectTask(int[] keys, int from, int to, int capacity) {
+            this.keys = keys;
+            this.from = from;
+            this.to = to;
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected Heap compute() {
+            if (to - from <= CHUNK_SIZE) {
+                Heap heap = new Heap(capacity);
+                heap.offerAll(keys, from, to);
+                return heap;
+            }
+            int middle = (from + to) >>> 1;
+            SelectTask left = new SelectTask(keys, from, middle, capacity);
+            left.fork();
+            Heap right = new SelectTask(keys, middle, to, capacity).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    private static final class Heap {
+
+        private final long[] entries;
+
+        private int size;
+
+        private Heap(int capacity) {
+            this.entries = new long[capacity];
+        }
+
+        private void offerAll(int[] keys, int from, int to) {
+            if (entries.length == 0) {
+                return;
+            }
+            for (int row = from; row < to; row++) {
+                offer(pack(keys[row], row));
+            }
+        }
+
+        private void offer(long entry) {
+            if (size < entries.length) {
+                int child = size++;
+                while (child > 0) {
+                    int parent = (child - 1) >>> 1;
+                    if (entries[parent] <= entry) {
+                        break;
+                    }
+                    entries[child] = entries[parent];
+                    child = parent;
+                }
+                entries[child] = entry;
+            } else if (entry > entries[0]) {
+                siftDown(entry);
+            }
+        }
+
+        private void siftDown(long entry) {
+            int parent = 0;
+            int half = size >>> 1;
+            while (parent < half) {
+                int child = 2 * parent + 1;
+                if (child + 1 < size && entries[child + 1] < entries[child]) {
+                    child++;
+                }
+                if (entry <= entries[child]) {
+                    break;
+                }
+                entries[parent] = entries[child];
+                parent = child;
+            }
+            entries[parent] = entry;
+        }
+
+        private Heap merge(Heap other) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.entries[i]);
+            }
+            return this;
+        }
+
+        private int[] toRows() {
+            long[] sorted = Arrays.copyOf(entries, size);
+            Arrays.sort(sorted);
+            int[] rows = new int[size];
+            for (int i = 0; i < size; i++) {
+                rows[i] = rowOf(sorted[size - 1 - i]);
+            }
+            return rows;
+        }
+    }
+}
@@ -1,17 +1,38 @@
 package com.example.rqchallenge.employees.service;
 
+import com.example.rqchallenge.employees.client.AsyncEmployeeClient;
 import com.example.rqchallenge.employees.client.EmployeeClient;
+import com.example.rqchallenge.employees.dto.BatchResult;
 import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.dto.EncodedList;
+import com.example.rqchallenge.employees.dto.RefreshStatus;
 import com.example.rqchallenge.employees.exceptions.EmployeeNotExist;
 import com.example.rqchallenge.employees.exceptions.InvalidIdException;
+import com.example.rqchallenge.employees.exceptions.InvalidParameterException;
+import com.example.rqchallenge.employees.exceptions.RateLimitExceededException;
+import com.example.rqchallenge.employees.exceptions.UpstreamUnavailableException;
+import com.example.rqchallenge.employees.helper.BatchExecutor;
+import com.example.rqchallenge.employees.helper.RateLimitBudget;
+import com.example.rqchallenge.employees.snapshot.EmployeeResponseCache;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshot;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshotCache;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshotRefresher;
+import com.example.rqchallenge.employees.snapshot.EmployeeTableJsonWriter;
+import com.fasterxml.jackson.core.JsonFactory;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.ValidationException;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 
 @Service
 @Slf4j
@@ -20,8 +41,40 @@ public class EmployeeService {
     @Autowired
     EmployeeClient employeeClient;
 
+    @Autowired
+    AsyncEmployeeClient asyncEmployeeClient;
+
+    @Autowired
+    EmployeeSnapshotCache employeeSnapshotCache;
+
+    @Autowired
+    EmployeeSnapshotRefresher employeeSnapshotRefresher;
+
+    @Autowired
+    EmployeeResponseCache employeeResponseCache;
+
+    @Autowired
+    BatchExecutor batchExecutor;
+
+    @Value("${employee.batch.max-size:1000}")
+    int maxBatchSize;
+
+    @Value("${employee.batch.max-retries:3}")
+    int maxBatchRetries;
+
+    @Value("${employee.batch.backoff-ms:1000}")
+    long batchBackoffMillis;
+
+    /**
+     * Longest Retry-After a batch waits for, a longer one fails the remaining items as rate limited.
+     */
+    @Value("${employee.batch.max-wait-ms:30000}")
+    long batchMaxWaitMillis;
+
+    private final EmployeeTableJsonWriter employeeTableJsonWriter = new EmployeeTableJsonWriter(new JsonFactory());
+
     /**
-     * Fetches a list of all employees from the employee client.
+     * Fetches a list of all employees from the in-memory snapshot.
      * @return list of Employee object
      */
     public List<Employee> getAllEmployees() {
@@ -29,7 +82,7 @@ public class EmployeeService {
 
         List<Employee> employeeList = null;
         try {
-            employeeList = employeeClient.fetchAllEmployees();
+            employeeList = employeeSnapshotCache.get().getEmployees();
             log.info("Successfully fetched all employees");
             return employeeList;
         } catch (Exception e) {
@@ -38,6 +91,63 @@ public class EmployeeService {
         }
     }
 
+    /**
+     * All employees of the in-memory snapshot with their JSON array, encoded and compressed once per snapshot.
+     * @param gzip true for the gzip compressed body
+     * @return list of Employee object carrying the JSON body
+     */
+    public EncodedList<Employee> getAllEmployeesJson(boolean gzip) {
+        log.info("Started fetching all employees as JSON");
+
+        try {
+            EmployeeSnapshot snapshot = employeeSnapshotCache.get();
+            byte[] body = employeeResponseCache.get(snapshot, EmployeeResponseCache.Body.ALL_EMPLOYEES, gzip);
+            log.info("Successfully fetched all employees as JSON");
+            return new EncodedList<>(snapshot.getEmployees(), body);
+        } catch (Exception e) {
+            log.error("Error occurred while fetching employees: ", e);
+            throw new RuntimeException("Error occurred while fetching employees");
+        }
+    }
+
+    /**
+     * Streams a page of all employees from the in-memory snapshot, either as a JSON array or as
+     * newline delimited JSON. The snapshot is captured before the body is returned, so the page is
+     * consistent even when a refresh swaps the snapshot while the response is being written.
+     * @param offset index of the first employee
+     * @param limit maximum number of employees
+     * @param ndjson true to write one employee per line instead of a JSON array
+     * @return StreamingResponseBody
+     */
+    public StreamingResponseBody streamAllEmployees(int offset, int limit, boolean ndjson) {
+        log.info("Started streaming employees from offset {} with limit {}", offset, limit);
+        if (offset < 0) {
+            log.error("Invalid offset for streaming employees: {}", offset);
+            throw new InvalidParameterException("Offset should not be negative.");
+        }
+        if (limit <= 0) {
+            log.error("Invalid limit for streaming employees: {}", limit);
+            throw new InvalidParameterException("Limit should be greater than zero.");
+        }
+
+        EmployeeSnapshot snapshot;
+        try {
+            snapshot = employeeSnapshotCache.get();
+        } catch (Exception e) {
+            log.error("Error occurred while fetching employees: ", e);
+            throw new RuntimeException("Error occurred while fetching employees");
+        }
+
+        return outputStream -> {
+            if (ndjson) {
+                employeeTableJsonWriter.writeNdjson(snapshot, offset, limit, outputStream);
+            } else {
+                employeeTableJsonWriter.writeArray(snapshot, offset, limit, outputStream);
+            }
+            log.info("Successfully streamed employees from offset {} with limit {}", offset, limit);
+        };
+    }
+
     /**
      * Searching all employees by name
      * @param searchString
@@ -48,13 +158,13 @@ public class EmployeeService {
 
         List<Employee> employeeList = null;
         try {
-            employeeList = employeeClient.fetchAllEmployees();
+            EmployeeSnapshot snapshot = employeeSnapshotCache.get();
 
-            if (employeeList == null || employeeList.isEmpty()) {
+            if (snapshot.isEmpty()) {
                 return new ArrayList<>();
             }
 
-            employeeList = employeeList.stream().filter(employee -> employee.getEmployeeName().toLowerCase().contains(searchString.toLowerCase())).collect(Collectors.toList());
+            employeeList = snapshot.searchByName(searchString);
             log.info("Successfully fetched all employees by name {}",searchString);
             return employeeList;
         } catch (Exception e) {
@@ -65,6 +175,29 @@ public class EmployeeService {
 
     }
 
+    /**
+     * Searching employees whose name starts with the prefix, ordered by name
+     * @param prefix
+     * @param limit
+     * @return list of Employee object
+     */
+    public List<Employee> searchEmployeesByPrefix(String prefix, int limit) {
+        log.info("Started fetching employees by name prefix {}", prefix);
+        if (limit <= 0) {
+            log.error("Invalid limit for prefix search: {}", limit);
+            throw new InvalidParameterException("Limit should be greater than zero.");
+        }
+
+        try {
+            List<Employee> employeeList = employeeSnapshotCache.get().searchByPrefix(prefix, limit);
+            log.info("Successfully fetched employees by name prefix {}", prefix);
+            return employeeList;
+        } catch (Exception e) {
+            log.error("Error occurred while fetching employees by name prefix {}", prefix, e);
+            throw new RuntimeException("Error occurred while fetching employees by name prefix " + prefix);
+        }
+    }
+
     /**
      * get employee by id
      * @param id
@@ -78,11 +211,9 @@ public class EmployeeService {
             throw new InvalidIdException("Invalid ID format. ID should be a number.");
         }
 
-        List<Employee> employeeList = null;
         Optional<Employee> employeeById = Optional.empty();
         try {
-            employeeList = employeeClient.fetchAllEmployees();
-            employeeById = employeeList.stream().filter(employee -> employee.getId().equalsIgnoreCase(id)).findFirst();
+            employeeById = employeeSnapshotCache.get().findById(id);
             log.info("Successfully fetched employee by id {}", id);
             if (employeeById.isPresent()) {
                 return employeeById.get();
@@ -106,19 +237,16 @@ public class EmployeeService {
 
         log.info("Started fetching highest salary");
 
-        List<Employee> employeeList = null;
-        Optional<Employee> employeeById = Optional.empty();
         try {
-            employeeList = employeeClient.fetchAllEmployees();
-            if(employeeList == null || employeeList.isEmpty()) {
+            EmployeeSnapshot snapshot = employeeSnapshotCache.get();
+            if (snapshot.isEmpty()) {
                 String errorMessage = "No employees found in the list";
                 log.error("{}", errorMessage);
                 throw new EmployeeNotExist(errorMessage);
             }
-            employeeList = sortBySalary(employeeList);
-            employeeById = employeeList.stream().findFirst();
-            log.info("Successfully fetched employee highest salary {}",employeeById.get().getEmployeeSalary());
-            return employeeById.get().getEmployeeSalary();
+            int highestSalary = snapshot.getHighestSalary().getAsInt();
+            log.info("Successfully fetched employee highest salary {}", highestSalary);
+            return highestSalary;
         } catch (EmployeeNotExist e) {
             throw e;
         }catch (Exception e) {
@@ -129,17 +257,6 @@ public class EmployeeService {
 
     }
 
-    /**
-     * Sort Employee list by salary in descending order
-     * @param employees
-     * @return List of Employee object
-     */
-    private List<Employee> sortBySalary(List<Employee> employees) {
-        return employees.stream()
-                .sorted(Comparator.comparingInt(Employee::getEmployeeSalary).reversed())
-                .collect(Collectors.toList());
-    }
-
     /**
      * Search all employees with top ten salary
      * @return List of String
@@ -148,20 +265,18 @@ public class EmployeeService {
         log.info("Started fetching all employees with top ten salary");
 
 
-        List<Employee> employeeList = null;
         try {
-            employeeList = employeeClient.fetchAllEmployees();
+            EmployeeSnapshot snapshot = employeeSnapshotCache.get();
 
-            if(employeeList == null || employeeList.isEmpty()) {
+            if (snapshot.isEmpty()) {
                 String errorMessage = "No employees found in the list";
                 log.error("{}", errorMessage);
                 throw new EmployeeNotExist(errorMessage);
             }
 
-            employeeList = sortBySalary(employeeList);
-            employeeList = employeeList.subList(0, Math.min(10, employeeList.size()));
+            List<String> employeeNames = snapshot.getTopNamesBySalary(10);
             log.info("Successfully fetched all employees with top ten salary");
-            return employeeList.stream().map(Employee::getEmployeeName).collect(Collectors.toList());
+            return employeeNames;
 
         } catch (EmployeeNotExist e) {
             throw e;
@@ -174,37 +289,109 @@ public class EmployeeService {
     }
 
     /**
-     * Creates employee from input
-     * @param employeeInput
-     * @return Employee
+     * Names of the employees with top ten salary with their JSON array, encoded once per snapshot.
+     * @return List of String carrying the JSON body
      */
-    public Employee createEmployee(Map<String, Object> employeeInput) {
-        log.info("Creating employee");
-        log.debug("Creating employee from input: {}", employeeInput);
-        Employee employee = new Employee();
+    public EncodedList<String> getTopTenHighestSalaryEmployeeNamesJson() {
+        log.info("Started fetching all employees with top ten salary as JSON");
+
         try {
-            employee.setEmployeeName((String) employeeInput.get("employee_name"));
-            employee.setEmployeeSalary((Integer) employeeInput.get("employee_salary"));
-            employee.setEmployeeAge((Integer) employeeInput.get("employee_age"));
-            employee.setProfileImage((String) employeeInput.get("profile_image"));
-            if(employee.getProfileImage() == null){
-                employee.setProfileImage("");
+            EmployeeSnapshot snapshot = employeeSnapshotCache.get();
+            if (snapshot.isEmpty()) {
+                String errorMessage = "No employees found in the list";
+                log.error("{}", errorMessage);
+                throw new EmployeeNotExist(errorMessage);
             }
+            byte[] body = employeeResponseCache.get(snapshot, EmployeeResponseCache.Body.TOP_TEN_NAMES);
+            log.info("Successfully fetched all employees with top ten salary as JSON");
+            return new EncodedList<>(snapshot.getTopNamesBySalary(10), body);
+        } catch (EmployeeNotExist e) {
+            throw e;
         } catch (Exception e) {
-            log.error("Error converting map to Employee: Invalid data types", e);
-            throw new ValidationException("Error converting map to Employee: Invalid data types", e);
+            log.error("Error occurred while fetching all employees with top ten salary: {}", e.getMessage());
+            throw new RuntimeException("Error occurred while fetching all employees with top ten salary");
         }
+    }
+
+    /**
+     * Get the k employees with the highest salary, highest first
+     * @param k
+     * @return List of Employee object
+     */
+    public List<Employee> getTopEarners(int k) {
+        log.info("Started fetching top {} earners", k);
+        if (k <= 0) {
+            log.error("Invalid number of top earners requested: {}", k);
+            throw new InvalidParameterException("Number of top earners should be greater than zero.");
+        }
+
+        try {
+            EmployeeSnapshot snapshot = employeeSnapshotCache.get();
 
+            if (snapshot.isEmpty()) {
+                String errorMessage = "No employees found in the list";
+                log.error("{}", errorMessage);
+                throw new EmployeeNotExist(errorMessage);
+            }
 
+            List<Employee> employeeList = snapshot.getTopBySalary(k);
+            log.info("Successfully fetched top {} earners", k);
+            return employeeList;
+        } catch (EmployeeNotExist e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error occurred while fetching top {} earners: {}", k, e.getMessage());
+            throw new RuntimeException("Error occurred while fetching top " + k + " earners");
+        }
+    }
+
+    /**
+     * Get the k oldest employees, oldest first
+     * @param k
+     * @return List of Employee object
+     */
+    public List<Employee> getTopEmployeesByAge(int k) {
+        log.info("Started fetching top {} employees by age", k);
+        if (k <= 0) {
+            log.error("Invalid number of employees requested: {}", k);
+            throw new InvalidParameterException("Number of employees should be greater than zero.");
+        }
+
+        try {
+            EmployeeSnapshot snapshot = employeeSnapshotCache.get();
+
+            if (snapshot.isEmpty()) {
+                String errorMessage = "No employees found in the list";
+                log.error("{}", errorMessage);
+                throw new EmployeeNotExist(errorMessage);
+            }
+
+            List<Employee> employeeList = snapshot.getTopByAge(k);
+            log.info("Successfully fetched top {} employees by age", k);
+            return employeeList;
+        } catch (EmployeeNotExist e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error occurred while fetching top {} employees by age: {}", k, e.getMessage());
+            throw new RuntimeException("Error occurred while fetching top " + k + " employees by age");
+        }
+    }
+
+    /**
+     * Creates employee from input
+     * @param employeeInput
+     * @return Employee
+     */
+    public Employee createEmployee(Map<String, Object> employeeInput) {
+        log.info("Creating employee");
+        log.debug("Creating employee from input: {}", employeeInput);
+        Employee employee = toEmployee(employeeInput);
 
         try {
             employee.validate(employee.getEmployeeName());
             Employee savedEmployee = employeeClient.createEmployee(employee);
             log.info("Employee saved successfully: {} ", savedEmployee);
-            // Note: The getEmployee method fetches static data does not change while create and delete.
-            // For consistency, the file is refreshed whenever a new employee is added or deleted,
-            // considering these operations as changes to the static data.
-            employeeClient.fetchAllEmployeesWithDelay();
+            applyCreated(savedEmployee);
             return savedEmployee;
         } catch (Exception e) {
             log.error("Failed to save employee:", e);
@@ -213,19 +400,161 @@ public class EmployeeService {
 
     }
 
+    /**
+     * Creates employees in bulk. Every item is validated first, the valid ones are submitted to the upstream
+     * through {@link BatchExecutor} and share one {@link RateLimitBudget}. Created employees are applied to
+     * the snapshot and the whole batch requests a single refresh.
+     * @param employeeInputs
+     * @return per-item results in request order
+     */
+    public List<BatchResult> createEmployees(List<Map<String, Object>> employeeInputs) {
+        int size = employeeInputs == null ? 0 : employeeInputs.size();
+        log.info("Started creating batch of {} employees", size);
+        validateBatchSize(size);
+
+        BatchResult[] results = new BatchResult[size];
+        Employee[] employees = new Employee[size];
+        List<Integer> valid = new ArrayList<>(size);
+        for (int index = 0; index < size; index++) {
+            try {
+                Map<String, Object> employeeInput = employeeInputs.get(index);
+                Employee employee = toEmployee(employeeInput == null ? Collections.emptyMap() : employeeInput);
+                employee.validate(employee.getEmployeeName());
+                employees[index] = employee;
+                valid.add(index);
+            } catch (ValidationException e) {
+                log.error("Invalid employee at index {} : {}", index, e.getMessage());
+                results[index] = BatchResult.failed(index, BatchResult.Status.INVALID, e.getMessage());
+            }
+        }
+
+        RateLimitBudget budget = new RateLimitBudget(maxBatchRetries, batchBackoffMillis, batchMaxWaitMillis);
+        int created = 0;
+        for (BatchResult result : batchExecutor.map(valid,
+                index -> submit(index, null, budget, () -> BatchResult.created(index, employeeClient.tryCreateEmployee(employees[index]))))) {
+            results[result.getIndex()] = result;
+            if (result.getStatus() == BatchResult.Status.CREATED) {
+                created++;
+                Employee savedEmployee = result.getEmployee();
+                if (savedEmployee != null && savedEmployee.getId() != null) {
+                    employeeSnapshotCache.applyCreated(savedEmployee);
+                }
+            }
+        }
+        if (created > 0) {
+            employeeSnapshotRefresher.markDirty();
+        }
+
+        log.info("Finished creating batch, {} of {} employees created", created, size);
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Deletes employees in bulk. The deletes fan out through {@link BatchExecutor} and share one
+     * {@link RateLimitBudget}. The deleted employees are removed from the snapshot as one new version
+     * and the whole batch requests a single refresh.
+     * @param ids
+     * @return per-id results in request order
+     */
+    public List<BatchResult> deleteEmployees(List<String> ids) {
+        int size = ids == null ? 0 : ids.size();
+        log.info("Started deleting batch of {} employees", size);
+        validateBatchSize(size);
+        for (int index = 0; index < size; index++) {
+            if (!NumberUtils.isNumber(ids.get(index))) {
+                log.error("Invalid ID format at index {}. ID should be a number: {}", index, ids.get(index));
+                throw new InvalidIdException("Invalid ID format at index " + index + ". ID should be a number.");
+            }
+        }
+
+        RateLimitBudget budget = new RateLimitBudget(maxBatchRetries, batchBackoffMillis, batchMaxWaitMillis);
+        List<Integer> indexes = new ArrayList<>(size);
+        for (int index = 0; index < size; index++) {
+            indexes.add(index);
+        }
+        List<BatchResult> results = batchExecutor.map(indexes, index -> {
+            String id = ids.get(index);
+            return submit(index, id, budget, () -> employeeClient.tryDeleteEmployeeById(id)
+                    ? BatchResult.deleted(index, id)
+                    : BatchResult.failed(index, id, BatchResult.Status.NOT_FOUND, String.format("Employee with ID %s does not exist", id)));
+        });
+
+        List<String> deletedIds = new ArrayList<>();
+        for (BatchResult result : results) {
+            if (result.getStatus() == BatchResult.Status.DELETED) {
+                deletedIds.add(result.getId());
+            }
+        }
+        if (!deletedIds.isEmpty()) {
+            employeeSnapshotCache.applyDeleted(deletedIds);
+            employeeSnapshotRefresher.markDirty();
+        }
+
+        log.info("Finished deleting batch, {} of {} employees deleted", deletedIds.size(), size);
+        return results;
+    }
+
+    /**
+     * Sends one batch item to the upstream. A 429 pauses the batch and retries while the budget allows,
+     * any other failure is reported in the result.
+     */
+    private BatchResult submit(int index, String id, RateLimitBudget budget, Supplier<BatchResult> request) {
+        while (true) {
+            try {
+                if (!budget.awaitTurn()) {
+                    log.error("Batch gave up on the rate limit, item at index {} not sent", index);
+                    return BatchResult.failed(index, id, BatchResult.Status.RATE_LIMITED, "Too many requests");
+                }
+                return request.get();
+            } catch (RestClientResponseException e) {
+                if (e.getRawStatusCode() != HttpStatus.TOO_MANY_REQUESTS.value()) {
+                    return BatchResult.failed(index, id, BatchResult.Status.FAILED, e.getStatusText());
+                }
+                if (!budget.onRateLimited(e)) {
+                    log.error("Rate limit budget of the batch exhausted, item at index {} not sent", index);
+                    return BatchResult.failed(index, id, BatchResult.Status.RATE_LIMITED, "Too many requests");
+                }
+            } catch (RateLimitExceededException e) {
+                log.error("Batch item at index {} not sent : {}", index, e.getMessage());
+                return BatchResult.failed(index, id, BatchResult.Status.RATE_LIMITED, e.getMessage());
+            } catch (UpstreamUnavailableException e) {
+                log.error("Batch item at index {} not sent : {}", index, e.getMessage());
+                return BatchResult.failed(index, id, BatchResult.Status.FAILED, e.getMessage());
+            } catch (Exception e) {
+                log.error("Batch item at index {} failed :", index, e);
+                return BatchResult.failed(index, id, BatchResult.Status.FAILED, e.getMessage());
+            }
+        }
+    }
+
+    private void validateBatchSize(int size) {
+        if (size <= 0) {
+            log.error("Batch should contain at least one item");
+            throw new InvalidParameterException("Batch should contain at least one item.");
+        }
+        if (size > maxBatchSize) {
+            log.error("Batch of {} items exceeds the limit of {}", size, maxBatchSize);
+            throw new InvalidParameterException("Batch should not contain more than " + maxBatchSize + " items.");
+        }
+    }
+
     /**
      * Delete employee by id
      * @param id
      */
     public void deleteEmployee(String id) {
         log.info("Started deleting employee by id {}", id);
+        if (!NumberUtils.isNumber(id)) {
+            log.error("Invalid ID format. ID should be a number: {}", id);
+            throw new InvalidIdException("Invalid ID format. ID should be a number.");
+        }
 
         try {
             employeeClient.deleteEmployeeById(id);
-            // Note: The getEmployee method fetches static data does not change while create and delete.
-            // For consistency, the file is refreshed whenever a new employee is added or deleted,
-            // considering these operations as changes to the static data.
-            employeeClient.fetchAllEmployeesWithDelay();
+            applyDeleted(id);
+        } catch (RateLimitExceededException | UpstreamUnavailableException e) {
+            log.error("Employee with id {} not deleted : {}", id, e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("Error occurred while deleting employee by id {} : ",id,e);
             throw new RuntimeException("Error occurred while deleting employee by id " + id);
@@ -233,4 +562,178 @@ public class EmployeeService {
 
         log.info("Successfully deleted employee by id {}", id);
     }
+
+    /**
+     * Entity tag of the current snapshot. Taken before reading the snapshot for a response, a concurrent
+     * refresh can only make the tag older than the body, which costs a full response on the next
+     * conditional request but never a wrong 304.
+     * @return quoted entity tag
+     */
+    public String getSnapshotETag() {
+        try {
+            return employeeSnapshotCache.etagOf(employeeSnapshotCache.get());
+        } catch (Exception e) {
+            log.error("Error occurred while fetching employees: ", e);
+            throw new RuntimeException("Error occurred while fetching employees");
+        }
+    }
+
+    /**
+     * Entity tag of the current snapshot without blocking while the first snapshot is loaded.
+     * @return future of the quoted entity tag
+     */
+    public CompletableFuture<String> getSnapshotETagAsync() {
+        return employeeSnapshotCache.getAsync()
+                .thenApply(employeeSnapshotCache::etagOf)
+                .exceptionally(e -> {
+                    log.error("Error occurred while fetching employees: ", unwrap(e));
+                    throw new RuntimeException("Error occurred while fetching employees");
+                });
+    }
+
+    /**
+     * Pending refresh state of the in-memory snapshot
+     * @return RefreshStatus
+     */
+    public RefreshStatus getRefreshStatus() {
+        return employeeSnapshotRefresher.getStatus();
+    }
+
+    /**
+     * Fetches a list of all employees from the in-memory snapshot without blocking
+     * while the first snapshot is loaded.
+     * @return future of the list of Employee object
+     */
+    public CompletableFuture<List<Employee>> getAllEmployeesAsync() {
+        log.info("Started fetching all employees asynchronously");
+
+        return employeeSnapshotCache.getAsync()
+                .thenApply(snapshot -> {
+                    log.info("Successfully fetched all employees asynchronously");
+                    return snapshot.getEmployees();
+                })
+                .exceptionally(e -> {
+                    log.error("Error occurred while fetching employees: ", unwrap(e));
+                    throw new RuntimeException("Error occurred while fetching employees");
+                });
+    }
+
+    /**
+     * get employee by id without blocking while the first snapshot is loaded
+     * @param id
+     * @return future of the Employee
+     */
+    public CompletableFuture<Employee> getEmployeeByIdAsync(String id) {
+        log.info("Started fetching employee by id {} asynchronously", id);
+        if (!NumberUtils.isNumber(id)) {
+            log.error("Invalid ID format. ID should be a number: {}", id);
+            throw new InvalidIdException("Invalid ID format. ID should be a number.");
+        }
+
+        return employeeSnapshotCache.getAsync()
+                .exceptionally(e -> {
+                    log.error("Error occurred while fetching employee by id {} : {}", id, unwrap(e).getMessage());
+                    throw new RuntimeException("Error occurred while fetching employee by id " + id);
+                })
+                .thenApply(snapshot -> snapshot.findById(id).orElseThrow(() -> {
+                    log.error("Employee with ID {} does not exist", id);
+                    return new EmployeeNotExist(String.format("Employee with ID %s does not exist", id));
+                }));
+    }
+
+    /**
+     * Creates employee from input through the non-blocking client
+     * @param employeeInput
+     * @return future of the created Employee
+     */
+    public CompletableFuture<Employee> createEmployeeAsync(Map<String, Object> employeeInput) {
+        log.info("Creating employee asynchronously");
+        log.debug("Creating employee from input: {}", employeeInput);
+        Employee employee = toEmployee(employeeInput);
+        employee.validate(employee.getEmployeeName());
+
+        return asyncEmployeeClient.createEmployee(employee)
+                .thenApply(savedEmployee -> {
+                    log.info("Employee saved successfully: {} ", savedEmployee);
+                    applyCreated(savedEmployee);
+                    return savedEmployee;
+                })
+                .exceptionally(e -> {
+                    log.error("Failed to save employee:", unwrap(e));
+                    throw new CompletionException(unwrap(e));
+                });
+    }
+
+    /**
+     * Delete employee by id through the non-blocking client
+     * @param id
+     * @return future completed once the employee is deleted
+     */
+    public CompletableFuture<Void> deleteEmployeeAsync(String id) {
+        log.info("Started deleting employee by id {} asynchronously", id);
+        if (!NumberUtils.isNumber(id)) {
+            log.error("Invalid ID format. ID should be a number: {}", id);
+            throw new InvalidIdException("Invalid ID format. ID should be a number.");
+        }
+
+        return asyncEmployeeClient.deleteEmployeeById(id)
+                .thenRun(() -> {
+                    applyDeleted(id);
+                    log.info("Successfully deleted employee by id {}", id);
+                })
+                .exceptionally(e -> {
+                    Throwable cause = unwrap(e);
+                    if (cause instanceof RateLimitExceededException || cause instanceof UpstreamUnavailableException) {
+                        log.error("Employee with id {} not deleted : {}", id, cause.getMessage());
+                        throw new CompletionException(cause);
+                    }
+                    log.error("Error occurred while deleting employee by id {} : ", id, cause);
+                    throw new RuntimeException("Error occurred while deleting employee by id " + id);
+                });
+    }
+
+    /**
+     * Makes a created employee visible in the in-memory snapshot right away. The upstream stays the
+     * source of truth: the snapshot and file are refreshed after employees are added or deleted,
+     * mutations inside the debounce window share one refresh.
+     * @param savedEmployee
+     */
+    private void applyCreated(Employee savedEmployee) {
+        if (savedEmployee != null && savedEmployee.getId() != null) {
+            employeeSnapshotCache.applyCreated(savedEmployee);
+        } else {
+            log.warn("Created employee has no id, it becomes visible with the next refresh");
+        }
+        employeeSnapshotRefresher.markDirty();
+    }
+
+    /**
+     * Removes a deleted employee from the in-memory snapshot right away, see {@link #applyCreated(Employee)}.
+     * @param id
+     */
+    private void applyDeleted(String id) {
+        employeeSnapshotCache.applyDeleted(id);
+        employeeSnapshotRefresher.markDirty();
+    }
+
+    private Employee toEmployee(Map<String, Object> employeeInput) {
+        Employee employee = new Employee();
+        try {
+            employee.setEmployeeName((String) employeeInput.get("employee_name"));
+            employee.setEmployeeSalary((Integer) employeeInput.get("employee_salary"));
+            employee.setEmployeeAge((Integer) employeeInput.get("employee_age"));
+            employee.setProfileImage((String) employeeInput.get("profile_image"));
+            if(employee.getProfileImage() == null){
+                employee.setProfileImage("");
+            }
+        } catch (Exception e) {
+            log.error("Error converting map to Employee: Invalid data types", e);
+            throw new ValidationException("Error converting map to Employee: Invalid data types", e);
+        }
+        return employee;
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
 }
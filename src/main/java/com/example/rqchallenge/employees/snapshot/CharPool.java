@@ -0,0 +1,197 @@
+package com.example.rqchallenge.employees.snapshot;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Column of strings stored back to back in one shared char[], with an offset per row.
+ * Replaces one String object (and its backing array) per row with two array slots.
+ */
+public final class CharPool {
+
+    private final char[] chars;
+
+    private final int[] offsets;
+
+    private final BitSet nulls;
+
+    private CharPool(char[] chars, int[] offsets, BitSet nulls) {
+        this.chars = chars;
+        this.offsets = offsets;
+        this.nulls = nulls;
+    }
+
+    static CharPool of(char[] chars, int[] offsets, BitSet nulls) {
+        return new CharPool(chars, offsets, nulls);
+    }
+
+    public static CharPool of(String... values) {
+        Builder builder = new Builder(values.length);
+        for (String value : values) {
+            builder.add(value);
+        }
+        return builder.build();
+    }
+
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    public int length(int row) {
+        return offsets[row + 1] - offsets[row];
+    }
+
+    public char charAt(int row, int index) {
+        return chars[offsets[row] + index];
+    }
+
+    /**
+     * Materializes the value of a row, the only method that allocates.
+     * @param row
+     * @return String or null when null was stored
+     */
+    public String get(int row) {
+        if (nulls != null && nulls.get(row)) {
+            return null;
+        }
+        return new String(chars, offsets[row], length(row));
+    }
+
+    /**
+     * Same result as {@code get(row).contains(query)} without materializing the row.
+     * @param row
+     * @param query
+     * @return true when the row contains the query
+     */
+    public boolean contains(int row, String query) {
+        int start = offsets[row];
+        int last = offsets[row + 1] - query.length();
+        for (int from = start; from <= last; from++) {
+            int i = 0;
+            while (i < query.length() && chars[from + i] == query.charAt(i)) {
+                i++;
+            }
+            if (i == query.length()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Same result as {@code Objects.equals(get(row), value)} without materializing the row.
+     * @param row
+     * @param value
+     * @return true when the row holds the value
+     */
+    public boolean matches(int row, String value) {
+        boolean isNull = nulls != null && nulls.get(row);
+        if (value == null || isNull) {
+            return value == null && isNull;
+        }
+        if (length(row) != value.length()) {
+            return false;
+        }
+        int start = offsets[row];
+        for (int i = 0; i < value.length(); i++) {
+            if (chars[start + i] != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Same ordering as {@link String#compareTo(String)} on the materialized rows.
+     * @param rowA
+     * @param rowB
+     * @return negative, zero or positive
+     */
+    public int compare(int rowA, int rowB) {
+        int a = offsets[rowA];
+        int b = offsets[rowB];
+        int lengthA = length(rowA);
+        int lengthB = length(rowB);
+        int common = Math.min(lengthA, lengthB);
+        for (int i = 0; i < common; i++) {
+            if (chars[a + i] != chars[b + i]) {
+                return chars[a + i] - chars[b + i];
+            }
+        }
+        return lengthA - lengthB;
+    }
+
+    char[] chars() {
+        return chars;
+    }
+
+    int[] offsets() {
+        return offsets;
+    }
+
+    BitSet nulls() {
+        return nulls;
+    }
+
+    /**
+     * @return approximate heap held by the pool in bytes
+     */
+    public long footprint() {
+        return 2L * chars.length + 4L * offsets.length + (nulls == null ? 0 : nulls.size() / 8);
+    }
+
+    public static final class Builder {
+
+        private char[] chars;
+
+        private int[] offsets;
+
+        private BitSet nulls;
+
+        private int size;
+
+        private int length;
+
+        public Builder(int expectedSize) {
+            this(expectedSize, 16);
+        }
+
+        /**
+         * @param expectedSize number of rows
+         * @param expectedLength total length of the rows, the chars grow geometrically past it
+         */
+        public Builder(int expectedSize, int expectedLength) {
+            this.chars = new char[Math.max(16, expectedLength)];
+            this.offsets = new int[expectedSize + 1];
+        }
+
+        public Builder add(String value) {
+            if (value == null) {
+                if (nulls == null) {
+                    nulls = new BitSet();
+                }
+                nulls.set(size);
+                value = "";
+            }
+            if (length + value.length() > chars.length) {
+                chars = Arrays.copyOf(chars, Math.max(length + value.length(), chars.length * 2));
+            }
+            value.getChars(0, value.length(), chars, length);
+            length += value.length();
+            if (size + 1 == offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            offsets[++size] = length;
+            return this;
+        }
+
+        /**
+         * Hands over arrays that are already exactly filled instead of copying them, a later add grows first.
+         * @return CharPool
+         */
+        public CharPool build() {
+            return new CharPool(length == chars.length ? chars : Arrays.copyOf(chars, length),
+                    size + 1 == offsets.length ? offsets : Arrays.copyOf(offsets, size + 1), nulls);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.rqchallenge.employees.snapshot;
+
+import com.example.rqchallenge.employees.dto.Employee;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Immutable overlay of changes on top of the base table of a snapshot: tombstones for removed
+ * base rows and the employees added or updated since the table was built, in insertion order.
+ * Every change returns a new delta, a published delta is never modified.
+ */
+final class EmployeeDelta {
+
+    static final EmployeeDelta EMPTY = new EmployeeDelta(new BitSet(), 0, new Employee[0]);
+
+    private final BitSet removedRows;
+
+    private final int removedCount;
+
+    private final Employee[] added;
+
+    private EmployeeDelta(BitSet removedRows, int removedCount, Employee[] added) {
+        this.removedRows = removedRows;
+        this.removedCount = removedCount;
+        this.added = added;
+    }
+
+    /**
+     * @param removedRows tombstones, owned by the delta from now on
+     * @param added employees in insertion order, copied
+     * @return EmployeeDelta
+     */
+    static EmployeeDelta of(BitSet removedRows, List<Employee> added) {
+        Employee[] copies = new Employee[added.size()];
+        for (int i = 0; i < copies.length; i++) {
+            copies[i] = copy(added.get(i));
+        }
+        return new EmployeeDelta(removedRows, removedRows.cardinality(), copies);
+    }
+
+    boolean isEmpty() {
+        return removedCount == 0 && added.length == 0;
+    }
+
+    /**
+     * @return number of changes held by the delta
+     */
+    int size() {
+        return removedCount + added.length;
+    }
+
+    boolean isRemoved(int row) {
+        return removedCount != 0 && removedRows.get(row);
+    }
+
+    int removedCount() {
+        return removedCount;
+    }
+
+    BitSet removedRows() {
+        return removedRows;
+    }
+
+    int addedCount() {
+        return added.length;
+    }
+
+    /**
+     * @param index
+     * @return copy of the added employee, callers may modify it
+     */
+    Employee added(int index) {
+        return copy(added[index]);
+    }
+
+    /**
+     * @param id
+     * @return index of the added employee with the id or -1, ids match with the rules of the id index
+     */
+    int indexOfAdded(String id) {
+        long numericId = EmployeeIdIndex.parseId(id);
+        for (int i = added.length - 1; i >= 0; i--) {
+            String addedId = added[i].getId();
+            if (numericId >= 0 ? numericId == EmployeeIdIndex.parseId(addedId) : id != null && id.equalsIgnoreCase(addedId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    EmployeeDelta removeRow(int row) {
+        if (removedRows.get(row)) {
+            return this;
+        }
+        BitSet removed = (BitSet) removedRows.clone();
+        removed.set(row);
+        return new EmployeeDelta(removed, removedCount + 1, added);
+    }
+
+    EmployeeDelta removeRows(BitSet rows) {
+        BitSet removed = (BitSet) removedRows.clone();
+        removed.or(rows);
+        int count = removed.cardinality();
+        return count == removedCount ? this : new EmployeeDelta(removed, count, added);
+    }
+
+    EmployeeDelta add(Employee employee) {
+        Employee[] grown = Arrays.copyOf(added, added.length + 1);
+        grown[added.length] = copy(employee);
+        return new EmployeeDelta(removedRows, removedCount, grown);
+    }
+
+    EmployeeDelta removeAdded(int index) {
+        Employee[] shrunk = new Employee[added.length - 1];
+        System.arraycopy(added, 0, shrunk, 0, index);
+        System.arraycopy(added, index + 1, shrunk, index, added.length - index - 1);
+        return new EmployeeDelta(removedRows, removedCount, shrunk);
+    }
+
+    private static Employee copy(Employee employee) {
+        return new Employee(employee.getId(), employee.getEmployeeName(), employee.getEmployeeSalary(),
+                employee.getEmployeeAge(), employee.getProfileImage());
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.rqchallenge.employees.snapshot;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash index from a numeric employee id to its row in the snapshot.
+ * Keys are primitive longs, lookups do not allocate.
+ */
+public final class EmployeeIdIndex {
+
+    public static final int NOT_FOUND = -1;
+
+    private static final long NOT_CANONICAL = -1L;
+
+    private static final int MAX_DIGITS = 18;
+
+    private final long[] keys;
+
+    private final int[] rows;
+
+    private final int mask;
+
+    private EmployeeIdIndex(int capacity) {
+        this.keys = new long[capacity];
+        this.rows = new int[capacity];
+        this.mask = capacity - 1;
+        Arrays.fill(rows, NOT_FOUND);
+    }
+
+    /**
+     * Builds the index over the numeric id column. Rows without a canonical id (-1) are left out,
+     * the first row wins for duplicate ids.
+     * @param ids numeric id per row
+     * @return EmployeeIdIndex
+     */
+    public static EmployeeIdIndex build(long[] ids) {
+        EmployeeIdIndex index = new EmployeeIdIndex(capacityFor(ids.length));
+        for (int row = 0; row < ids.length; row++) {
+            if (ids[row] != NOT_CANONICAL) {
+                index.putIfAbsent(ids[row], row);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Parses an id made only of digits without leading zeros, so that the parsed value
+     * maps back to exactly one string.
+     * @param id
+     * @return parsed id or -1 when the id is not canonical
+     */
+    public static long parseId(String id) {
+        if (id == null || id.isEmpty() || id.length() > MAX_DIGITS || (id.length() > 1 && id.charAt(0) == '0')) {
+            return NOT_CANONICAL;
+        }
+        long value = 0;
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9') {
+                return NOT_CANONICAL;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * @param id
+     * @return row of the employee or {@link #NOT_FOUND}
+     */
+    public int rowOf(long id) {
+        int slot = slot(id);
+        while (rows[slot] != NOT_FOUND) {
+            if (keys[slot] == id) {
+                return rows[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NOT_FOUND;
+    }
+
+    private void putIfAbsent(long id, int row) {
+        int slot = slot(id);
+        while (rows[slot] != NOT_FOUND) {
+            if (keys[slot] == id) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = id;
+        rows[slot] = row;
+    }
+
+    private int slot(long id) {
+        long h = id;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+
+    private static int capacityFor(int size) {
+        int capacity = 2;
+        while (capacity < size * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
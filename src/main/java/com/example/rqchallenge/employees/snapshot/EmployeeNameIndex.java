@@ -0,0 +1,221 @@
+package com.example.rqchallenge.employees.snapshot;
+
+import java.util.Arrays;
+
+/**
+ * Trigram inverted index over pre-normalized employee names, used for substring search.
+ * <p>
+ * Every distinct trigram gets a dense id through an open-addressing table, postings are sorted row
+ * arrays stored back to back in one int[] (offsets give the slice per trigram). A query intersects the
+ * postings of its trigrams and verifies only the remaining candidates with {@link CharPool#contains}, so
+ * results are exactly those of a full contains scan, in row order.
+ */
+public final class EmployeeNameIndex {
+
+    private static final int EMPTY = -1;
+
+    private final CharPool names;
+
+    private final long[] gramKeys;
+
+    private final int[] gramIds;
+
+    private final int[] offsets;
+
+    private final int[] postings;
+
+    private EmployeeNameIndex(CharPool names, long[] gramKeys, int[] gramIds, int[] offsets, int[] postings) {
+        this.names = names;
+        this.gramKeys = gramKeys;
+        this.gramIds = gramIds;
+        this.offsets = offsets;
+        this.postings = postings;
+    }
+
+    /**
+     * @param names normalized names
+     * @return EmployeeNameIndex
+     */
+    public static EmployeeNameIndex build(CharPool names) {
+        int capacity = 16;
+        long[] keys = new long[capacity];
+        int[] ids = new int[capacity];
+        Arrays.fill(ids, EMPTY);
+        int distinct = 0;
+        int[] counts = new int[16];
+        int[] lastRow = new int[16];
+
+        // First pass: assign trigram ids and count rows per trigram, a trigram is counted once per row.
+        for (int row = 0; row < names.size(); row++) {
+            int length = names.length(row);
+            for (int i = 0; i + 3 <= length; i++) {
+                long gram = gram(names, row, i);
+                int slot = slot(gram, capacity - 1);
+                while (ids[slot] != EMPTY && keys[slot] != gram) {
+                    slot = (slot + 1) & (capacity - 1);
+                }
+                int id = ids[slot];
+                if (id == EMPTY) {
+                    id = distinct++;
+                    keys[slot] = gram;
+                    ids[slot] = id;
+                    if (id == counts.length) {
+                        counts = Arrays.copyOf(counts, id * 2);
+                        lastRow = Arrays.copyOf(lastRow, id * 2);
+                    }
+                    lastRow[id] = EMPTY;
+                    if (distinct * 2 > capacity) {
+                        capacity <<= 1;
+                        long[] grownKeys = new long[capacity];
+                        int[] grownIds = new int[capacity];
+                        Arrays.fill(grownIds, EMPTY);
+                        rehash(keys, ids, grownKeys, grownIds);
+                        keys = grownKeys;
+                        ids = grownIds;
+                    }
+                }
+                if (lastRow[id] != row) {
+                    lastRow[id] = row;
+                    counts[id]++;
+                }
+            }
+        }
+
+        int[] offsets = new int[distinct + 1];
+        for (int id = 0; id < distinct; id++) {
+            offsets[id + 1] = offsets[id] + counts[id];
+        }
+
+        // Second pass: rows are visited in order, so every posting list comes out sorted.
+        int[] postings = new int[offsets[distinct]];
+        int[] next = Arrays.copyOf(offsets, distinct);
+        Arrays.fill(lastRow, 0, distinct, EMPTY);
+        for (int row = 0; row < names.size(); row++) {
+            int length = names.length(row);
+            for (int i = 0; i + 3 <= length; i++) {
+                int id = lookup(keys, ids, gram(names, row, i));
+                if (lastRow[id] != row) {
+                    lastRow[id] = row;
+                    postings[next[id]++] = row;
+                }
+            }
+        }
+        return new EmployeeNameIndex(names, keys, ids, offsets, postings);
+    }
+
+    /**
+     * @param query normalized search string
+     * @return rows whose normalized name contains the query, in row order
+     */
+    public int[] search(String query) {
+        if (query.length() < 3) {
+            return scan(query);
+        }
+
+        int grams = query.length() - 2;
+        int[] gramIdsOfQuery = new int[grams];
+        int shortest = 0;
+        for (int i = 0; i < grams; i++) {
+            int id = lookup(gramKeys, gramIds, gram(query, i));
+            if (id == EMPTY) {
+                return new int[0];
+            }
+            gramIdsOfQuery[i] = id;
+            if (postingSize(id) < postingSize(gramIdsOfQuery[shortest])) {
+                shortest = i;
+            }
+        }
+
+        int shortestId = gramIdsOfQuery[shortest];
+        int[] candidates = Arrays.copyOfRange(postings, offsets[shortestId], offsets[shortestId + 1]);
+        int size = candidates.length;
+        for (int i = 0; i < grams && size > 0; i++) {
+            if (i != shortest) {
+                size = retain(candidates, size, gramIdsOfQuery[i]);
+            }
+        }
+
+        int matches = 0;
+        for (int i = 0; i < size; i++) {
+            int row = candidates[i];
+            if (names.contains(row, query)) {
+                candidates[matches++] = row;
+            }
+        }
+        return Arrays.copyOf(candidates, matches);
+    }
+
+    private int[] scan(String query) {
+        int[] rows = new int[names.size()];
+        int matches = 0;
+        for (int row = 0; row < rows.length; row++) {
+            if (names.contains(row, query)) {
+                rows[matches++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, matches);
+    }
+
+    /**
+     * Keeps the candidates that also appear in the posting list of the given trigram.
+     * Both are sorted, so this is a single merge pass.
+     */
+    private int retain(int[] candidates, int size, int id) {
+        int position = offsets[id];
+        int end = offsets[id + 1];
+        int kept = 0;
+        for (int i = 0; i < size && position < end; i++) {
+            int row = candidates[i];
+            while (position < end && postings[position] < row) {
+                position++;
+            }
+            if (position < end && postings[position] == row) {
+                candidates[kept++] = row;
+            }
+        }
+        return kept;
+    }
+
+    private int postingSize(int id) {
+        return offsets[id + 1] - offsets[id];
+    }
+
+    private static long gram(String name, int index) {
+        return ((long) name.charAt(index) << 32) | ((long) name.charAt(index + 1) << 16) | name.charAt(index + 2);
+    }
+
+    private static long gram(CharPool names, int row, int index) {
+        return ((long) names.charAt(row, index) << 32) | ((long) names.charAt(row, index + 1) << 16) | names.charAt(row, index + 2);
+    }
+
+    private static int lookup(long[] keys, int[] ids, long gram) {
+        int mask = keys.length - 1;
+        int slot = slot(gram, mask);
+        while (ids[slot] != EMPTY) {
+            if (keys[slot] == gram) {
+                return ids[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return EMPTY;
+    }
+
+    private static void rehash(long[] keys, int[] ids, long[] grownKeys, int[] grownIds) {
+        int mask = grownKeys.length - 1;
+        for (int i = 0; i < keys.length; i++) {
+            if (ids[i] != EMPTY) {
+                int slot = slot(keys[i], mask);
+                while (grownIds[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                grownKeys[slot] = keys[i];
+                grownIds[slot] = ids[i];
+            }
+        }
+    }
+
+    private static int slot(long gram, int mask) {
+        long h = gram * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & mask;
+    }
+}
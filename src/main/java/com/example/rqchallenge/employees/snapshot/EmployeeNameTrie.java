@@ -0,0 +1,236 @@
+package com.example.rqchallenge.employees.snapshot;
+
+import java.util.Arrays;
+
+/**
+ * Compact radix trie over pre-normalized employee names, used for prefix (type-ahead) search.
+ * <p>
+ * Rows are sorted by name once per snapshot, so the rows below any trie node form one contiguous
+ * range of that order. Nodes only store array indexes: the edge label is read from the name of the
+ * first row in the range, children of a node are adjacent and ordered by their first character.
+ * A lookup walks at most the prefix length and does not allocate; the caller reads the matching
+ * rows straight from the sorted order.
+ */
+public final class EmployeeNameTrie {
+
+    public static final int NO_MATCH = -1;
+
+    private static final int ROOT = 0;
+
+    private final CharPool names;
+
+    private final int[] sortedRows;
+
+    private int[] labelStart;
+
+    private int[] labelEnd;
+
+    private int[] rangeStart;
+
+    private int[] rangeEnd;
+
+    private int[] firstChild;
+
+    private int[] childCount;
+
+    private char[] firstChar;
+
+    private int nodeCount;
+
+    private EmployeeNameTrie(CharPool names, int[] sortedRows) {
+        this.names = names;
+        this.sortedRows = sortedRows;
+        int capacity = Math.max(1, sortedRows.length * 2);
+        this.labelStart = new int[capacity];
+        this.labelEnd = new int[capacity];
+        this.rangeStart = new int[capacity];
+        this.rangeEnd = new int[capacity];
+        this.firstChild = new int[capacity];
+        this.childCount = new int[capacity];
+        this.firstChar = new char[capacity];
+    }
+
+    /**
+     * @param names normalized names
+     * @return EmployeeNameTrie
+     */
+    public static EmployeeNameTrie build(CharPool names) {
+        EmployeeNameTrie trie = new EmployeeNameTrie(names, sortRowsByName(names));
+        trie.allocate(1);
+        trie.fill(ROOT, 0, names.size(), 0);
+        return trie;
+    }
+
+    /**
+     * @param prefix normalized prefix
+     * @return node whose range holds every row starting with the prefix, or {@link #NO_MATCH}
+     */
+    public int find(String prefix) {
+        int node = ROOT;
+        int position = 0;
+        while (true) {
+            if (rangeStart[node] == rangeEnd[node]) {
+                return NO_MATCH;
+            }
+            int labelRow = sortedRows[rangeStart[node]];
+            for (int depth = labelStart[node]; depth < labelEnd[node]; depth++) {
+                if (position == prefix.length()) {
+                    return node;
+                }
+                if (names.charAt(labelRow, depth) != prefix.charAt(position)) {
+                    return NO_MATCH;
+                }
+                position++;
+            }
+            if (position == prefix.length()) {
+                return node;
+            }
+            node = child(node, prefix.charAt(position));
+            if (node == NO_MATCH) {
+                return NO_MATCH;
+            }
+        }
+    }
+
+    /**
+     * @param node
+     * @return first position in name order covered by the node
+     */
+    public int rangeStart(int node) {
+        return rangeStart[node];
+    }
+
+    /**
+     * @param node
+     * @return position after the last one covered by the node
+     */
+    public int rangeEnd(int node) {
+        return rangeEnd[node];
+    }
+
+    /**
+     * @param position position in name order
+     * @return row at the given position
+     */
+    public int rowAt(int position) {
+        return sortedRows[position];
+    }
+
+    private int child(int node, char c) {
+        int low = firstChild[node];
+        int high = low + childCount[node] - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (firstChar[middle] < c) {
+                low = middle + 1;
+            } else if (firstChar[middle] > c) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return NO_MATCH;
+    }
+
+    /**
+     * Fills an allocated node covering sorted positions [from, to) whose label starts at depth,
+     * then allocates its children as one adjacent block and fills them.
+     */
+    private void fill(int node, int from, int to, int depth) {
+        labelStart[node] = depth;
+        rangeStart[node] = from;
+        rangeEnd[node] = to;
+        if (from == to) {
+            labelEnd[node] = depth;
+            return;
+        }
+
+        // Names are sorted, so the common prefix of the whole range is the one of its first and last name.
+        int first = sortedRows[from];
+        int last = sortedRows[to - 1];
+        int end = depth;
+        while (end < names.length(first) && end < names.length(last) && names.charAt(first, end) == names.charAt(last, end)) {
+            end++;
+        }
+        labelEnd[node] = end;
+
+        // Names ending at this node sort before the longer ones.
+        int start = from;
+        while (start < to && names.length(sortedRows[start]) == end) {
+            start++;
+        }
+        int groups = 0;
+        for (int position = start; position < to; position++) {
+            if (position == start || charAt(position, end) != charAt(position - 1, end)) {
+                groups++;
+            }
+        }
+
+        int children = allocate(groups);
+        firstChild[node] = children;
+        childCount[node] = groups;
+        int child = children;
+        int groupStart = start;
+        for (int position = start + 1; position <= to; position++) {
+            if (position == to || charAt(position, end) != charAt(groupStart, end)) {
+                firstChar[child] = charAt(groupStart, end);
+                fill(child++, groupStart, position, end);
+                groupStart = position;
+            }
+        }
+    }
+
+    private char charAt(int position, int depth) {
+        return names.charAt(sortedRows[position], depth);
+    }
+
+    private int allocate(int count) {
+        int first = nodeCount;
+        nodeCount += count;
+        if (nodeCount > labelStart.length) {
+            int capacity = Math.max(nodeCount, labelStart.length * 2);
+            labelStart = Arrays.copyOf(labelStart, capacity);
+            labelEnd = Arrays.copyOf(labelEnd, capacity);
+            rangeStart = Arrays.copyOf(rangeStart, capacity);
+            rangeEnd = Arrays.copyOf(rangeEnd, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            childCount = Arrays.copyOf(childCount, capacity);
+            firstChar = Arrays.copyOf(firstChar, capacity);
+        }
+        return first;
+    }
+
+    /**
+     * Stable bottom-up merge sort of the row numbers by name.
+     */
+    private static int[] sortRowsByName(CharPool names) {
+        int size = names.size();
+        int[] rows = new int[size];
+        for (int row = 0; row < size; row++) {
+            rows[row] = row;
+        }
+        int[] buffer = new int[size];
+        for (int width = 1; width < size; width <<= 1) {
+            for (int from = 0; from < size; from += 2 * width) {
+                int middle = Math.min(from + width, size);
+                int to = Math.min(from + 2 * width, size);
+                int left = from;
+                int right = middle;
+                int target = from;
+                while (left < middle && right < to) {
+                    buffer[target++] = names.compare(rows[right], rows[left]) < 0 ? rows[right++] : rows[left++];
+                }
+                while (left < middle) {
+                    buffer[target++] = rows[left++];
+                }
+                while (right < to) {
+                    buffer[target++] = rows[right++];
+                }
+            }
+            int[] swap = rows;
+            rows = buffer;
+            buffer = swap;
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.rqchallenge.employees.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * JSON bodies of the hot read endpoints, encoded once per {@link EmployeeSnapshot} and then served as is.
+ * A snapshot never changes, so its bodies stay valid until a newer snapshot is read; the bodies of older
+ * snapshots are dropped then. A request still holding an older snapshot gets its body encoded without
+ * evicting the newer one.
+ * <p>
+ * Each body is encoded single-flight: the first request for it encodes, concurrent requests for the same
+ * snapshot wait for that encode instead of repeating it. A gzip variant of a body is compressed the same
+ * way on first request, at the default level since that request pays for it.
+ */
+@Component
+@Slf4j
+public class EmployeeResponseCache {
+
+    public enum Body {
+        ALL_EMPLOYEES, TOP_TEN_NAMES
+    }
+
+    private final ObjectMapper objectMapper;
+
+    private final EmployeeTableJsonWriter employeeTableJsonWriter;
+
+    private final AtomicReference<Encoded> current = new AtomicReference<>();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    @Autowired
+    public EmployeeResponseCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.employeeTableJsonWriter = new EmployeeTableJsonWriter(objectMapper.getFactory());
+    }
+
+    /**
+     * @param snapshot
+     * @param body
+     * @return the JSON body of the snapshot, shared between callers and not to be modified
+     */
+    public byte[] get(EmployeeSnapshot snapshot, Body body) {
+        return get(snapshot, body, false);
+    }
+
+    /**
+     * @param snapshot
+     * @param body
+     * @param gzip true for the gzip compressed body
+     * @return the JSON body of the snapshot, shared between callers and not to be modified
+     */
+    public byte[] get(EmployeeSnapshot snapshot, Body body, boolean gzip) {
+        Encoded encoded = encodedFor(snapshot);
+        if (encoded == null) {
+            misses.incrementAndGet();
+            byte[] bytes = encode(snapshot, body);
+            return gzip ? gzip(bytes) : bytes;
+        }
+        int slot = body.ordinal() * 2 + (gzip ? 1 : 0);
+        while (true) {
+            CompletableFuture<byte[]> existing = encoded.bodies.get(slot);
+            if (existing != null) {
+                hits.incrementAndGet();
+                return await(existing);
+            }
+            CompletableFuture<byte[]> future = new CompletableFuture<>();
+            if (encoded.bodies.compareAndSet(slot, null, future)) {
+                try {
+                    byte[] bytes = gzip ? compress(snapshot, body) : encodeMissing(snapshot, body);
+                    future.complete(bytes);
+                    return bytes;
+                } catch (RuntimeException | Error e) {
+                    // waiting callers fail with this encode, later ones try again
+                    encoded.bodies.compareAndSet(slot, future, null);
+                    future.completeExceptionally(e);
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private byte[] encodeMissing(EmployeeSnapshot snapshot, Body body) {
+        misses.incrementAndGet();
+        byte[] bytes = encode(snapshot, body);
+        log.debug("Encoded {} of employee snapshot version {}, {} bytes", body, snapshot.getVersion(), bytes.length);
+        return bytes;
+    }
+
+    private byte[] compress(EmployeeSnapshot snapshot, Body body) {
+        byte[] bytes = gzip(get(snapshot, body, false));
+        log.debug("Compressed {} of employee snapshot version {}, {} bytes", body, snapshot.getVersion(), bytes.length);
+        return bytes;
+    }
+
+    private static byte[] await(CompletableFuture<byte[]> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @return the entry of the snapshot, replacing the entry of an older one, null when a newer snapshot is cached
+     */
+    private Encoded encodedFor(EmployeeSnapshot snapshot) {
+        while (true) {
+            Encoded encoded = current.get();
+            if (encoded != null && encoded.snapshot == snapshot) {
+                return encoded;
+            }
+            if (encoded != null && encoded.snapshot.getVersion() > snapshot.getVersion()) {
+                return null;
+            }
+            Encoded replacement = new Encoded(snapshot);
+            if (current.compareAndSet(encoded, replacement)) {
+                return replacement;
+            }
+        }
+    }
+
+    private byte[] encode(EmployeeSnapshot snapshot, Body body) {
+        try {
+            switch (body) {
+                case ALL_EMPLOYEES:
+                    ByteArrayOutputStream out = new ByteArrayOutputStream(32 + Math.min(snapshot.size(), 1 << 16) * 96);
+                    employeeTableJsonWriter.writeArray(snapshot, 0, Integer.MAX_VALUE, out);
+                    return out.toByteArray();
+                case TOP_TEN_NAMES:
+                    return objectMapper.writeValueAsBytes(snapshot.getTopNamesBySalary(10));
+                default:
+                    throw new IllegalArgumentException("Unknown body " + body);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(32 + bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out, 8192)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @return reads served from an already encoded body
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return reads that had to encode the body
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private static final class Encoded {
+
+        private final EmployeeSnapshot snapshot;
+
+        private final AtomicReferenceArray<CompletableFuture<byte[]>> bodies = new AtomicReferenceArray<>(Body.values().length * 2);
+
+        private Encoded(EmployeeSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+    }
+}
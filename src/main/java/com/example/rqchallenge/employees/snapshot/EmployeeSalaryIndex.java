@@ -0,0 +1,59 @@
+package com.example.rqchallenge.employees.snapshot;
+
+import java.util.Arrays;
+
+/**
+ * Rows of a snapshot ordered by salary, highest first. Rows with the same salary keep
+ * their original order, matching the stable sort the service used before.
+ * <p>
+ * Every row is ranked once per snapshot, O(n log n) like the name trie, so any top k is a copy of a prefix.
+ */
+public final class EmployeeSalaryIndex {
+
+    private final int[] salaries;
+
+    private final int[] rowsBySalary;
+
+    private EmployeeSalaryIndex(int[] salaries, int[] rowsBySalary) {
+        this.salaries = salaries;
+        this.rowsBySalary = rowsBySalary;
+    }
+
+    /**
+     * Sorts one long per row, the complemented salary in the high half puts higher salaries first
+     * and the row in the low half breaks ties in row order, without boxing.
+     * @param salaries salary per row, not copied
+     * @return EmployeeSalaryIndex
+     */
+    public static EmployeeSalaryIndex build(int[] salaries) {
+        long[] keys = new long[salaries.length];
+        for (int row = 0; row < salaries.length; row++) {
+            keys[row] = (long) ~salaries[row] << 32 | row;
+        }
+        Arrays.sort(keys);
+        int[] rowsBySalary = new int[keys.length];
+        for (int rank = 0; rank < keys.length; rank++) {
+            rowsBySalary[rank] = (int) keys[rank];
+        }
+        return new EmployeeSalaryIndex(salaries, rowsBySalary);
+    }
+
+    public boolean isEmpty() {
+        return rowsBySalary.length == 0;
+    }
+
+    /**
+     * @return highest salary, callers check {@link #isEmpty()} first
+     */
+    public int maxSalary() {
+        return salaries[rowsBySalary[0]];
+    }
+
+    /**
+     * @param k
+     * @return rows of the k highest salaries, highest first
+     */
+    public int[] top(int k) {
+        return Arrays.copyOf(rowsBySalary, Math.min(k, rowsBySalary.length));
+    }
+}
@@ -0,0 +1,568 @@
+package com.example.rqchallenge.employees.snapshot;
+
+import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.helper.TopKSelector;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.LongSupplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Immutable, versioned view of the employee list.
+ * A new instance is published by {@link EmployeeSnapshotCache} on every successful refresh,
+ * readers never observe a partially built snapshot.
+ * <p>
+ * Rows are held in an {@link EmployeeTable}; lookups, aggregates and filters run on its columns
+ * and only the returned rows are materialized as {@link Employee} objects.
+ * <p>
+ * Creates, deletes and the differences found by a refresh are applied as an {@link EmployeeDelta} on top
+ * of the table: the new version shares the table and its indexes with the previous one, queries skip removed
+ * rows and merge in the added employees. Once the delta grows past {@link #MAX_DELTA_SIZE} changes it is
+ * compacted into a new table.
+ */
+@Getter
+public class EmployeeSnapshot {
+
+    /**
+     * Largest delta kept as an overlay, queries scan the added employees linearly.
+     */
+    public static final int MAX_DELTA_SIZE = 1024;
+
+    private final long version;
+
+    private final Instant loadedAt;
+
+    private final EmployeeTable table;
+
+    @Getter(AccessLevel.NONE)
+    private final EmployeeIdIndex idIndex;
+
+    @Getter(AccessLevel.NONE)
+    private final EmployeeSalaryIndex salaryIndex;
+
+    @Getter(AccessLevel.NONE)
+    private final EmployeeNameIndex nameIndex;
+
+    @Getter(AccessLevel.NONE)
+    private final EmployeeNameTrie nameTrie;
+
+    @Getter(AccessLevel.NONE)
+    private final EmployeeDelta delta;
+
+    /**
+     * Base rows that are not removed, computed on first positional access.
+     */
+    @Getter(AccessLevel.NONE)
+    private volatile int[] liveRows;
+
+    public EmployeeSnapshot(long version, Instant loadedAt, List<Employee> employees) {
+        this(version, loadedAt, EmployeeTable.of(employees == null ? Collections.emptyList() : employees));
+    }
+
+    public EmployeeSnapshot(long version, Instant loadedAt, EmployeeTable table) {
+        this.version = version;
+        this.loadedAt = loadedAt;
+        this.table = table;
+        this.idIndex = EmployeeIdIndex.build(table.numericIds());
+        this.salaryIndex = EmployeeSalaryIndex.build(table.salaries());
+        this.nameIndex = EmployeeNameIndex.build(table.normalizedNames());
+        this.nameTrie = EmployeeNameTrie.build(table.normalizedNames());
+        this.delta = EmployeeDelta.EMPTY;
+    }
+
+    private EmployeeSnapshot(EmployeeSnapshot base, long version, Instant loadedAt, EmployeeDelta delta) {
+        this.version = version;
+        this.loadedAt = loadedAt;
+        this.table = base.table;
+        this.idIndex = base.idIndex;
+        this.salaryIndex = base.salaryIndex;
+        this.nameIndex = base.nameIndex;
+        this.nameTrie = base.nameTrie;
+        this.delta = delta;
+    }
+
+    /**
+     * Name normalization shared by the index and the queries, the same lower casing
+     * the substring search always applied.
+     * @param name
+     * @return normalized name
+     */
+    public static String normalizeName(String name) {
+        return name == null ? "" : name.toLowerCase();
+    }
+
+    /**
+     * Returns a new version containing the employee, an employee with the same id is replaced.
+     * @param version
+     * @param employee
+     * @return EmployeeSnapshot
+     */
+    public EmployeeSnapshot withEmployee(long version, Employee employee) {
+        return withDelta(version, remove(delta, employee.getId()).add(employee));
+    }
+
+    /**
+     * Returns a new version without the employee with the id.
+     * @param version
+     * @param id
+     * @return EmployeeSnapshot, this snapshot when no employee has the id
+     */
+    public EmployeeSnapshot withoutEmployee(long version, String id) {
+        EmployeeDelta removed = remove(delta, id);
+        return removed == delta ? this : withDelta(version, removed);
+    }
+
+    /**
+     * Returns a new version without the employees with the ids, removed in one step.
+     * @param version
+     * @param ids
+     * @return EmployeeSnapshot, this snapshot when no employee has any of the ids
+     */
+    public EmployeeSnapshot withoutEmployees(long version, Collection<String> ids) {
+        EmployeeDelta changed = delta;
+        BitSet rows = new BitSet(table.size());
+        for (String id : ids) {
+            int addedIndex = changed.indexOfAdded(id);
+            if (addedIndex >= 0) {
+                changed = changed.removeAdded(addedIndex);
+                continue;
+            }
+            int row = baseRowOf(id);
+            if (row >= 0) {
+                rows.set(row);
+            }
+        }
+        changed = rows.isEmpty() ? changed : changed.removeRows(rows);
+        return changed == delta ? this : withDelta(version, changed);
+    }
+
+    private EmployeeDelta remove(EmployeeDelta from, String id) {
+        int addedIndex = from.indexOfAdded(id);
+        if (addedIndex >= 0) {
+            return from.removeAdded(addedIndex);
+        }
+        int row = baseRowOf(id);
+        return row < 0 ? from : from.removeRow(row);
+    }
+
+    private EmployeeSnapshot withDelta(long version, EmployeeDelta changed) {
+        if (changed.size() <= MAX_DELTA_SIZE) {
+            return new EmployeeSnapshot(this, version, loadedAt, changed);
+        }
+        EmployeeSnapshot changedSnapshot = new EmployeeSnapshot(this, version, loadedAt, changed);
+        EmployeeTable.Builder builder = new EmployeeTable.Builder(changedSnapshot.size(),
+                table.names().chars().length, table.profileImages().chars().length);
+        for (int position = 0; position < changedSnapshot.size(); position++) {
+            int row = changedSnapshot.baseRowAt(position);
+            if (row >= 0) {
+                builder.add(table.id(row), table.names().get(row), table.salary(row), table.age(row), table.profileImages().get(row));
+            } else {
+                builder.add(changedSnapshot.employeeAt(position));
+            }
+        }
+        return new EmployeeSnapshot(version, loadedAt, builder.build());
+    }
+
+    /**
+     * Returns a new version holding the employees of a refreshed upstream list. The list is diffed by id
+     * against this snapshot and the differences are added to the delta, so the table and its indexes are
+     * shared and only changed employees are indexed. Changed employees move to the end of the snapshot order.
+     * The list is rebuilt into a new table when the delta would grow past {@link #MAX_DELTA_SIZE} or when
+     * irregular or repeated ids cannot be matched through the id index. A list holding exactly the employees
+     * of this snapshot returns this snapshot, so an unchanged refresh publishes no new version.
+     * @param nextVersion called for the version of the new snapshot, only when one is built
+     * @param loadedAt
+     * @param employees upstream list
+     * @return EmployeeSnapshot
+     */
+    public EmployeeSnapshot reconcile(LongSupplier nextVersion, Instant loadedAt, List<Employee> employees) {
+        EmployeeDelta changed = employees == null ? null : diff(employees);
+        if (changed == delta) {
+            return this;
+        }
+        return changed == null ? new EmployeeSnapshot(nextVersion.getAsLong(), loadedAt, employees)
+                : new EmployeeSnapshot(this, nextVersion.getAsLong(), loadedAt, changed);
+    }
+
+    /**
+     * Walks the list once, comparing each employee with the live row of the same id in place.
+     * @return delta turning the table into the list, the current delta when the list holds the same employees,
+     * null when the list has to be rebuilt
+     */
+    private EmployeeDelta diff(List<Employee> employees) {
+        if (table.hasIrregularIds()) {
+            return null;
+        }
+        Map<Long, Integer> addedIndexes = new HashMap<>();
+        for (int i = 0; i < delta.addedCount(); i++) {
+            long id = EmployeeIdIndex.parseId(delta.added(i).getId());
+            if (id < 0) {
+                return null;
+            }
+            addedIndexes.put(id, i);
+        }
+
+        BitSet seenRows = new BitSet(table.size());
+        boolean[] seenAdded = new boolean[delta.addedCount()];
+        boolean[] keptAdded = new boolean[delta.addedCount()];
+        BitSet removed = (BitSet) delta.removedRows().clone();
+        Set<Long> changedIds = new HashSet<>();
+        List<Employee> changed = new ArrayList<>();
+        for (Employee employee : employees) {
+            long id = employee == null ? -1 : EmployeeIdIndex.parseId(employee.getId());
+            if (id < 0) {
+                return null;
+            }
+            Integer addedIndex = addedIndexes.get(id);
+            int row = addedIndex != null ? EmployeeIdIndex.NOT_FOUND : idIndex.rowOf(id);
+            if (addedIndex != null) {
+                if (seenAdded[addedIndex]) {
+                    return null;
+                }
+                seenAdded[addedIndex] = true;
+                keptAdded[addedIndex] = employee.equals(delta.added(addedIndex));
+                if (keptAdded[addedIndex]) {
+                    continue;
+                }
+            } else if (row != EmployeeIdIndex.NOT_FOUND && !delta.isRemoved(row)) {
+                if (seenRows.get(row)) {
+                    return null;
+                }
+                seenRows.set(row);
+                if (sameAsRow(row, employee)) {
+                    continue;
+                }
+                removed.set(row);
+            }
+            if (!changedIds.add(id) || changed.size() == MAX_DELTA_SIZE) {
+                return null;
+            }
+            changed.add(employee);
+        }
+
+        seenRows.flip(0, table.size());
+        removed.or(seenRows);
+        if (changed.isEmpty() && removed.equals(delta.removedRows()) && allSet(keptAdded)) {
+            return delta;
+        }
+        List<Employee> added = new ArrayList<>();
+        for (int i = 0; i < keptAdded.length; i++) {
+            if (keptAdded[i]) {
+                added.add(delta.added(i));
+            }
+        }
+        added.addAll(changed);
+        EmployeeDelta reconciled = EmployeeDelta.of(removed, added);
+        return reconciled.size() <= MAX_DELTA_SIZE ? reconciled : null;
+    }
+
+    private static boolean allSet(boolean[] values) {
+        for (boolean value : values) {
+            if (!value) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean sameAsRow(int row, Employee employee) {
+        return table.salary(row) == employee.getEmployeeSalary() && table.age(row) == employee.getEmployeeAge()
+                && table.names().matches(row, employee.getEmployeeName())
+                && table.profileImages().matches(row, employee.getProfileImage());
+    }
+
+    /**
+     * @return number of employees in the snapshot
+     */
+    public int size() {
+        return table.size() - delta.removedCount() + delta.addedCount();
+    }
+
+    /**
+     * @return read-only list of all employees, each row is materialized when accessed
+     */
+    public List<Employee> getEmployees() {
+        return delta.isEmpty() ? table.asList() : new PositionList(this);
+    }
+
+    /**
+     * Looks up an employee by id through the id index. Ids that are not canonical numbers
+     * cannot be in the index and are matched against the irregular ids with the same rules.
+     * @param id
+     * @return Optional of Employee
+     */
+    public Optional<Employee> findById(String id) {
+        int addedIndex = delta.indexOfAdded(id);
+        if (addedIndex >= 0) {
+            return Optional.of(delta.added(addedIndex));
+        }
+        int row = baseRowOf(id);
+        return row < 0 ? Optional.empty() : Optional.of(table.employee(row));
+    }
+
+    /**
+     * @param id
+     * @return live base row with the id, or -1
+     */
+    private int baseRowOf(String id) {
+        long numericId = EmployeeIdIndex.parseId(id);
+        if (numericId < 0) {
+            if (id == null || !table.hasIrregularIds()) {
+                return -1;
+            }
+            for (int row = 0; row < table.size(); row++) {
+                if (table.numericId(row) < 0 && id.equalsIgnoreCase(table.id(row)) && !delta.isRemoved(row)) {
+                    return row;
+                }
+            }
+            return -1;
+        }
+        int row = idIndex.rowOf(numericId);
+        return row == EmployeeIdIndex.NOT_FOUND || delta.isRemoved(row) ? -1 : row;
+    }
+
+    /**
+     * Case-insensitive substring search on the employee name, served from the trigram index.
+     * @param searchString
+     * @return list of Employee object in snapshot order
+     */
+    public List<Employee> searchByName(String searchString) {
+        String query = normalizeName(searchString);
+        List<Employee> matches = rows(nameIndex.search(query));
+        for (int i = 0; i < delta.addedCount(); i++) {
+            Employee employee = delta.added(i);
+            if (normalizeName(employee.getEmployeeName()).contains(query)) {
+                matches.add(employee);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Case-insensitive prefix search on the employee name, served from the name trie.
+     * @param prefix
+     * @param limit maximum number of employees returned
+     * @return list of Employee object ordered by name
+     */
+    public List<Employee> searchByPrefix(String prefix, int limit) {
+        String normalizedPrefix = normalizeName(prefix);
+        List<Employee> matches = new ArrayList<>();
+        int node = nameTrie.find(normalizedPrefix);
+        int position = node == EmployeeNameTrie.NO_MATCH ? 0 : nameTrie.rangeStart(node);
+        int end = node == EmployeeNameTrie.NO_MATCH ? 0 : nameTrie.rangeEnd(node);
+        if (delta.isEmpty()) {
+            for (; position < end && matches.size() < limit; position++) {
+                matches.add(table.employee(nameTrie.rowAt(position)));
+            }
+            return matches;
+        }
+
+        List<Employee> added = new ArrayList<>();
+        for (int i = 0; i < delta.addedCount(); i++) {
+            Employee employee = delta.added(i);
+            if (normalizeName(employee.getEmployeeName()).startsWith(normalizedPrefix)) {
+                added.add(employee);
+            }
+        }
+        added.sort(Comparator.comparing(employee -> normalizeName(employee.getEmployeeName())));
+
+        int next = 0;
+        while (matches.size() < limit) {
+            while (position < end && delta.isRemoved(nameTrie.rowAt(position))) {
+                position++;
+            }
+            boolean hasBase = position < end;
+            boolean hasAdded = next < added.size();
+            if (!hasBase && !hasAdded) {
+                break;
+            }
+            if (hasBase && (!hasAdded || table.normalizedNames().get(nameTrie.rowAt(position))
+                    .compareTo(normalizeName(added.get(next).getEmployeeName())) <= 0)) {
+                matches.add(table.employee(nameTrie.rowAt(position++)));
+            } else {
+                matches.add(added.get(next++));
+            }
+        }
+        return matches;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @return highest salary, empty when the snapshot has no employees
+     */
+    public OptionalInt getHighestSalary() {
+        if (delta.isEmpty()) {
+            return salaryIndex.isEmpty() ? OptionalInt.empty() : OptionalInt.of(salaryIndex.maxSalary());
+        }
+        List<Employee> top = getTopBySalary(1);
+        return top.isEmpty() ? OptionalInt.empty() : OptionalInt.of(top.get(0).getEmployeeSalary());
+    }
+
+    /**
+     * Returns the k best paid employees, highest salary first.
+     * @param k
+     * @return list of Employee object
+     */
+    public List<Employee> getTopBySalary(int k) {
+        if (delta.isEmpty()) {
+            return rows(salaryIndex.top(k));
+        }
+        return top(salaryIndex.top(withRemoved(k)), table.salaries(), Employee::getEmployeeSalary, k);
+    }
+
+    /**
+     * Returns the names of the k best paid employees, highest salary first, without materializing the employees.
+     * @param k
+     * @return list of names
+     */
+    public List<String> getTopNamesBySalary(int k) {
+        List<String> names = new ArrayList<>();
+        if (!delta.isEmpty()) {
+            for (Employee employee : getTopBySalary(k)) {
+                names.add(employee.getEmployeeName());
+            }
+            return names;
+        }
+        for (int row : salaryIndex.top(k)) {
+            names.add(table.names().get(row));
+        }
+        return names;
+    }
+
+    /**
+     * Returns the k oldest employees, oldest first. There is no precomputed age order,
+     * the rows are selected from the age column with a bounded heap.
+     * @param k
+     * @return list of Employee object
+     */
+    public List<Employee> getTopByAge(int k) {
+        if (delta.isEmpty()) {
+            return rows(TopKSelector.select(table.ages(), k));
+        }
+        return top(TopKSelector.select(table.ages(), withRemoved(k)), table.ages(), Employee::getEmployeeAge, k);
+    }
+
+    private int withRemoved(int k) {
+        return (int) Math.min(Integer.MAX_VALUE, (long) k + delta.removedCount());
+    }
+
+    /**
+     * Merges the best base rows with the added employees, base rows first on equal keys as in snapshot order.
+     * @param candidates base rows ordered by key, enough to hold k live rows
+     */
+    private List<Employee> top(int[] candidates, int[] column, ToIntFunction<Employee> key, int k) {
+        List<Employee> added = new ArrayList<>(delta.addedCount());
+        for (int i = 0; i < delta.addedCount(); i++) {
+            added.add(delta.added(i));
+        }
+        added.sort(Comparator.comparingInt(key).reversed());
+
+        List<Employee> top = new ArrayList<>();
+        int candidate = 0;
+        int next = 0;
+        while (top.size() < k) {
+            while (candidate < candidates.length && delta.isRemoved(candidates[candidate])) {
+                candidate++;
+            }
+            boolean hasBase = candidate < candidates.length;
+            boolean hasAdded = next < added.size();
+            if (!hasBase && !hasAdded) {
+                break;
+            }
+            if (hasBase && (!hasAdded || column[candidates[candidate]] >= key.applyAsInt(added.get(next)))) {
+                top.add(table.employee(candidates[candidate++]));
+            } else {
+                top.add(added.get(next++));
+            }
+        }
+        return top;
+    }
+
+    /**
+     * @param position index in snapshot order, live base rows first and then the added employees
+     * @return base row at the position, -1 when the position holds an added employee
+     */
+    int baseRowAt(int position) {
+        if (delta.removedCount() == 0) {
+            return position < table.size() ? position : -1;
+        }
+        int[] live = liveRows();
+        return position < live.length ? live[position] : -1;
+    }
+
+    /**
+     * @param position index in snapshot order
+     * @return Employee at the position
+     */
+    Employee employeeAt(int position) {
+        int row = baseRowAt(position);
+        return row >= 0 ? table.employee(row) : delta.added(position - (table.size() - delta.removedCount()));
+    }
+
+    private int[] liveRows() {
+        int[] live = liveRows;
+        if (live == null) {
+            live = new int[table.size() - delta.removedCount()];
+            int count = 0;
+            for (int row = delta.removedRows().nextClearBit(0); row < table.size(); row = delta.removedRows().nextClearBit(row + 1)) {
+                live[count++] = row;
+            }
+            liveRows = live;
+        }
+        return live;
+    }
+
+    /**
+     * Materializes base rows, skipping removed ones.
+     */
+    private List<Employee> rows(int[] rows) {
+        List<Employee> selected = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            if (!delta.isRemoved(row)) {
+                selected.add(table.employee(row));
+            }
+        }
+        return selected;
+    }
+
+    private static final class PositionList extends AbstractList<Employee> implements RandomAccess {
+
+        private final EmployeeSnapshot snapshot;
+
+        private PositionList(EmployeeSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public Employee get(int index) {
+            if (index < 0 || index >= snapshot.size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + snapshot.size());
+            }
+            return snapshot.employeeAt(index);
+        }
+
+        @Override
+        public int size() {
+            return snapshot.size();
+        }
+    }
+}
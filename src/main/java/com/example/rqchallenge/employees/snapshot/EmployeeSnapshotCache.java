@@ -0,0 +1,299 @@
+package com.example.rqchallenge.employees.snapshot;
+
+import com.example.rqchallenge.employees.client.EmployeeClient;
+import com.example.rqchallenge.employees.dto.Employee;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory cache of the employee list in front of {@link EmployeeClient#fetchAllEmployees()}.
+ * <p>
+ * Reads are served from the current {@link EmployeeSnapshot}. Once the snapshot is older than the
+ * configured TTL the next read triggers a background refresh and keeps serving the stale snapshot
+ * until the new one is published (stale-while-revalidate). A refresh is reconciled with the current snapshot
+ * by id, so unchanged employees keep their table and indexes and only the differences are indexed. Loads are single-flight, so the upstream
+ * is called at most once per refresh interval regardless of the number of concurrent readers. When the client returns the very
+ * list of the previous load, because the upstream reported it unchanged, and nothing was applied since, the current snapshot
+ * is kept as is. A reloaded list holding the same employees as the current snapshot keeps it as well, versions and
+ * entity tags only change with the employees.
+ * <p>
+ * Local creates and deletes are applied to the current snapshot as deltas. They are also kept in a
+ * journal and replayed onto a snapshot whose load started before them, so a refresh that was already
+ * in flight cannot drop a change; the next refresh starting afterwards reconciles with the upstream.
+ */
+@Component
+@Slf4j
+public class EmployeeSnapshotCache {
+
+    private final EmployeeClient employeeClient;
+
+    private final long ttlMillis;
+
+    private final Executor refreshExecutor;
+
+    private final AtomicReference<EmployeeSnapshot> current = new AtomicReference<>();
+
+    private final AtomicReference<CompletableFuture<EmployeeSnapshot>> inFlight = new AtomicReference<>();
+
+    private final AtomicLong nextRefreshAt = new AtomicLong();
+
+    private final AtomicLong versions = new AtomicLong();
+
+    private final AtomicLong mutations = new AtomicLong();
+
+    private final Queue<Mutation> journal = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Qualifies snapshot versions in entity tags, versions are counted again from one after a restart.
+     */
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    /**
+     * Employee list of the last load and the snapshot it published, only written by the single-flight load.
+     */
+    private volatile List<Employee> loadedEmployees;
+
+    private volatile EmployeeSnapshot loadedSnapshot;
+
+    @Autowired
+    public EmployeeSnapshotCache(EmployeeClient employeeClient,
+                                 @Value("${employee.snapshot.ttl-ms:30000}") long ttlMillis) {
+        this(employeeClient, ttlMillis, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-snapshot-refresh");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    public EmployeeSnapshotCache(EmployeeClient employeeClient, long ttlMillis, Executor refreshExecutor) {
+        this.employeeClient = employeeClient;
+        this.ttlMillis = ttlMillis;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    /**
+     * Returns the current snapshot. Blocks only when nothing has been loaded yet,
+     * an expired snapshot is returned as is while a refresh runs in the background.
+     * @return EmployeeSnapshot
+     */
+    public EmployeeSnapshot get() {
+        return getAsync().join();
+    }
+
+    /**
+     * Non-blocking variant of {@link #get()}. The future is already completed unless nothing
+     * has been loaded yet, in which case it completes with the first load.
+     * @return future of the current EmployeeSnapshot
+     */
+    public CompletableFuture<EmployeeSnapshot> getAsync() {
+        EmployeeSnapshot snapshot = current.get();
+        if (snapshot == null) {
+            return firstLoad();
+        }
+
+        long now = System.currentTimeMillis();
+        long refreshAt = nextRefreshAt.get();
+        if (now >= refreshAt && nextRefreshAt.compareAndSet(refreshAt, now + ttlMillis)) {
+            log.debug("Employee snapshot version {} expired, refreshing in background", snapshot.getVersion());
+            refresh();
+        }
+        return CompletableFuture.completedFuture(snapshot);
+    }
+
+    /**
+     * @return the current snapshot without triggering a load or refresh, null before the first load
+     */
+    public EmployeeSnapshot peek() {
+        return current.get();
+    }
+
+    /**
+     * Strong entity tag of a snapshot. It changes with every version and never repeats across restarts
+     * or instances, so equal tags mean equal employees.
+     * @param snapshot
+     * @return quoted entity tag
+     */
+    public String etagOf(EmployeeSnapshot snapshot) {
+        return "\"" + epoch + "-" + snapshot.getVersion() + "\"";
+    }
+
+    /**
+     * Joins the running load or starts the first one. A load publishes its snapshot before it clears
+     * {@link #inFlight}, so a reader that finds no load running sees the snapshot of one that just
+     * finished instead of starting another.
+     * @return future completed with the current snapshot
+     */
+    private CompletableFuture<EmployeeSnapshot> firstLoad() {
+        while (true) {
+            CompletableFuture<EmployeeSnapshot> running = inFlight.get();
+            if (running != null) {
+                return running;
+            }
+            EmployeeSnapshot snapshot = current.get();
+            if (snapshot != null) {
+                return CompletableFuture.completedFuture(snapshot);
+            }
+
+            CompletableFuture<EmployeeSnapshot> future = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, future)) {
+                refreshExecutor.execute(() -> load(future));
+                return future;
+            }
+        }
+    }
+
+    /**
+     * Starts a refresh unless one is already running, in which case the running one is returned.
+     * @return future completed with the refreshed snapshot
+     */
+    public CompletableFuture<EmployeeSnapshot> refresh() {
+        while (true) {
+            CompletableFuture<EmployeeSnapshot> running = inFlight.get();
+            if (running != null) {
+                return running;
+            }
+
+            CompletableFuture<EmployeeSnapshot> future = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, future)) {
+                refreshExecutor.execute(() -> load(future));
+                return future;
+            }
+        }
+    }
+
+    /**
+     * Applies a created employee to the current snapshot, reads see it immediately.
+     * @param employee
+     */
+    public void applyCreated(Employee employee) {
+        apply(new Mutation(mutations.incrementAndGet(), employee, null));
+    }
+
+    /**
+     * Applies a deleted employee to the current snapshot, reads stop seeing it immediately.
+     * @param id
+     */
+    public void applyDeleted(String id) {
+        applyDeleted(Collections.singletonList(id));
+    }
+
+    /**
+     * Applies deleted employees to the current snapshot as one new version.
+     * @param ids
+     */
+    public void applyDeleted(Collection<String> ids) {
+        if (!ids.isEmpty()) {
+            apply(new Mutation(mutations.incrementAndGet(), null, new ArrayList<>(ids)));
+        }
+    }
+
+    private void apply(Mutation mutation) {
+        journal.add(mutation);
+        while (true) {
+            EmployeeSnapshot snapshot = current.get();
+            if (snapshot == null || current.compareAndSet(snapshot, mutation.applyTo(snapshot, versions.incrementAndGet()))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Marks the current snapshot as expired so the next read triggers a refresh.
+     */
+    public void invalidate() {
+        nextRefreshAt.set(0);
+    }
+
+    private void load(CompletableFuture<EmployeeSnapshot> future) {
+        try {
+            nextRefreshAt.set(System.currentTimeMillis() + ttlMillis);
+            long loadedAfter = mutations.get();
+            List<Employee> employees = employeeClient.fetchAllEmployees();
+            EmployeeSnapshot unchanged = current.get();
+            if (employees != null && employees == loadedEmployees && unchanged == loadedSnapshot) {
+                log.info("Employees unchanged, keeping employee snapshot version {}", unchanged.getVersion());
+                inFlight.set(null);
+                future.complete(unchanged);
+                return;
+            }
+            Instant loadedAt = Instant.now();
+            EmployeeSnapshot previous;
+            EmployeeSnapshot snapshot;
+            do {
+                previous = current.get();
+                EmployeeSnapshot loaded = previous == null
+                        ? new EmployeeSnapshot(versions.incrementAndGet(), loadedAt, employees)
+                        : previous.reconcile(versions::incrementAndGet, loadedAt, employees);
+                // the same employees as the current snapshot, which already holds every applied mutation
+                snapshot = loaded == previous ? previous : replay(loaded, loadedAfter);
+            } while (!current.compareAndSet(previous, snapshot));
+            journal.removeIf(mutation -> mutation.sequence <= loadedAfter);
+            loadedEmployees = employees;
+            loadedSnapshot = snapshot;
+            if (snapshot == previous) {
+                log.info("Employees unchanged, keeping employee snapshot version {}", snapshot.getVersion());
+            } else {
+                log.info("Published employee snapshot version {} with {} employees", snapshot.getVersion(), snapshot.size());
+            }
+            inFlight.set(null);
+            future.complete(snapshot);
+        } catch (Exception e) {
+            log.error("Exception occurred while refreshing employee snapshot", e);
+            inFlight.set(null);
+            future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Applies the journaled mutations made after the load started. The caller publishes with a
+     * compare-and-set against the snapshot read before the replay, a mutation applied meanwhile
+     * makes it fail and replay again.
+     */
+    private EmployeeSnapshot replay(EmployeeSnapshot loaded, long loadedAfter) {
+        EmployeeSnapshot snapshot = loaded;
+        for (Mutation mutation : journal) {
+            if (mutation.sequence > loadedAfter) {
+                snapshot = mutation.applyTo(snapshot, versions.incrementAndGet());
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * A local create or delete. Applying one twice leaves the same employees, so a replay
+     * racing with {@link #apply(Mutation)} is harmless.
+     */
+    private static final class Mutation {
+
+        private final long sequence;
+
+        private final Employee created;
+
+        private final List<String> deletedIds;
+
+        private Mutation(long sequence, Employee created, List<String> deletedIds) {
+            this.sequence = sequence;
+            this.created = created;
+            this.deletedIds = deletedIds;
+        }
+
+        private EmployeeSnapshot applyTo(EmployeeSnapshot snapshot, long version) {
+            return created != null ? snapshot.withEmployee(version, created) : snapshot.withoutEmployees(version, deletedIds);
+        }
+    }
+}
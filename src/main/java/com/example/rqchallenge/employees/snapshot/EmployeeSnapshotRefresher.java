@@ -0,0 +1,85 @@
+package com.example.rqchallenge.employees.snapshot;
+
+import com.example.rqchallenge.employees.dto.RefreshStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coalesces the refreshes requested by create and delete. A mutation only marks the snapshot dirty;
+ * a scheduled check refreshes it once the debounce window, counted from the first mutation since
+ * the last refresh, has passed. Any number of mutations inside the window cost one upstream refetch,
+ * and the window bounds how long a mutation waits for it.
+ */
+@Component
+@Slf4j
+public class EmployeeSnapshotRefresher {
+
+    private final EmployeeSnapshotCache employeeSnapshotCache;
+
+    private final long debounceMillis;
+
+    /**
+     * Time of the first mutation since the last refresh, 0 while the snapshot is clean.
+     */
+    private final AtomicLong dirtySince = new AtomicLong();
+
+    private final AtomicInteger pendingMutations = new AtomicInteger();
+
+    @Autowired
+    public EmployeeSnapshotRefresher(EmployeeSnapshotCache employeeSnapshotCache,
+                                     @Value("${employee.refresh.debounce-ms:60000}") long debounceMillis) {
+        this.employeeSnapshotCache = employeeSnapshotCache;
+        this.debounceMillis = debounceMillis;
+    }
+
+    /**
+     * Records a mutation of the upstream data, the refresh is left to {@link #refreshIfDue()}.
+     */
+    public void markDirty() {
+        pendingMutations.incrementAndGet();
+        dirtySince.compareAndSet(0, System.currentTimeMillis());
+    }
+
+    /**
+     * Refreshes the snapshot once if it is dirty and the debounce window has passed.
+     */
+    @Scheduled(fixedDelayString = "${employee.refresh.poll-ms:1000}")
+    public void refreshIfDue() {
+        long since = dirtySince.get();
+        if (since == 0 || System.currentTimeMillis() - since < debounceMillis || !dirtySince.compareAndSet(since, 0)) {
+            return;
+        }
+
+        int mutations = pendingMutations.getAndSet(0);
+        log.info("Refreshing employee snapshot after {} mutations", mutations);
+        try {
+            employeeSnapshotCache.refresh().join();
+        } catch (Exception e) {
+            log.error("Exception occurred while refreshing employee records", e);
+            pendingMutations.addAndGet(mutations);
+            dirtySince.compareAndSet(0, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * @return pending refresh state and the version and load time of the current snapshot
+     */
+    public RefreshStatus getStatus() {
+        long since = dirtySince.get();
+        EmployeeSnapshot snapshot = employeeSnapshotCache.peek();
+        RefreshStatus status = new RefreshStatus();
+        status.setRefreshPending(since != 0);
+        status.setPendingMutations(pendingMutations.get());
+        status.setDirtySince(since == 0 ? null : since);
+        status.setNextRefreshAt(since == 0 ? null : since + debounceMillis);
+        status.setLastRefreshAt(snapshot == null ? null : snapshot.getLoadedAt().toEpochMilli());
+        status.setSnapshotVersion(snapshot == null ? null : snapshot.getVersion());
+        return status;
+    }
+}
@@ -0,0 +1,277 @@
+package com.example.rqchallenge.employees.snapshot;
+
+import com.example.rqchallenge.employees.dto.Employee;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Columnar (struct-of-arrays) store of employees.
+ * <p>
+ * Numeric ids, salaries and ages are primitive arrays, names and profile images live in shared
+ * {@link CharPool}s. Aggregates and filters read the columns directly, {@link Employee} objects are only
+ * built for the rows that are returned. Ids that are not canonical numbers are kept as strings on the side.
+ */
+public final class EmployeeTable {
+
+    private final int size;
+
+    private final long[] ids;
+
+    private final String[] irregularIds;
+
+    private final int[] salaries;
+
+    private final int[] ages;
+
+    private final CharPool names;
+
+    private final CharPool normalizedNames;
+
+    private final CharPool profileImages;
+
+    private EmployeeTable(int size, long[] ids, String[] irregularIds, int[] salaries, int[] ages,
+                          CharPool names, CharPool normalizedNames, CharPool profileImages) {
+        this.size = size;
+        this.ids = ids;
+        this.irregularIds = irregularIds;
+        this.salaries = salaries;
+        this.ages = ages;
+        this.names = names;
+        this.normalizedNames = normalizedNames;
+        this.profileImages = profileImages;
+    }
+
+    static EmployeeTable of(long[] ids, String[] irregularIds, int[] salaries, int[] ages,
+                            CharPool names, CharPool normalizedNames, CharPool profileImages) {
+        return new EmployeeTable(ids.length, ids, irregularIds, salaries, ages, names, normalizedNames, profileImages);
+    }
+
+    /**
+     * Reuses the table behind a list returned by {@link #asList()}, copies any other list into columns.
+     * @param employees
+     * @return EmployeeTable
+     */
+    public static EmployeeTable of(List<Employee> employees) {
+        if (employees instanceof RowList) {
+            return ((RowList) employees).table();
+        }
+        int nameLength = 0;
+        int profileImageLength = 0;
+        for (Employee employee : employees) {
+            nameLength += length(employee.getEmployeeName());
+            profileImageLength += length(employee.getProfileImage());
+        }
+        Builder builder = new Builder(employees.size(), nameLength, profileImageLength);
+        for (Employee employee : employees) {
+            builder.add(employee);
+        }
+        return builder.build();
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param row
+     * @return numeric id, or -1 when the id of the row is not a canonical number
+     */
+    public long numericId(int row) {
+        return ids[row];
+    }
+
+    public String id(int row) {
+        return ids[row] >= 0 ? Long.toString(ids[row]) : irregularIds[row];
+    }
+
+    public boolean hasIrregularIds() {
+        return irregularIds != null;
+    }
+
+    String[] irregularIds() {
+        return irregularIds;
+    }
+
+    public int salary(int row) {
+        return salaries[row];
+    }
+
+    public int age(int row) {
+        return ages[row];
+    }
+
+    /**
+     * @return salary column, shared and not to be modified
+     */
+    public int[] salaries() {
+        return salaries;
+    }
+
+    /**
+     * @return age column, shared and not to be modified
+     */
+    public int[] ages() {
+        return ages;
+    }
+
+    /**
+     * @return numeric id column, shared and not to be modified
+     */
+    public long[] numericIds() {
+        return ids;
+    }
+
+    public CharPool names() {
+        return names;
+    }
+
+    /**
+     * @return names normalized with {@link EmployeeSnapshot#normalizeName(String)}
+     */
+    public CharPool normalizedNames() {
+        return normalizedNames;
+    }
+
+    public CharPool profileImages() {
+        return profileImages;
+    }
+
+    /**
+     * Materializes one row.
+     * @param row
+     * @return Employee
+     */
+    public Employee employee(int row) {
+        return new Employee(id(row), names.get(row), salaries[row], ages[row], profileImages.get(row));
+    }
+
+    /**
+     * @return read-only list view building employees on access
+     */
+    public List<Employee> asList() {
+        return new RowList(this);
+    }
+
+    /**
+     * @return approximate heap held by the columns in bytes
+     */
+    public long footprint() {
+        long irregular = irregularIds == null ? 0 : 4L * irregularIds.length;
+        return 8L * ids.length + 4L * salaries.length + 4L * ages.length + irregular
+                + names.footprint() + normalizedNames.footprint() + profileImages.footprint();
+    }
+
+    private static final class RowList extends AbstractList<Employee> implements RandomAccess {
+
+        private final EmployeeTable table;
+
+        private RowList(EmployeeTable table) {
+            this.table = table;
+        }
+
+        private EmployeeTable table() {
+            return table;
+        }
+
+        @Override
+        public Employee get(int index) {
+            if (index < 0 || index >= table.size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + table.size);
+            }
+            return table.employee(index);
+        }
+
+        @Override
+        public int size() {
+            return table.size;
+        }
+    }
+
+    public static final class Builder {
+
+        private long[] ids;
+
+        private String[] irregularIds;
+
+        private int[] salaries;
+
+        private int[] ages;
+
+        private final CharPool.Builder names;
+
+        private final CharPool.Builder normalizedNames;
+
+        private final CharPool.Builder profileImages;
+
+        private int size;
+
+        public Builder(int expectedSize) {
+            this(expectedSize, 16, 16);
+        }
+
+        /**
+         * @param expectedSize number of rows
+         * @param nameLength total length of the names, also used for the normalized names
+         * @param profileImageLength total length of the profile images
+         */
+        public Builder(int expectedSize, int nameLength, int profileImageLength) {
+            int capacity = Math.max(16, expectedSize);
+            this.ids = new long[capacity];
+            this.salaries = new int[capacity];
+            this.ages = new int[capacity];
+            this.names = new CharPool.Builder(expectedSize, nameLength);
+            this.normalizedNames = new CharPool.Builder(expectedSize, nameLength);
+            this.profileImages = new CharPool.Builder(expectedSize, profileImageLength);
+        }
+
+        public Builder add(Employee employee) {
+            return add(employee.getId(), employee.getEmployeeName(), employee.getEmployeeSalary(),
+                    employee.getEmployeeAge(), employee.getProfileImage());
+        }
+
+        public Builder add(String id, String name, int salary, int age, String profileImage) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                salaries = Arrays.copyOf(salaries, capacity);
+                ages = Arrays.copyOf(ages, capacity);
+                if (irregularIds != null) {
+                    irregularIds = Arrays.copyOf(irregularIds, capacity);
+                }
+            }
+            long numericId = EmployeeIdIndex.parseId(id);
+            ids[size] = numericId;
+            if (numericId < 0) {
+                if (irregularIds == null) {
+                    irregularIds = new String[ids.length];
+                }
+                irregularIds[size] = id;
+            }
+            salaries[size] = salary;
+            ages[size] = age;
+            names.add(name);
+            normalizedNames.add(EmployeeSnapshot.normalizeName(name));
+            profileImages.add(profileImage);
+            size++;
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public EmployeeTable build() {
+            return new EmployeeTable(size, Arrays.copyOf(ids, size),
+                    irregularIds == null ? null : Arrays.copyOf(irregularIds, size),
+                    Arrays.copyOf(salaries, size), Arrays.copyOf(ages, size),
+                    names.build(), normalizedNames.build(), profileImages.build());
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.example.rqchallenge.employees.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+
+/**
+ * Binary, fixed-layout file format for an {@link EmployeeTable}.
+ * <p>
+ * The file is a header followed by the columns exactly as they are held in memory, so reading it is a
+ * memory map plus bulk copies of each column, no parsing. Every write goes to its own temporary file that
+ * is moved over the target, so neither readers nor concurrent writers see a partially written snapshot.
+ * Reads check every length against the file size before copying, a truncated or corrupt file fails with
+ * an IOException.
+ * <pre>
+ * int magic, int format version, int row count, int flags
+ * long[rows] ids, int[rows] salaries, int[rows] ages
+ * 3 x pool (names, normalized names, profile images):
+ *     int char count, int[rows + 1] offsets, char[char count] chars, int null count, int[null count] null rows
+ * if flags has IRREGULAR_IDS: int count, count x (int row, int length, char[length] id), a length of -1 is a null id
+ * </pre>
+ */
+public final class EmployeeTableFile {
+
+    private static final int MAGIC = 0x454D5053;
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int IRREGULAR_IDS = 1;
+
+    private static final int HEADER_BYTES = 16;
+
+    private EmployeeTableFile() {
+    }
+
+    /**
+     * Writes the table to a new temporary file next to the target and atomically moves it into place.
+     * @param table
+     * @param target
+     * @throws IOException
+     */
+    public static void write(EmployeeTable table, Path target) throws IOException {
+        Path temp = Files.createTempFile(target.toAbsolutePath().getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            long size = sizeOf(table);
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+                writeTo(table, buffer);
+                buffer.force();
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Maps the file and copies the columns out of the mapping.
+     * @param source
+     * @return EmployeeTable
+     * @throws IOException when the file cannot be read or is not a snapshot of a supported version
+     */
+    public static EmployeeTable read(Path source) throws IOException {
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                throw new IOException("Not an employee snapshot file: " + source);
+            }
+            int rows = buffer.getInt();
+            int flags = buffer.getInt();
+            require(buffer, rows >= 0 ? 16L * rows : -1, source);
+
+            long[] ids = new long[rows];
+            buffer.asLongBuffer().get(ids);
+            buffer.position(buffer.position() + 8 * rows);
+            int[] salaries = readInts(buffer, rows, source);
+            int[] ages = readInts(buffer, rows, source);
+            CharPool names = readPool(buffer, rows, source);
+            CharPool normalizedNames = readPool(buffer, rows, source);
+            CharPool profileImages = readPool(buffer, rows, source);
+
+            String[] irregularIds = null;
+            if ((flags & IRREGULAR_IDS) != 0) {
+                irregularIds = new String[rows];
+                require(buffer, 4, source);
+                int count = buffer.getInt();
+                for (int i = 0; i < count; i++) {
+                    require(buffer, 8, source);
+                    int row = buffer.getInt();
+                    int length = buffer.getInt();
+                    if (row < 0 || row >= rows || length < -1) {
+                        throw corrupt(source);
+                    }
+                    if (length >= 0) {
+                        require(buffer, 2L * length, source);
+                        char[] chars = new char[length];
+                        buffer.asCharBuffer().get(chars);
+                        buffer.position(buffer.position() + 2 * length);
+                        irregularIds[row] = new String(chars);
+                    }
+                }
+            }
+            return EmployeeTable.of(ids, irregularIds, salaries, ages, names, normalizedNames, profileImages);
+        }
+    }
+
+    private static void writeTo(EmployeeTable table, ByteBuffer buffer) {
+        int rows = table.size();
+        String[] irregularIds = table.irregularIds();
+        buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(rows).putInt(irregularIds == null ? 0 : IRREGULAR_IDS);
+
+        buffer.asLongBuffer().put(table.numericIds(), 0, rows);
+        buffer.position(buffer.position() + 8 * rows);
+        writeInts(buffer, table.salaries());
+        writeInts(buffer, table.ages());
+        writePool(buffer, table.names());
+        writePool(buffer, table.normalizedNames());
+        writePool(buffer, table.profileImages());
+
+        if (irregularIds != null) {
+            buffer.putInt(irregularCount(table));
+            for (int row = 0; row < rows; row++) {
+                if (table.numericId(row) < 0) {
+                    String id = irregularIds[row];
+                    buffer.putInt(row).putInt(id == null ? -1 : id.length());
+                    if (id != null) {
+                        for (int i = 0; i < id.length(); i++) {
+                            buffer.putChar(id.charAt(i));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static long sizeOf(EmployeeTable table) {
+        int rows = table.size();
+        long size = HEADER_BYTES + 8L * rows + 4L * rows + 4L * rows;
+        size += poolSize(table.names()) + poolSize(table.normalizedNames()) + poolSize(table.profileImages());
+        if (table.irregularIds() != null) {
+            size += 4;
+            for (int row = 0; row < rows; row++) {
+                if (table.numericId(row) < 0) {
+                    String id = table.irregularIds()[row];
+                    size += 8 + (id == null ? 0 : 2L * id.length());
+                }
+            }
+        }
+        return size;
+    }
+
+    private static long poolSize(CharPool pool) {
+        BitSet nulls = pool.nulls();
+        return 4 + 4L * pool.offsets().length + 2L * pool.chars().length + 4 + 4L * (nulls == null ? 0 : nulls.cardinality());
+    }
+
+    private static int irregularCount(EmployeeTable table) {
+        int count = 0;
+        for (int row = 0; row < table.size(); row++) {
+            if (table.numericId(row) < 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static void writeInts(ByteBuffer buffer, int[] values) {
+        buffer.asIntBuffer().put(values);
+        buffer.position(buffer.position() + 4 * values.length);
+    }
+
+    private static int[] readInts(ByteBuffer buffer, int count, Path source) throws IOException {
+        require(buffer, 4L * count, source);
+        int[] values = new int[count];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + 4 * count);
+        return values;
+    }
+
+    private static void writePool(ByteBuffer buffer, CharPool pool) {
+        char[] chars = pool.chars();
+        buffer.putInt(chars.length);
+        writeInts(buffer, pool.offsets());
+        buffer.asCharBuffer().put(chars);
+        buffer.position(buffer.position() + 2 * chars.length);
+
+        BitSet nulls = pool.nulls();
+        buffer.putInt(nulls == null ? 0 : nulls.cardinality());
+        if (nulls != null) {
+            for (int row = nulls.nextSetBit(0); row >= 0; row = nulls.nextSetBit(row + 1)) {
+                buffer.putInt(row);
+            }
+        }
+    }
+
+    private static CharPool readPool(ByteBuffer buffer, int rows, Path source) throws IOException {
+        require(buffer, 4, source);
+        int length = buffer.getInt();
+        int[] offsets = readInts(buffer, rows + 1, source);
+        if (length < 0 || offsets[0] != 0 || offsets[rows] != length) {
+            throw corrupt(source);
+        }
+        for (int row = 0; row < rows; row++) {
+            if (offsets[row] > offsets[row + 1]) {
+                throw corrupt(source);
+            }
+        }
+        require(buffer, 2L * length, source);
+        char[] chars = new char[length];
+        buffer.asCharBuffer().get(chars);
+        buffer.position(buffer.position() + 2 * length);
+
+        require(buffer, 4, source);
+        int nullCount = buffer.getInt();
+        BitSet nulls = null;
+        if (nullCount > 0) {
+            require(buffer, 4L * nullCount, source);
+            nulls = new BitSet(rows);
+            for (int i = 0; i < nullCount; i++) {
+                int row = buffer.getInt();
+                if (row < 0 || row >= rows) {
+                    throw corrupt(source);
+                }
+                nulls.set(row);
+            }
+        }
+        return CharPool.of(chars, offsets, nulls);
+    }
+
+    /**
+     * @param bytes length of the next section, negative when the header holds an invalid count
+     * @throws IOException when the file ends before the section does
+     */
+    private static void require(ByteBuffer buffer, long bytes, Path source) throws IOException {
+        if (bytes < 0 || bytes > buffer.remaining()) {
+            throw corrupt(source);
+        }
+    }
+
+    private static IOException corrupt(Path source) {
+        return new IOException("Truncated or corrupt employee snapshot file: " + source);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.rqchallenge.employees.snapshot;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.example.rqchallenge.employees.dto.Employee;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes the employees of a snapshot as JSON, base rows straight from the {@link EmployeeTable} columns,
+ * with the same field names and order as the Jackson serialization of Employee. Output is flushed every {@link #FLUSH_ROWS} rows
+ * so large listings reach the client incrementally instead of being buffered as a whole.
+ */
+public final class EmployeeTableJsonWriter {
+
+    public static final int FLUSH_ROWS = 512;
+
+    private final JsonFactory jsonFactory;
+
+    public EmployeeTableJsonWriter(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    /**
+     * Writes the employees [offset, offset + limit) in snapshot order as one JSON array.
+     * @param snapshot
+     * @param offset
+     * @param limit
+     * @param out not closed
+     * @throws IOException
+     */
+    public void writeArray(EmployeeSnapshot snapshot, int offset, int limit, OutputStream out) throws IOException {
+        try (JsonGenerator generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            int end = end(snapshot, offset, limit);
+            for (int position = offset; position < end; position++) {
+                writePosition(snapshot, position, generator);
+                if ((position - offset + 1) % FLUSH_ROWS == 0) {
+                    generator.flush();
+                }
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * Writes the employees [offset, offset + limit) in snapshot order as newline delimited JSON, one employee per line.
+     * @param snapshot
+     * @param offset
+     * @param limit
+     * @param out not closed
+     * @throws IOException
+     */
+    public void writeNdjson(EmployeeSnapshot snapshot, int offset, int limit, OutputStream out) throws IOException {
+        try (JsonGenerator generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            int end = end(snapshot, offset, limit);
+            for (int position = offset; position < end; position++) {
+                writePosition(snapshot, position, generator);
+                generator.writeRaw('\n');
+                if ((position - offset + 1) % FLUSH_ROWS == 0) {
+                    generator.flush();
+                }
+            }
+        }
+    }
+
+    private int end(EmployeeSnapshot snapshot, int offset, int limit) {
+        return (int) Math.min(snapshot.size(), (long) offset + limit);
+    }
+
+    private void writePosition(EmployeeSnapshot snapshot, int position, JsonGenerator generator) throws IOException {
+        int row = snapshot.baseRowAt(position);
+        if (row >= 0) {
+            writeRow(snapshot.getTable(), row, generator);
+        } else {
+            writeEmployee(snapshot.employeeAt(position), generator);
+        }
+    }
+
+    private void writeEmployee(Employee employee, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", employee.getId());
+        generator.writeStringField("employee_name", employee.getEmployeeName());
+        generator.writeNumberField("employee_salary", employee.getEmployeeSalary());
+        generator.writeNumberField("employee_age", employee.getEmployeeAge());
+        generator.writeStringField("profile_image", employee.getProfileImage());
+        generator.writeEndObject();
+    }
+
+    private void writeRow(EmployeeTable table, int row, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        long numericId = table.numericId(row);
+        if (numericId >= 0) {
+            generator.writeFieldName("id");
+            generator.writeString(Long.toString(numericId));
+        } else {
+            generator.writeStringField("id", table.id(row));
+        }
+        generator.writeFieldName("employee_name");
+        writePooled(table.names(), row, generator);
+        generator.writeNumberField("employee_salary", table.salary(row));
+        generator.writeNumberField("employee_age", table.age(row));
+        generator.writeFieldName("profile_image");
+        writePooled(table.profileImages(), row, generator);
+        generator.writeEndObject();
+    }
+
+    private void writePooled(CharPool pool, int row, JsonGenerator generator) throws IOException {
+        if (pool.nulls() != null && pool.nulls().get(row)) {
+            generator.writeNull();
+        } else {
+            generator.writeString(pool.chars(), pool.offsets()[row], pool.length(row));
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.example.rqchallenge.client;
+
+import com.example.rqchallenge.employees.client.AsyncEmployeeClient;
+import com.example.rqchallenge.employees.client.UpstreamCircuitBreaker;
+import com.example.rqchallenge.employees.client.UpstreamRateLimiter;
+import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.exceptions.RateLimitExceededException;
+import com.example.rqchallenge.employees.exceptions.UpstreamUnavailableException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class AsyncEmployeeClientTest {
+
+    private static final String CREATED_BODY = "{\"status\":\"success\",\"data\":{\"id\":\"102\",\"employee_name\":\"Aarav Patel\",\"employee_salary\":50000,\"employee_age\":30}}";
+
+    private static final int CLIENT_THREADS = 2;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private UpstreamRateLimiter upstreamRateLimiter = new UpstreamRateLimiter(1000, 1, 100, 30000);
+
+    @Spy
+    private UpstreamCircuitBreaker upstreamCircuitBreaker = new UpstreamCircuitBreaker(50, 4, 2, 60000);
+
+    @InjectMocks
+    private AsyncEmployeeClient asyncEmployeeClient;
+
+    private HttpServer server;
+
+    private ExecutorService clientExecutor;
+
+    private HttpClient httpClient;
+
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final AtomicInteger maxActive = new AtomicInteger();
+
+    private volatile int status = 200;
+
+    private volatile String responseBody = CREATED_BODY;
+
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private volatile int throttledRequests;
+
+    private volatile String retryAfter;
+
+    private volatile long delayMillis;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        MockitoAnnotations.openMocks(this);
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", this::handle);
+        server.start();
+
+        clientExecutor = Executors.newFixedThreadPool(CLIENT_THREADS);
+        httpClient = HttpClient.newBuilder().executor(clientExecutor).build();
+        ReflectionTestUtils.setField(asyncEmployeeClient, "httpClient", httpClient);
+        ReflectionTestUtils.setField(asyncEmployeeClient, "baseUrl", baseUrl());
+        ReflectionTestUtils.setField(asyncEmployeeClient, "backoffMillis", 10L);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+        clientExecutor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+        try {
+            exchange.getRequestBody().readAllBytes();
+            if (delayMillis > 0) {
+                Thread.sleep(delayMillis);
+            }
+            boolean throttled = requests.incrementAndGet() <= throttledRequests;
+            byte[] body = throttled ? new byte[0] : responseBody.getBytes(StandardCharsets.UTF_8);
+            if (retryAfter != null) {
+                exchange.getResponseHeaders().set("Retry-After", retryAfter);
+            }
+            exchange.sendResponseHeaders(throttled ? 429 : status, throttled ? -1 : body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            active.decrementAndGet();
+        }
+    }
+
+    @Test
+    public void testCreateEmployeeSuccess() {
+        Employee createdEmployee = asyncEmployeeClient.createEmployee(new Employee(null, "Aarav Patel", 50000, 30, "")).join();
+
+        assertEquals("102", createdEmployee.getId());
+        assertEquals("Aarav Patel", createdEmployee.getEmployeeName());
+    }
+
+    @Test
+    public void testDeleteEmployeeByIdTooManyRequests() {
+        status = 429;
+        responseBody = "";
+
+        CompletionException exception = assertThrows(CompletionException.class, () -> {
+            asyncEmployeeClient.deleteEmployeeById("103").join();
+        });
+
+        RestClientResponseException cause = assertInstanceOf(RestClientResponseException.class, exception.getCause());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), cause.getRawStatusCode());
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    public void testCreateEmployeeRetriesTooManyRequests() {
+        throttledRequests = 2;
+
+        Employee createdEmployee = asyncEmployeeClient.createEmployee(new Employee(null, "Aarav Patel", 50000, 30, "")).join();
+
+        assertEquals("102", createdEmployee.getId());
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    public void testTooManyRequestsSlowsRateLimiter() {
+        throttledRequests = 1;
+        retryAfter = "0";
+
+        asyncEmployeeClient.deleteEmployeeById("103").join();
+
+        verify(upstreamRateLimiter, times(1)).onThrottled(0);
+        verify(upstreamRateLimiter, times(2)).reserve();
+        verify(upstreamRateLimiter, times(1)).onSuccess();
+        assertTrue(upstreamRateLimiter.getRate() < 1000);
+    }
+
+    @Test
+    public void testRateLimiterDelaysSendWithoutBlockingCaller() {
+        UpstreamRateLimiter limiter = new UpstreamRateLimiter(10, 1, 1, 30000);
+        ReflectionTestUtils.setField(asyncEmployeeClient, "upstreamRateLimiter", limiter);
+
+        long start = System.nanoTime();
+        List<CompletableFuture<Void>> deletes = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            deletes.add(asyncEmployeeClient.deleteEmployeeById(String.valueOf(i)));
+        }
+        long submitted = System.nanoTime() - start;
+        CompletableFuture.allOf(deletes.toArray(new CompletableFuture[0])).join();
+        long completed = System.nanoTime() - start;
+
+        assertTrue(submitted < TimeUnit.MILLISECONDS.toNanos(100), "caller blocked for " + submitted + " ns");
+        assertTrue(completed >= TimeUnit.MILLISECONDS.toNanos(180), "completed after " + completed + " ns");
+        assertEquals(2, limiter.getDelayed());
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    public void testRateLimitExceededFailsWithoutSending() {
+        UpstreamRateLimiter limiter = new UpstreamRateLimiter(1, 1, 1, 0);
+        ReflectionTestUtils.setField(asyncEmployeeClient, "upstreamRateLimiter", limiter);
+        asyncEmployeeClient.deleteEmployeeById("1").join();
+
+        CompletionException exception = assertThrows(CompletionException.class, () -> asyncEmployeeClient.deleteEmployeeById("2").join());
+
+        assertInstanceOf(RateLimitExceededException.class, exception.getCause());
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void testCreateEmployeeFailsFastWhileCircuitOpen() {
+        status = 503;
+        responseBody = "";
+        for (int i = 0; i < 2; i++) {
+            CompletableFuture<Void> delete = asyncEmployeeClient.deleteEmployeeById(String.valueOf(i));
+            assertThrows(CompletionException.class, delete::join);
+        }
+        assertEquals(UpstreamCircuitBreaker.State.OPEN, upstreamCircuitBreaker.getState());
+        int sent = requests.get();
+
+        CompletableFuture<Employee> create = asyncEmployeeClient.createEmployee(new Employee(null, "Aarav Patel", 50000, 30, ""));
+
+        assertTrue(create.isDone());
+        CompletionException exception = assertThrows(CompletionException.class, create::join);
+        assertInstanceOf(UpstreamUnavailableException.class, exception.getCause());
+        assertEquals(sent, requests.get());
+        verify(upstreamRateLimiter, times(sent)).reserve();
+    }
+
+    @Test
+    public void testConnectionFailureCountsAgainstCircuit() {
+        ReflectionTestUtils.setField(asyncEmployeeClient, "baseUrl", "http://127.0.0.1:1");
+
+        assertThrows(CompletionException.class, () -> asyncEmployeeClient.deleteEmployeeById("1").join());
+
+        verify(upstreamCircuitBreaker, times(1)).onFailure();
+        verify(upstreamCircuitBreaker, never()).onSuccess();
+    }
+
+    @Test
+    public void testOtherErrorsAreNotRetried() {
+        status = 500;
+        responseBody = "error";
+
+        CompletionException exception = assertThrows(CompletionException.class, () -> {
+            asyncEmployeeClient.createEmployee(new Employee(null, "Aarav Patel", 50000, 30, "")).join();
+        });
+
+        assertEquals(500, assertInstanceOf(RestClientResponseException.class, exception.getCause()).getRawStatusCode());
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void testAsyncRequestsOverlapBeyondClientThreadCount() throws Exception {
+        delayMillis = 200;
+        int calls = 8;
+
+        ExecutorService blockingExecutor = Executors.newFixedThreadPool(CLIENT_THREADS);
+        HttpClient blockingClient = HttpClient.newHttpClient();
+        List<Future<?>> blocking = new ArrayList<>();
+        try {
+            for (int i = 0; i < calls; i++) {
+                blocking.add(blockingExecutor.submit(() -> blockingClient.send(
+                        HttpRequest.newBuilder(URI.create(baseUrl() + "/delete/1")).DELETE().build(),
+                        HttpResponse.BodyHandlers.ofByteArray())));
+            }
+            for (Future<?> future : blocking) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            blockingExecutor.shutdownNow();
+        }
+        int blockingConcurrency = maxActive.getAndSet(0);
+
+        List<CompletableFuture<Void>> async = new ArrayList<>();
+        for (int i = 0; i < calls; i++) {
+            async.add(asyncEmployeeClient.deleteEmployeeById(String.valueOf(i)));
+        }
+        CompletableFuture.allOf(async.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+        int asyncConcurrency = maxActive.get();
+
+        assertTrue(blockingConcurrency <= CLIENT_THREADS);
+        assertTrue(asyncConcurrency > CLIENT_THREADS,
+                "expected more than " + CLIENT_THREADS + " concurrent upstream calls, got " + asyncConcurrency);
+    }
+
+    private String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+}
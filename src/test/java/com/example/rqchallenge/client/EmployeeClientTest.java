@@ -1,22 +1,49 @@
 package com.example.rqchallenge.client;
 
 import com.example.rqchallenge.employees.client.EmployeeClient;
+import com.example.rqchallenge.employees.client.EmployeeStreamParser;
+import com.example.rqchallenge.employees.client.UpstreamCircuitBreaker;
+import com.example.rqchallenge.employees.client.UpstreamRateLimiter;
 import com.example.rqchallenge.employees.dto.Employee;
 import com.example.rqchallenge.employees.dto.EmployeeCollectionDto;
 import com.example.rqchallenge.employees.dto.GetEmployeeDto;
+import com.example.rqchallenge.employees.exceptions.FileNotExist;
+import com.example.rqchallenge.employees.exceptions.RateLimitExceededException;
+import com.example.rqchallenge.employees.exceptions.UpstreamUnavailableException;
 import com.example.rqchallenge.employees.helper.EmployeeFileUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.mockito.stubbing.Answer;
+import org.mockito.stubbing.OngoingStubbing;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -30,6 +57,18 @@ public class EmployeeClientTest {
     @Mock
     private EmployeeFileUtils employeeFileUtils;
 
+    @Spy
+    private EmployeeStreamParser employeeStreamParser = new EmployeeStreamParser(new ObjectMapper());
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private UpstreamRateLimiter upstreamRateLimiter;
+
+    @Spy
+    private UpstreamCircuitBreaker upstreamCircuitBreaker = new UpstreamCircuitBreaker(50, 4, 2, 60000);
+
     @InjectMocks
     private EmployeeClient employeeClient;
 
@@ -44,7 +83,7 @@ public class EmployeeClientTest {
         employeeCollectionDto.setStatus("success");
         employeeCollectionDto.setData(Arrays.asList(new Employee("1", "Aarav Patel", 50000, 30, "")));
 
-        when(restTemplate.getForObject(anyString(), eq(EmployeeCollectionDto.class))).thenReturn(employeeCollectionDto);
+        whenFetchingEmployees().thenAnswer(respond(employeeCollectionDto));
 
         List<Employee> employees = employeeClient.fetchAllEmployees();
 
@@ -53,9 +92,28 @@ public class EmployeeClientTest {
         verify(employeeFileUtils, times(1)).saveEmployeeResponseToFile(employeeCollectionDto);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFetchAllEmployeesStreaming() throws IOException {
+        ReflectionTestUtils.setField(employeeClient, "streamingEnabled", true);
+        String body = "{\"status\":\"success\",\"data\":[{\"id\":\"1\",\"employee_name\":\"Aarav Patel\",\"employee_salary\":50000,\"employee_age\":30,\"profile_image\":\"\"}]}";
+
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(RequestCallback.class), any(ResponseExtractor.class))).thenAnswer(invocation -> {
+            ResponseExtractor<?> extractor = invocation.getArgument(3);
+            return extractor.extractData(new MockClientHttpResponse(body.getBytes(StandardCharsets.UTF_8), HttpStatus.OK));
+        });
+
+        List<Employee> employees = employeeClient.fetchAllEmployees();
+
+        assertEquals(1, employees.size());
+        assertEquals(new Employee("1", "Aarav Patel", 50000, 30, ""), employees.get(0));
+        verify(restTemplate, never()).getForObject(anyString(), eq(EmployeeCollectionDto.class));
+        verify(employeeFileUtils, times(1)).saveEmployeeResponseToFile(any(EmployeeCollectionDto.class));
+    }
+
     @Test
     public void testFetchAllEmployeesFallbackToFile() {
-        when(restTemplate.getForObject(anyString(), eq(EmployeeCollectionDto.class))).thenThrow(new RuntimeException("Fetch Error"));
+        whenFetchingEmployees().thenThrow(new RuntimeException("Fetch Error"));
         EmployeeCollectionDto employeeCollectionDto = new EmployeeCollectionDto();
         employeeCollectionDto.setStatus("success");
         employeeCollectionDto.setData(Arrays.asList(new Employee("1", "Aarav Patel", 50000, 30, "")));
@@ -71,7 +129,7 @@ public class EmployeeClientTest {
 
     @Test
     public void testFetchAllEmployeesFallbackToFileWhenNullResponse() {
-        when(restTemplate.getForObject(anyString(), eq(EmployeeCollectionDto.class))).thenReturn(null);;
+        whenFetchingEmployees().thenReturn(null);
         EmployeeCollectionDto employeeCollectionDto = new EmployeeCollectionDto();
         employeeCollectionDto.setStatus("success");
         employeeCollectionDto.setData(Arrays.asList(new Employee("1", "Aarav Patel", 50000, 30, "")));
@@ -141,6 +199,18 @@ public class EmployeeClientTest {
         verify(restTemplate, times(1)).delete(anyString());
     }
 
+    @Test
+    public void testRequestsUseConfiguredBaseUrl() {
+        ReflectionTestUtils.setField(employeeClient, "baseUrl", "http://localhost:8089/api/v1");
+        when(restTemplate.postForObject(anyString(), any(Employee.class), eq(GetEmployeeDto.class))).thenReturn(new GetEmployeeDto());
+
+        employeeClient.createEmployee(new Employee(null, "Aarav Patel", 50000, 30, ""));
+        employeeClient.deleteEmployeeById("101");
+
+        verify(restTemplate).postForObject(eq("http://localhost:8089/api/v1/create"), any(Employee.class), eq(GetEmployeeDto.class));
+        verify(restTemplate).delete("http://localhost:8089/api/v1/delete/101");
+    }
+
     @Test
     public void testDeleteEmployeeByIdRetryOnTooManyRequests() {
         RestClientResponseException exception = mock(RestClientResponseException.class);
@@ -168,4 +238,268 @@ public class EmployeeClientTest {
 
         assertEquals("Exception occurred while deleting employee", exception.getMessage());
     }
+
+    @Test
+    public void testTryDeleteEmployeeByIdWhenNotFound() {
+        RestClientResponseException exception = mock(RestClientResponseException.class);
+        when(exception.getRawStatusCode()).thenReturn(HttpStatus.NOT_FOUND.value());
+        doThrow(exception).when(restTemplate).delete(anyString());
+
+        assertFalse(employeeClient.tryDeleteEmployeeById("404"));
+        Exception thrownException = assertThrows(RuntimeException.class, () -> employeeClient.deleteEmployeeById("404"));
+        assertEquals("Error deleting employee: Not Found", thrownException.getMessage());
+    }
+
+    @Test
+    public void testCreateEmployeeTakesPermitAndReportsThrottling() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "2");
+        when(restTemplate.postForObject(anyString(), any(Employee.class), eq(GetEmployeeDto.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", headers, null, null));
+
+        assertThrows(RestClientResponseException.class, () -> employeeClient.tryCreateEmployee(new Employee()));
+
+        verify(upstreamRateLimiter, times(1)).acquire();
+        verify(upstreamRateLimiter, times(1)).onThrottled(2000);
+        verify(upstreamRateLimiter, never()).onSuccess();
+    }
+
+    @Test
+    public void testFetchAllEmployeesFallsBackToFileWhenRateLimitExceeded() {
+        EmployeeCollectionDto fromFile = new EmployeeCollectionDto();
+        fromFile.setData(Arrays.asList(new Employee("1", "Aarav Patel", 50000, 30, "")));
+        doThrow(new RateLimitExceededException("Upstream rate limit exceeded", 1000)).when(upstreamRateLimiter).acquire();
+        when(employeeFileUtils.fetchEmployeeFromFile()).thenReturn(fromFile);
+
+        List<Employee> employees = employeeClient.fetchAllEmployees();
+
+        assertEquals(1, employees.size());
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    public void testServerErrorsOpenCircuitAndFetchFallsBackWithoutCallingUpstream() {
+        EmployeeCollectionDto fromFile = new EmployeeCollectionDto();
+        fromFile.setData(Arrays.asList(new Employee("1", "Aarav Patel", 50000, 30, "")));
+        whenFetchingEmployees()
+                .thenThrow(HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", HttpHeaders.EMPTY, null, null));
+        when(employeeFileUtils.fetchEmployeeFromFile()).thenReturn(fromFile);
+
+        employeeClient.fetchAllEmployees();
+        employeeClient.fetchAllEmployees();
+        assertEquals(UpstreamCircuitBreaker.State.OPEN, upstreamCircuitBreaker.getState());
+
+        List<Employee> employees = employeeClient.fetchAllEmployees();
+
+        assertEquals(1, employees.size());
+        verifyFetched(2);
+        verify(employeeFileUtils, times(3)).fetchEmployeeFromFile();
+        verify(upstreamRateLimiter, times(2)).acquire();
+        assertEquals(1, upstreamCircuitBreaker.getNotPermitted());
+    }
+
+    @Test
+    public void testCreateEmployeeFailsFastWhileCircuitIsOpen() {
+        when(restTemplate.postForObject(anyString(), any(Employee.class), eq(GetEmployeeDto.class)))
+                .thenThrow(new RuntimeException("Connection refused"));
+        assertThrows(RuntimeException.class, () -> employeeClient.tryCreateEmployee(new Employee()));
+        assertThrows(RuntimeException.class, () -> employeeClient.tryCreateEmployee(new Employee()));
+
+        UpstreamUnavailableException thrownException = assertThrows(UpstreamUnavailableException.class,
+                () -> employeeClient.tryCreateEmployee(new Employee()));
+
+        assertTrue(thrownException.getRetryAfterMillis() > 0);
+        verify(restTemplate, times(2)).postForObject(anyString(), any(Employee.class), eq(GetEmployeeDto.class));
+    }
+
+    @Test
+    public void testClientErrorsDoNotOpenCircuit() {
+        doThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, null, null))
+                .when(restTemplate).delete(anyString());
+
+        for (int i = 0; i < 5; i++) {
+            assertFalse(employeeClient.tryDeleteEmployeeById("1"));
+        }
+
+        assertEquals(UpstreamCircuitBreaker.State.CLOSED, upstreamCircuitBreaker.getState());
+        assertEquals(0.0, upstreamCircuitBreaker.getFailureRate());
+    }
+
+    @Test
+    public void testRejectedPermitReleasesHalfOpenProbe() {
+        UpstreamCircuitBreaker circuitBreaker = new UpstreamCircuitBreaker(50, 4, 1, 0);
+        ReflectionTestUtils.setField(employeeClient, "upstreamCircuitBreaker", circuitBreaker);
+        circuitBreaker.onFailure();
+        doThrow(new RateLimitExceededException("Upstream rate limit exceeded", 1000)).doNothing().when(upstreamRateLimiter).acquire();
+
+        assertThrows(RateLimitExceededException.class, () -> employeeClient.tryDeleteEmployeeById("1"));
+        assertTrue(employeeClient.tryDeleteEmployeeById("1"));
+
+        assertEquals(UpstreamCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void testConcurrentFetchesShareOneUpstreamCall() throws Exception {
+        EmployeeCollectionDto employeeCollectionDto = new EmployeeCollectionDto();
+        employeeCollectionDto.setStatus("success");
+        employeeCollectionDto.setData(Arrays.asList(new Employee("1", "Aarav Patel", 50000, 30, "")));
+        CountDownLatch release = new CountDownLatch(1);
+        whenFetchingEmployees().thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return respond(employeeCollectionDto).answer(invocation);
+        });
+
+        int callers = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<List<Employee>>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> employeeClient.fetchAllEmployees()));
+            }
+            long deadline = System.currentTimeMillis() + 10000;
+            while (employeeClient.getCoalescedFetches() < callers - 1 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<List<Employee>> result : results) {
+                assertEquals(1, result.get(10, TimeUnit.SECONDS).size());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verifyFetched(1);
+        verify(employeeFileUtils, times(1)).saveEmployeeResponseToFile(employeeCollectionDto);
+        assertEquals(1, employeeClient.getUpstreamFetches());
+        assertEquals(callers - 1, employeeClient.getCoalescedFetches());
+
+        employeeClient.fetchAllEmployees();
+        assertEquals(2, employeeClient.getUpstreamFetches());
+    }
+
+    @Test
+    public void testCoalescedFetchesShareFailure() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        whenFetchingEmployees().thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            throw new RuntimeException("Upstream down");
+        });
+        when(employeeFileUtils.fetchEmployeeFromFile()).thenThrow(new FileNotExist("Employee file does not exist"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<Employee>> leader = executor.submit(() -> employeeClient.fetchAllEmployees());
+            while (employeeClient.getUpstreamFetches() == 0) {
+                Thread.sleep(5);
+            }
+            Future<List<Employee>> follower = executor.submit(() -> employeeClient.fetchAllEmployees());
+            while (employeeClient.getCoalescedFetches() == 0) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            ExecutionException leaderFailure = assertThrows(ExecutionException.class, () -> leader.get(10, TimeUnit.SECONDS));
+            ExecutionException followerFailure = assertThrows(ExecutionException.class, () -> follower.get(10, TimeUnit.SECONDS));
+            assertTrue(leaderFailure.getCause() instanceof FileNotExist);
+            assertSame(leaderFailure.getCause(), followerFailure.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFetchSendsValidatorsAndReusesListWhenNotModified() throws IOException {
+        EmployeeCollectionDto employeeCollectionDto = new EmployeeCollectionDto();
+        employeeCollectionDto.setStatus("success");
+        employeeCollectionDto.setData(Arrays.asList(new Employee("1", "Aarav Patel", 50000, 30, "")));
+        HttpHeaders validators = new HttpHeaders();
+        validators.setETag("\"v1\"");
+        validators.set(HttpHeaders.LAST_MODIFIED, "Wed, 21 Oct 2026 07:28:00 GMT");
+        List<HttpHeaders> requests = new ArrayList<>();
+        whenFetchingEmployees()
+                .thenAnswer(respond(employeeCollectionDto, HttpStatus.OK, validators, requests))
+                .thenAnswer(respond(null, HttpStatus.NOT_MODIFIED, HttpHeaders.EMPTY, requests));
+
+        List<Employee> first = employeeClient.fetchAllEmployees();
+        List<Employee> second = employeeClient.fetchAllEmployees();
+
+        assertSame(first, second);
+        assertNull(requests.get(0).getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertEquals("\"v1\"", requests.get(1).getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertEquals("Wed, 21 Oct 2026 07:28:00 GMT", requests.get(1).getFirst(HttpHeaders.IF_MODIFIED_SINCE));
+        verify(employeeFileUtils, times(1)).saveEmployeeResponseToFile(any(EmployeeCollectionDto.class));
+        assertEquals(1, employeeClient.getUnchangedFetches());
+    }
+
+    @Test
+    public void testFetchSkipsDeserializationWhenBodyHashIsUnchanged() throws IOException {
+        EmployeeCollectionDto employeeCollectionDto = new EmployeeCollectionDto();
+        employeeCollectionDto.setStatus("success");
+        employeeCollectionDto.setData(Arrays.asList(new Employee("1", "Aarav Patel", 50000, 30, "")));
+        EmployeeCollectionDto changed = new EmployeeCollectionDto();
+        changed.setStatus("success");
+        changed.setData(Arrays.asList(new Employee("1", "Aarav Patel", 60000, 30, "")));
+        whenFetchingEmployees()
+                .thenAnswer(respond(employeeCollectionDto))
+                .thenAnswer(respond(employeeCollectionDto))
+                .thenAnswer(respond(changed));
+
+        List<Employee> first = employeeClient.fetchAllEmployees();
+        List<Employee> second = employeeClient.fetchAllEmployees();
+        List<Employee> third = employeeClient.fetchAllEmployees();
+
+        assertSame(first, second);
+        assertEquals(60000, third.get(0).getEmployeeSalary());
+        verify(objectMapper, times(2)).readValue(any(byte[].class), eq(EmployeeCollectionDto.class));
+        verify(employeeFileUtils, times(2)).saveEmployeeResponseToFile(any(EmployeeCollectionDto.class));
+        assertEquals(1, employeeClient.getUnchangedFetches());
+    }
+
+    @Test
+    public void testStreamingFetchSkipsFileWriteWhenBodyHashIsUnchanged() throws IOException {
+        ReflectionTestUtils.setField(employeeClient, "streamingEnabled", true);
+        EmployeeCollectionDto employeeCollectionDto = new EmployeeCollectionDto();
+        employeeCollectionDto.setStatus("success");
+        employeeCollectionDto.setData(Arrays.asList(new Employee("1", "Aarav Patel", 50000, 30, "")));
+        whenFetchingEmployees().thenAnswer(respond(employeeCollectionDto));
+
+        List<Employee> first = employeeClient.fetchAllEmployees();
+        List<Employee> second = employeeClient.fetchAllEmployees();
+
+        assertSame(first, second);
+        verify(employeeFileUtils, times(1)).saveEmployeeResponseToFile(any(EmployeeCollectionDto.class));
+        assertEquals(1, employeeClient.getUnchangedFetches());
+    }
+
+    @SuppressWarnings("unchecked")
+    private OngoingStubbing<Object> whenFetchingEmployees() {
+        return when(restTemplate.<Object>execute(anyString(), eq(HttpMethod.GET), any(RequestCallback.class), any(ResponseExtractor.class)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void verifyFetched(int times) {
+        verify(restTemplate, times(times)).execute(anyString(), eq(HttpMethod.GET), any(RequestCallback.class), any(ResponseExtractor.class));
+    }
+
+    private Answer<Object> respond(EmployeeCollectionDto body) {
+        return respond(body, HttpStatus.OK, HttpHeaders.EMPTY, new ArrayList<>());
+    }
+
+    /**
+     * Runs the request callback and response extractor of the client against a mock exchange.
+     * @param body serialized into the response, none when null
+     * @param requests collects the headers of the requests
+     */
+    private Answer<Object> respond(EmployeeCollectionDto body, HttpStatus status, HttpHeaders headers, List<HttpHeaders> requests) {
+        return invocation -> {
+            MockClientHttpRequest request = new MockClientHttpRequest();
+            ((RequestCallback) invocation.getArgument(2)).doWithRequest(request);
+            requests.add(request.getHeaders());
+            byte[] bytes = body == null ? new byte[0] : new ObjectMapper().writeValueAsBytes(body);
+            MockClientHttpResponse response = new MockClientHttpResponse(bytes, status);
+            response.getHeaders().putAll(headers);
+            return ((ResponseExtractor<?>) invocation.getArgument(3)).extractData(response);
+        };
+    }
 }
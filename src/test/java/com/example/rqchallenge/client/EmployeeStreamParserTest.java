@@ -0,0 +1,55 @@
+package com.example.rqchallenge.client;
+
+import com.example.rqchallenge.employees.client.EmployeeStreamParser;
+import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.dto.EmployeeCollectionDto;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmployeeStreamParserTest {
+
+    private static final String RESPONSE = "{\"status\":\"success\",\"data\":["
+            + "{\"id\":1,\"employee_name\":\"Tiger Nixon\",\"employee_salary\":\"320800\",\"employee_age\":61,\"profile_image\":\"\"},"
+            + "{\"employee_name\":\"Garrett Winters\",\"id\":\"2\",\"employee_salary\":170750,\"employee_age\":\"63\","
+            + "\"extra\":{\"nested\":[1,2,3]},\"profile_image\":null}"
+            + "],\"message\":\"Successfully! All records has been fetched.\"}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void testParseMatchesDtoBinding() throws IOException {
+        EmployeeStreamParser.Result result = new EmployeeStreamParser(objectMapper).parse(stream(RESPONSE));
+
+        EmployeeCollectionDto expected = objectMapper.copy()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .readValue(RESPONSE, EmployeeCollectionDto.class);
+
+        assertEquals("success", result.getStatus());
+        assertEquals(expected.getData(), result.getTable().asList());
+        assertEquals(new Employee("1", "Tiger Nixon", 320800, 61, ""), result.getTable().employee(0));
+    }
+
+    @Test
+    public void testParseWithoutData() throws IOException {
+        EmployeeStreamParser.Result result = new EmployeeStreamParser(objectMapper).parse(stream("{\"status\":\"error\",\"message\":\"Too Many Attempts.\"}"));
+
+        assertEquals("error", result.getStatus());
+        assertEquals(0, result.getTable().size());
+    }
+
+    @Test
+    public void testParseInvalidBody() {
+        assertThrows(IOException.class, () -> new EmployeeStreamParser(objectMapper).parse(stream("[]")));
+    }
+
+    private ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
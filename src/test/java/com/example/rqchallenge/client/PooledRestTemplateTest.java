@@ -0,0 +1,107 @@
+package com.example.rqchallenge.client;
+
+import com.example.rqchallenge.employees.config.BeanConfig;
+import com.example.rqchallenge.employees.config.ConnectionPoolMetrics;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PooledRestTemplateTest {
+
+    private final BeanConfig beanConfig = new BeanConfig();
+
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+    private HttpServer server;
+
+    private PoolingHttpClientConnectionManager connectionManager;
+
+    private CloseableHttpClient httpClient;
+
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", this::handle);
+        server.start();
+
+        connectionManager = beanConfig.employeeConnectionManager(50, 20, 2000);
+        httpClient = beanConfig.pooledHttpClient(connectionManager, 1000, 200, 1000, 30000, 60000);
+        restTemplate = beanConfig.restTemplate(httpClient);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        httpClient.close();
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        try {
+            if (exchange.getRequestURI().getPath().equals("/slow")) {
+                Thread.sleep(1000);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    @Test
+    public void testConnectionIsReusedAcrossRequests() {
+        for (int i = 0; i < 20; i++) {
+            assertEquals("ok", restTemplate.getForObject(url("/employees"), String.class));
+        }
+
+        assertEquals(1, clientPorts.size());
+        assertEquals(1, connectionManager.getTotalStats().getAvailable());
+        assertEquals(0, connectionManager.getTotalStats().getLeased());
+    }
+
+    @Test
+    public void testReadTimeout() {
+        assertThrows(ResourceAccessException.class, () -> restTemplate.getForObject(url("/slow"), String.class));
+    }
+
+    @Test
+    public void testPoolMetrics() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        new ConnectionPoolMetrics(connectionManager).bindTo(registry);
+
+        restTemplate.getForObject(url("/employees"), String.class);
+
+        assertEquals(50, registry.get("employee.client.pool.max").gauge().value());
+        assertEquals(1, registry.get("employee.client.pool.available").gauge().value());
+        assertEquals(0, registry.get("employee.client.pool.leased").gauge().value());
+        assertEquals(0, registry.get("employee.client.pool.pending").gauge().value());
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.rqchallenge.client;
+
+import com.example.rqchallenge.employees.client.UpstreamCircuitBreaker;
+import com.example.rqchallenge.employees.exceptions.UpstreamUnavailableException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UpstreamCircuitBreakerTest {
+
+    @Test
+    public void testOpensOnceFailureRateReachesThreshold() {
+        UpstreamCircuitBreaker circuitBreaker = new UpstreamCircuitBreaker(50, 10, 4, 60000);
+
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure();
+        circuitBreaker.onSuccess();
+        assertEquals(UpstreamCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+
+        circuitBreaker.onFailure();
+
+        assertEquals(UpstreamCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(50.0, circuitBreaker.getFailureRate());
+        assertEquals(1, circuitBreaker.getTransitions(UpstreamCircuitBreaker.State.OPEN));
+    }
+
+    @Test
+    public void testStaysClosedBelowMinimumCalls() {
+        UpstreamCircuitBreaker circuitBreaker = new UpstreamCircuitBreaker(50, 10, 5, 60000);
+
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onFailure();
+        }
+
+        assertEquals(UpstreamCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertDoesNotThrow(circuitBreaker::acquirePermission);
+    }
+
+    @Test
+    public void testWindowForgetsOldestOutcomes() {
+        UpstreamCircuitBreaker circuitBreaker = new UpstreamCircuitBreaker(50, 4, 4, 60000);
+        circuitBreaker.onFailure();
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onSuccess();
+        }
+        assertEquals(0.0, circuitBreaker.getFailureRate());
+
+        circuitBreaker.onFailure();
+
+        assertEquals(25.0, circuitBreaker.getFailureRate());
+        assertEquals(UpstreamCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void testOpenCircuitRejectsWithRemainingOpenTime() {
+        UpstreamCircuitBreaker circuitBreaker = new UpstreamCircuitBreaker(50, 2, 1, 60000);
+        circuitBreaker.onFailure();
+
+        UpstreamUnavailableException thrownException = assertThrows(UpstreamUnavailableException.class, circuitBreaker::acquirePermission);
+
+        assertTrue(thrownException.getRetryAfterMillis() > 50000);
+        assertTrue(thrownException.getRetryAfterMillis() <= 60000);
+        assertEquals(1, circuitBreaker.getNotPermitted());
+    }
+
+    @Test
+    public void testHalfOpenLetsOneProbeThroughAndClosesOnSuccess() throws InterruptedException {
+        UpstreamCircuitBreaker circuitBreaker = new UpstreamCircuitBreaker(50, 2, 1, 50);
+        circuitBreaker.onFailure();
+        TimeUnit.MILLISECONDS.sleep(60);
+
+        circuitBreaker.acquirePermission();
+        assertEquals(UpstreamCircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertThrows(UpstreamUnavailableException.class, circuitBreaker::acquirePermission);
+
+        circuitBreaker.onSuccess();
+
+        assertEquals(UpstreamCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(0.0, circuitBreaker.getFailureRate());
+        assertDoesNotThrow(circuitBreaker::acquirePermission);
+        assertEquals(1, circuitBreaker.getTransitions(UpstreamCircuitBreaker.State.HALF_OPEN));
+        assertEquals(1, circuitBreaker.getTransitions(UpstreamCircuitBreaker.State.CLOSED));
+    }
+
+    @Test
+    public void testFailedProbeOpensCircuitAgain() throws InterruptedException {
+        UpstreamCircuitBreaker circuitBreaker = new UpstreamCircuitBreaker(50, 2, 1, 50);
+        circuitBreaker.onFailure();
+        TimeUnit.MILLISECONDS.sleep(60);
+
+        circuitBreaker.acquirePermission();
+        circuitBreaker.onFailure();
+
+        assertEquals(UpstreamCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertThrows(UpstreamUnavailableException.class, circuitBreaker::acquirePermission);
+        assertEquals(2, circuitBreaker.getTransitions(UpstreamCircuitBreaker.State.OPEN));
+    }
+
+    @Test
+    public void testOpenCircuitRejectsWithoutWaiting() {
+        UpstreamCircuitBreaker circuitBreaker = new UpstreamCircuitBreaker(50, 2, 1, 60000);
+        circuitBreaker.onFailure();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 10000; i++) {
+            assertThrows(UpstreamUnavailableException.class, circuitBreaker::acquirePermission);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMillis < 1000, "10000 rejections took " + elapsedMillis + " ms");
+        assertEquals(10000, circuitBreaker.getNotPermitted());
+    }
+}
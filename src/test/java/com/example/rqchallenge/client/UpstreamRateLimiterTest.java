@@ -0,0 +1,224 @@
+package com.example.rqchallenge.client;
+
+import com.example.rqchallenge.employees.client.EmployeeClient;
+import com.example.rqchallenge.employees.client.UpstreamCircuitBreaker;
+import com.example.rqchallenge.employees.client.UpstreamRateLimiter;
+import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.exceptions.RateLimitExceededException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.support.HttpRequestWrapper;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UpstreamRateLimiterTest {
+
+    private static final int QUOTA = 10;
+
+    private static final long QUOTA_WINDOW_MILLIS = 500;
+
+    private static final String CREATED_BODY = "{\"status\":\"success\",\"data\":{\"id\":\"1\",\"employee_name\":\"Aarav Patel\",\"employee_salary\":50000,\"employee_age\":30,\"profile_image\":\"\"}}";
+
+    private HttpServer server;
+
+    private ExecutorService callers;
+
+    private final AtomicInteger rejectedByUpstream = new AtomicInteger();
+
+    private long startedAt;
+
+    private long window = -1;
+
+    private int requestsInWindow;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", this::handle);
+        startedAt = System.currentTimeMillis();
+        server.start();
+        callers = Executors.newFixedThreadPool(3);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+        callers.shutdownNow();
+    }
+
+    /**
+     * Upstream stub enforcing a quota of {@link #QUOTA} requests per fixed window, answering 429 beyond it.
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        boolean allowed;
+        synchronized (this) {
+            long current = (System.currentTimeMillis() - startedAt) / QUOTA_WINDOW_MILLIS;
+            if (current != window) {
+                window = current;
+                requestsInWindow = 0;
+            }
+            allowed = ++requestsInWindow <= QUOTA;
+        }
+        byte[] body = (allowed ? CREATED_BODY : "{\"status\":\"error\"}").getBytes(StandardCharsets.UTF_8);
+        if (!allowed) {
+            rejectedByUpstream.incrementAndGet();
+            exchange.getResponseHeaders().set("Retry-After", "1");
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(allowed ? 200 : 429, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Test
+    public void testBurstIsServedImmediatelyThenPaced() {
+        UpstreamRateLimiter limiter = new UpstreamRateLimiter(50, 1, 5, 10000);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire();
+        }
+        long burstNanos = System.nanoTime() - start;
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire();
+        }
+        long totalNanos = System.nanoTime() - start;
+
+        assertTrue(burstNanos < TimeUnit.MILLISECONDS.toNanos(50), "burst took " + burstNanos);
+        assertTrue(totalNanos >= TimeUnit.MILLISECONDS.toNanos(180), "paced permits took " + totalNanos);
+        assertEquals(15, limiter.getPermits());
+        assertTrue(limiter.getDelayed() >= 9);
+    }
+
+    @Test
+    public void testThrottledHalvesRateAndHonorsRetryAfter() {
+        UpstreamRateLimiter limiter = new UpstreamRateLimiter(100, 10, 1, 10000);
+
+        limiter.onThrottled(200);
+        assertEquals(50, limiter.getRate());
+        long start = System.nanoTime();
+        limiter.acquire();
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(190));
+
+        limiter.onThrottled(0);
+        limiter.onThrottled(0);
+        limiter.onThrottled(0);
+        assertEquals(10, limiter.getRate());
+        for (int i = 0; i < 30; i++) {
+            limiter.onSuccess();
+        }
+        assertEquals(100, limiter.getRate());
+        assertEquals(4, limiter.getThrottled());
+    }
+
+    @Test
+    public void testPermitBeyondMaxWaitIsRejected() {
+        UpstreamRateLimiter limiter = new UpstreamRateLimiter(1, 1, 1, 100);
+
+        limiter.acquire();
+        RateLimitExceededException exception = assertThrows(RateLimitExceededException.class, limiter::acquire);
+
+        assertTrue(exception.getRetryAfterMillis() > 100);
+        assertEquals(1, limiter.getRejected());
+    }
+
+    @Test
+    public void testDisabledLimiterNeverWaits() {
+        UpstreamRateLimiter limiter = new UpstreamRateLimiter(0, 0, 1, 0);
+
+        for (int i = 0; i < 1000; i++) {
+            limiter.acquire();
+        }
+
+        assertFalse(limiter.isEnabled());
+        assertEquals(0, limiter.getDelayed());
+    }
+
+    @Test
+    public void testUnlimitedClientExceedsUpstreamQuota() throws Exception {
+        int failed = createEmployees(new UpstreamRateLimiter(0, 0, 1, 0), 20);
+
+        assertTrue(rejectedByUpstream.get() > 0);
+        assertEquals(rejectedByUpstream.get(), failed);
+    }
+
+    @Test
+    public void testLimitedClientStaysWithinUpstreamQuota() throws Exception {
+        UpstreamRateLimiter limiter = new UpstreamRateLimiter(10, 1, 2, 10000);
+
+        int failed = createEmployees(limiter, 20);
+
+        assertEquals(0, rejectedByUpstream.get());
+        assertEquals(0, failed);
+        assertEquals(20, limiter.getPermits());
+    }
+
+    /**
+     * Creates employees through {@link EmployeeClient} from three threads against the stub.
+     * @return number of requests the upstream rejected with 429
+     */
+    private int createEmployees(UpstreamRateLimiter limiter, int count) throws Exception {
+        EmployeeClient employeeClient = new EmployeeClient();
+        ReflectionTestUtils.setField(employeeClient, "restTemplate", stubRestTemplate());
+        ReflectionTestUtils.setField(employeeClient, "upstreamRateLimiter", limiter);
+        ReflectionTestUtils.setField(employeeClient, "upstreamCircuitBreaker", new UpstreamCircuitBreaker(50, 20, 5, 30000));
+
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            results.add(callers.submit(() -> {
+                try {
+                    employeeClient.tryCreateEmployee(new Employee(null, "Aarav Patel", 50000, 30, ""));
+                    return true;
+                } catch (RestClientResponseException e) {
+                    return false;
+                }
+            }));
+        }
+        int failed = 0;
+        for (Future<Boolean> result : results) {
+            if (!result.get(30, TimeUnit.SECONDS)) {
+                failed++;
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * RestTemplate sending the requests for the upstream URLs to the stub.
+     */
+    private RestTemplate stubRestTemplate() {
+        RestTemplate restTemplate = new RestTemplate(new SimpleClientHttpRequestFactory());
+        ClientHttpRequestInterceptor toStub = (request, body, execution) -> execution.execute(new HttpRequestWrapper(request) {
+            @Override
+            public URI getURI() {
+                return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + request.getURI().getPath());
+            }
+        }, body);
+        restTemplate.getInterceptors().add(toStub);
+        return restTemplate;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.rqchallenge.config;
+
+import com.example.rqchallenge.employees.config.VirtualThreadConfig;
+import org.apache.coyote.ProtocolHandler;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class VirtualThreadConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(TaskExecutionAutoConfiguration.class))
+            .withUserConfiguration(VirtualThreadConfig.class);
+
+    @Test
+    public void testAsyncTasksRunOnVirtualThreadsWhenEnabled() {
+        contextRunner.withPropertyValues("employee.threads.virtual=true").run(context -> {
+            AsyncTaskExecutor executor = context.getBean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, AsyncTaskExecutor.class);
+
+            assertSame(executor, context.getBean("taskExecutor"));
+            assertTrue(executor.submit(() -> Thread.currentThread().isVirtual()).get(5, TimeUnit.SECONDS));
+        });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testTomcatHandlesRequestsOnVirtualThreadsWhenEnabled() {
+        contextRunner.withPropertyValues("employee.threads.virtual=true").run(context -> {
+            TomcatProtocolHandlerCustomizer<ProtocolHandler> customizer = context.getBean(TomcatProtocolHandlerCustomizer.class);
+            ProtocolHandler protocolHandler = mock(ProtocolHandler.class);
+            ArgumentCaptor<Executor> executor = ArgumentCaptor.forClass(Executor.class);
+
+            customizer.customize(protocolHandler);
+
+            verify(protocolHandler).setExecutor(executor.capture());
+            CompletableFuture<Boolean> virtual = new CompletableFuture<>();
+            executor.getValue().execute(() -> virtual.complete(Thread.currentThread().isVirtual()));
+            assertTrue(virtual.get(5, TimeUnit.SECONDS));
+        });
+    }
+
+    @Test
+    public void testPlatformThreadsByDefault() {
+        contextRunner.run(context -> {
+            assertTrue(context.getBeansOfType(TomcatProtocolHandlerCustomizer.class).isEmpty());
+            AsyncTaskExecutor executor = context.getBean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, AsyncTaskExecutor.class);
+            assertFalse(executor.submit(() -> Thread.currentThread().isVirtual()).get(5, TimeUnit.SECONDS));
+        });
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.rqchallenge.controller;
+
+import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.dto.EncodedList;
+import com.example.rqchallenge.employees.service.EmployeeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.web.server.LocalServerPort;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class EmployeeCompressionTest {
+
+    @MockBean
+    private EmployeeService employeeService;
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    public void testTopEarnersAreCompressedByContainer() throws Exception {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            employees.add(new Employee(String.valueOf(i), "Aarav Patel " + i, 50000 + i, 30, ""));
+        }
+        when(employeeService.getSnapshotETag()).thenReturn("\"test-1\"");
+        when(employeeService.getTopEarners(100)).thenReturn(employees);
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/topEarners?k=100"))
+                .header("Accept-Encoding", "gzip")
+                .build();
+        HttpResponse<byte[]> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+        assertEquals("W/\"test-1\"", response.headers().firstValue("ETag").orElse(null));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            assertEquals(100, new ObjectMapper().readTree(in).size());
+        }
+    }
+
+    @Test
+    public void testAllEmployeesServeTheEncodedVariant() throws Exception {
+        List<Employee> employees = List.of(new Employee("1", "Aarav Patel", 50000, 30, ""));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(new ObjectMapper().writeValueAsBytes(employees));
+        }
+        byte[] compressed = out.toByteArray();
+        when(employeeService.getSnapshotETag()).thenReturn("\"test-1\"");
+        when(employeeService.getAllEmployeesJson(true)).thenReturn(new EncodedList<>(employees, compressed));
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/"))
+                .header("Accept-Encoding", "gzip")
+                .build();
+        HttpResponse<byte[]> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+        assertArrayEquals(compressed, response.body());
+    }
+}
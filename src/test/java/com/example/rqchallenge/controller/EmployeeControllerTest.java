@@ -1,23 +1,51 @@
 package com.example.rqchallenge.controller;
 
+import com.example.rqchallenge.employees.config.EncodedListHttpMessageConverter;
+import com.example.rqchallenge.employees.config.ExceptionController;
 import com.example.rqchallenge.employees.controller.EmployeeController;
+import com.example.rqchallenge.employees.dto.BatchResult;
 import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.dto.EncodedList;
+import com.example.rqchallenge.employees.dto.RefreshStatus;
+import com.example.rqchallenge.employees.exceptions.EmployeeNotExist;
+import com.example.rqchallenge.employees.exceptions.InvalidIdException;
+import com.example.rqchallenge.employees.exceptions.RateLimitExceededException;
+import com.example.rqchallenge.employees.exceptions.UpstreamUnavailableException;
 import com.example.rqchallenge.employees.service.EmployeeService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -32,10 +60,19 @@ public class EmployeeControllerTest {
 
     private MockMvc mockMvc;
 
+    private static final String ETAG = "\"test-1\"";
+
+    private static final String WEAK_ETAG = "W/" + ETAG;
+
     @BeforeEach
     public void setup() {
         MockitoAnnotations.openMocks(this);
-        mockMvc = MockMvcBuilders.standaloneSetup(employeeController).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(employeeController)
+                .setControllerAdvice(new ExceptionController())
+                .setMessageConverters(new EncodedListHttpMessageConverter(), new StringHttpMessageConverter(), new MappingJackson2HttpMessageConverter())
+                .build();
+        when(employeeService.getSnapshotETag()).thenReturn(ETAG);
+        when(employeeService.getSnapshotETagAsync()).thenReturn(CompletableFuture.completedFuture(ETAG));
     }
 
     @Test
@@ -45,15 +82,48 @@ public class EmployeeControllerTest {
                 new Employee("2", "Aditya Mehta", 60000, 25, "")
         );
 
-        when(employeeService.getAllEmployees()).thenReturn(employees);
+        when(employeeService.getAllEmployeesJson(false)).thenReturn(encoded(employees));
 
         mockMvc.perform(get("/"))
                 .andExpect(status().isOk())
                         .andExpect(status().isOk())
+                        .andExpect(content().contentType("application/json"))
                         .andExpect(jsonPath("$.length()").value(2));
 
     }
 
+    @Test
+    public void testStreamAllEmployees() throws Exception {
+        StreamingResponseBody body = out -> out.write("[]".getBytes(StandardCharsets.UTF_8));
+        when(employeeService.streamAllEmployees(10, 20, false)).thenReturn(body);
+
+        MvcResult result = mockMvc.perform(get("/stream").param("offset", "10").param("limit", "20"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(content().string("[]"));
+    }
+
+    @Test
+    public void testStreamAllEmployeesAsNdjson() throws Exception {
+        StreamingResponseBody body = out -> out.write("{}\n".getBytes(StandardCharsets.UTF_8));
+        when(employeeService.streamAllEmployees(eq(0), anyInt(), eq(true))).thenReturn(body);
+
+        MvcResult result = mockMvc.perform(get("/stream").header("Accept", "application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string("{}\n"));
+
+        verify(employeeService).streamAllEmployees(0, Integer.MAX_VALUE, true);
+    }
+
     @Test
     public void testGetEmployeesByNameSearch() throws Exception {
         List<Employee> employees = Arrays.asList(
@@ -67,6 +137,17 @@ public class EmployeeControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    public void testGetEmployeesByNamePrefix() throws Exception {
+        List<Employee> employees = Arrays.asList(new Employee("1", "Aarav Patel", 50000, 30, ""));
+
+        when(employeeService.searchEmployeesByPrefix("Aar", 5)).thenReturn(employees);
+
+        mockMvc.perform(get("/search/prefix/Aar").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
     @Test
     public void testGetEmployeeById() throws Exception {
         Employee employee = new Employee("1", "Aarav Patel", 50000, 30, "");
@@ -89,10 +170,40 @@ public class EmployeeControllerTest {
     public void testGetTopTenHighestEarningEmployeeNames() throws Exception {
         List<String> names = Arrays.asList("Aarav Patel", "Aditya Mehta");
 
-        when(employeeService.getTopTenHighestSalaryEmployeeNames()).thenReturn(names);
+        when(employeeService.getTopTenHighestSalaryEmployeeNamesJson()).thenReturn(encoded(names));
 
         mockMvc.perform(get("/topTenHighestEarningEmployeeNames"))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(jsonPath("$[1]").value("Aditya Mehta"));
+    }
+
+    @Test
+    public void testEncodedBodyIsWrittenAsIs() throws Exception {
+        List<String> names = Arrays.asList("Aarav Patel");
+        byte[] body = "[ \"Aarav Patel\" ]".getBytes(StandardCharsets.UTF_8);
+        when(employeeService.getTopTenHighestSalaryEmployeeNamesJson()).thenReturn(new EncodedList<>(names, body));
+
+        mockMvc.perform(get("/topTenHighestEarningEmployeeNames"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(header().longValue("Content-Length", body.length))
+                .andExpect(content().bytes(body));
+    }
+
+    @Test
+    public void testGetTopEarners() throws Exception {
+        List<Employee> employees = Arrays.asList(
+                new Employee("2", "Aditya Mehta", 60000, 25, ""),
+                new Employee("1", "Aarav Patel", 50000, 30, "")
+        );
+
+        when(employeeService.getTopEarners(2)).thenReturn(employees);
+
+        mockMvc.perform(get("/topEarners").param("k", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].employee_name").value("Aditya Mehta"));
     }
 
     @Test
@@ -113,10 +224,298 @@ public class EmployeeControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    public void testCreateEmployees() throws Exception {
+        List<BatchResult> results = Arrays.asList(
+                BatchResult.created(0, new Employee("1", "Aarav Patel", 50000, 30, "")),
+                BatchResult.failed(1, BatchResult.Status.INVALID, "Employee name cannot be blank or empty ")
+        );
+
+        when(employeeService.createEmployees(anyList())).thenReturn(results);
+
+        mockMvc.perform(post("/batch")
+                        .contentType("application/json")
+                        .content("[{\"employee_name\":\"Aarav Patel\", \"employee_salary\":50000, \"employee_age\":30}, {\"employee_salary\":1}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("created"))
+                .andExpect(jsonPath("$[0].employee.id").value("1"))
+                .andExpect(jsonPath("$[1].status").value("invalid"))
+                .andExpect(jsonPath("$[1].employee").doesNotExist());
+    }
+
+    @Test
+    public void testDeleteEmployees() throws Exception {
+        when(employeeService.deleteEmployees(Arrays.asList("1", "9"))).thenReturn(Arrays.asList(
+                BatchResult.deleted(0, "1"),
+                BatchResult.failed(1, "9", BatchResult.Status.NOT_FOUND, "Employee with ID 9 does not exist")
+        ));
+
+        mockMvc.perform(delete("/batch")
+                        .contentType("application/json")
+                        .content("[\"1\", \"9\"]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("deleted"))
+                .andExpect(jsonPath("$[1].id").value("9"))
+                .andExpect(jsonPath("$[1].status").value("not_found"));
+        verify(employeeService, never()).deleteEmployee(anyString());
+    }
+
     @Test
     public void testDeleteEmployeeById() throws Exception {
         mockMvc.perform(delete("/1"))
                 .andExpect(status().isOk())
                 .andExpect(content().string("Successfully! deleted Record"));
     }
+
+    @Test
+    public void testGetAllEmployeesAsync() throws Exception {
+        List<Employee> employees = Arrays.asList(
+                new Employee("1", "Aarav Patel", 50000, 30, ""),
+                new Employee("2", "Aditya Mehta", 60000, 25, "")
+        );
+        CompletableFuture<List<Employee>> pending = new CompletableFuture<>();
+        when(employeeService.getAllEmployeesAsync()).thenReturn(pending);
+
+        MvcResult result = mockMvc.perform(get("/async"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        pending.complete(employees);
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    public void testReadsCarrySnapshotETag() throws Exception {
+        when(employeeService.getHighestSalaryOfEmployee()).thenReturn(60000);
+
+        mockMvc.perform(get("/highestSalary"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", WEAK_ETAG))
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andExpect(content().string("60000"));
+    }
+
+    @Test
+    public void testMatchingIfNoneMatchAnswersNotModifiedWithoutReadingSnapshot() throws Exception {
+        mockMvc.perform(get("/").header("If-None-Match", "\"test-0\", " + ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", ETAG))
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/topTenHighestEarningEmployeeNames").header("If-None-Match", "W/" + ETAG))
+                .andExpect(status().isNotModified());
+
+        verify(employeeService, never()).getAllEmployeesJson(false);
+        verify(employeeService, never()).getTopTenHighestSalaryEmployeeNamesJson();
+    }
+
+    @Test
+    public void testStaleIfNoneMatchReturnsBody() throws Exception {
+        when(employeeService.getEmployeeById("1")).thenReturn(new Employee("1", "Aarav Patel", 50000, 30, ""));
+
+        mockMvc.perform(get("/1").header("If-None-Match", "\"test-0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", WEAK_ETAG))
+                .andExpect(jsonPath("$.id").value("1"));
+    }
+
+    @Test
+    public void testStreamETagDependsOnRepresentation() throws Exception {
+        mockMvc.perform(get("/stream").header("If-None-Match", "\"test-1-ndjson\"").header("Accept", "application/x-ndjson"))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"test-1-ndjson\""));
+
+        StreamingResponseBody body = out -> out.write("[]".getBytes(StandardCharsets.UTF_8));
+        when(employeeService.streamAllEmployees(0, Integer.MAX_VALUE, false)).thenReturn(body);
+        MvcResult result = mockMvc.perform(get("/stream").header("If-None-Match", "\"test-1-ndjson\""))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"test-1-json\""))
+                .andExpect(header().string("Vary", "Accept, Accept-Encoding"));
+        verify(employeeService, times(1)).streamAllEmployees(anyInt(), anyInt(), anyBoolean());
+    }
+
+    @Test
+    public void testGetAllEmployeesNegotiatesGzip() throws Exception {
+        List<Employee> employees = Arrays.asList(new Employee("1", "Aarav Patel", 50000, 30, ""));
+        byte[] compressed = gzip(json(employees));
+        when(employeeService.getAllEmployeesJson(true)).thenReturn(new EncodedList<>(employees, compressed));
+
+        mockMvc.perform(get("/").header("Accept-Encoding", "br;q=1.0, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Vary", "Accept-Encoding"))
+                .andExpect(header().string("ETag", "\"test-1-gzip\""))
+                .andExpect(content().bytes(compressed));
+
+        mockMvc.perform(get("/").header("Accept-Encoding", "gzip").header("If-None-Match", "\"test-1-gzip\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("Vary", "Accept-Encoding"));
+        verify(employeeService, times(1)).getAllEmployeesJson(true);
+    }
+
+    @Test
+    public void testGetAllEmployeesIdentityWhenGzipRefused() throws Exception {
+        when(employeeService.getAllEmployeesJson(false)).thenReturn(encoded(Arrays.asList()));
+
+        for (String acceptEncoding : Arrays.asList("identity", "gzip;q=0", "*;q=0", "*, gzip;q=0")) {
+            mockMvc.perform(get("/").header("Accept-Encoding", acceptEncoding))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist("Content-Encoding"))
+                    .andExpect(header().string("ETag", ETAG))
+                    .andExpect(header().string("Vary", "Accept-Encoding"));
+        }
+
+        // the identity tag does not validate the gzip representation
+        mockMvc.perform(get("/").header("Accept-Encoding", "*").header("If-None-Match", ETAG))
+                .andExpect(status().isOk());
+        verify(employeeService, times(1)).getAllEmployeesJson(true);
+    }
+
+    @Test
+    public void testStreamCompressesPageWithGzip() throws Exception {
+        StreamingResponseBody body = out -> out.write("[]".getBytes(StandardCharsets.UTF_8));
+        when(employeeService.streamAllEmployees(0, Integer.MAX_VALUE, false)).thenReturn(body);
+
+        MvcResult result = mockMvc.perform(get("/stream").header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        result = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("ETag", "\"test-1-json-gzip\""))
+                .andReturn();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            assertEquals("[]", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void testIfNoneMatchAnyAppliesToExistingEmployeeOnly() throws Exception {
+        when(employeeService.getEmployeeById("1")).thenReturn(new Employee("1", "Aarav Patel", 50000, 30, ""));
+        when(employeeService.getEmployeeById("9")).thenThrow(new EmployeeNotExist("Employee with ID 9 does not exist"));
+        when(employeeService.getEmployeeById("abc")).thenThrow(new InvalidIdException("Invalid ID format. ID should be a number."));
+
+        mockMvc.perform(get("/1").header("If-None-Match", "*"))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", WEAK_ETAG));
+        mockMvc.perform(get("/9").header("If-None-Match", "*"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/abc").header("If-None-Match", "*"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testAsyncReadAnswersNotModified() throws Exception {
+        MvcResult result = mockMvc.perform(get("/async/1").header("If-None-Match", ETAG))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", WEAK_ETAG));
+        verify(employeeService, never()).getEmployeeByIdAsync(anyString());
+    }
+
+    @Test
+    public void testDeleteEmployeeByIdAsync() throws Exception {
+        when(employeeService.deleteEmployeeAsync("1")).thenReturn(CompletableFuture.completedFuture(null));
+
+        MvcResult result = mockMvc.perform(delete("/async/1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Successfully! deleted Record"));
+    }
+
+    @Test
+    public void testDeleteEmployeeByIdWhenRateLimited() throws Exception {
+        doThrow(new RateLimitExceededException("Upstream rate limit exceeded", 1500)).when(employeeService).deleteEmployee("1");
+
+        mockMvc.perform(delete("/1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"));
+    }
+
+    @Test
+    public void testDeleteEmployeeByIdAsyncWhenRateLimited() throws Exception {
+        when(employeeService.deleteEmployeeAsync("1")).thenReturn(CompletableFuture.failedFuture(
+                new CompletionException(new RateLimitExceededException("Upstream rate limit exceeded", 1500))));
+
+        MvcResult result = mockMvc.perform(delete("/async/1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"));
+    }
+
+    @Test
+    public void testDeleteEmployeeByIdWhenCircuitOpen() throws Exception {
+        doThrow(new UpstreamUnavailableException("Employee API unavailable", 30000)).when(employeeService).deleteEmployee("1");
+
+        mockMvc.perform(delete("/1"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "30"));
+    }
+
+    @Test
+    public void testDeleteEmployeeByIdAsyncWhenCircuitOpen() throws Exception {
+        when(employeeService.deleteEmployeeAsync("1")).thenReturn(CompletableFuture.failedFuture(
+                new CompletionException(new UpstreamUnavailableException("Employee API unavailable", 30000))));
+
+        MvcResult result = mockMvc.perform(delete("/async/1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "30"));
+    }
+
+    @Test
+    public void testGetRefreshStatus() throws Exception {
+        RefreshStatus refreshStatus = new RefreshStatus();
+        refreshStatus.setRefreshPending(true);
+        refreshStatus.setPendingMutations(3);
+        refreshStatus.setDirtySince(1000L);
+        refreshStatus.setNextRefreshAt(61000L);
+        refreshStatus.setLastRefreshAt(500L);
+        refreshStatus.setSnapshotVersion(2L);
+        when(employeeService.getRefreshStatus()).thenReturn(refreshStatus);
+
+        mockMvc.perform(get("/refresh/status"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.refresh_pending").value(true))
+                .andExpect(jsonPath("$.pending_mutations").value(3))
+                .andExpect(jsonPath("$.next_refresh_at").value(61000))
+                .andExpect(jsonPath("$.last_refresh_at").value(500))
+                .andExpect(jsonPath("$.snapshot_version").value(2));
+    }
+
+    private static byte[] json(Object value) throws JsonProcessingException {
+        return new ObjectMapper().writeValueAsBytes(value);
+    }
+
+    private static <T> EncodedList<T> encoded(List<T> elements) throws JsonProcessingException {
+        return new EncodedList<>(elements, json(elements));
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
 }
@@ -1,18 +1,39 @@
 package com.example.rqchallenge.service;
 
+import com.example.rqchallenge.employees.client.AsyncEmployeeClient;
 import com.example.rqchallenge.employees.client.EmployeeClient;
+import com.example.rqchallenge.employees.dto.BatchResult;
 import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.dto.EncodedList;
 import com.example.rqchallenge.employees.exceptions.EmployeeNotExist;
 import com.example.rqchallenge.employees.exceptions.InvalidIdException;
+import com.example.rqchallenge.employees.exceptions.InvalidParameterException;
+import com.example.rqchallenge.employees.exceptions.RateLimitExceededException;
+import com.example.rqchallenge.employees.exceptions.UpstreamUnavailableException;
+import com.example.rqchallenge.employees.helper.BatchExecutor;
 import com.example.rqchallenge.employees.service.EmployeeService;
+import com.example.rqchallenge.employees.snapshot.EmployeeResponseCache;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshotCache;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshotRefresher;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 
 import javax.validation.ValidationException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -22,12 +43,25 @@ public class EmployeeServiceTest {
     @Mock
     private EmployeeClient employeeClient;
 
+    @Mock
+    private AsyncEmployeeClient asyncEmployeeClient;
+
     @InjectMocks
     private EmployeeService employeeService;
 
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
+        EmployeeSnapshotCache employeeSnapshotCache = new EmployeeSnapshotCache(employeeClient, 30000, Runnable::run);
+        ReflectionTestUtils.setField(employeeService, "employeeSnapshotCache", employeeSnapshotCache);
+        ReflectionTestUtils.setField(employeeService, "employeeSnapshotRefresher",
+                new EmployeeSnapshotRefresher(employeeSnapshotCache, 60000));
+        ReflectionTestUtils.setField(employeeService, "employeeResponseCache", new EmployeeResponseCache(new ObjectMapper()));
+        ReflectionTestUtils.setField(employeeService, "batchExecutor", new BatchExecutor(4, Runnable::run));
+        ReflectionTestUtils.setField(employeeService, "maxBatchSize", 10);
+        ReflectionTestUtils.setField(employeeService, "maxBatchRetries", 3);
+        ReflectionTestUtils.setField(employeeService, "batchBackoffMillis", 1L);
+        ReflectionTestUtils.setField(employeeService, "batchMaxWaitMillis", 1000L);
     }
 
     @Test
@@ -57,6 +91,62 @@ public class EmployeeServiceTest {
         assertEquals("Error occurred while fetching employees", exception.getMessage());
     }
 
+    @Test
+    public void testStreamAllEmployeesAsJsonArray() throws Exception {
+        List<Employee> employees = Arrays.asList(
+                new Employee("1", "Aarav Patel", 50000, 30, ""),
+                new Employee("2", "Aditya Mehta", 60000, 25, ""),
+                new Employee("3", "Diya Sharma", 70000, 28, "")
+        );
+
+        when(employeeClient.fetchAllEmployees()).thenReturn(employees);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        employeeService.streamAllEmployees(1, 5, false).writeTo(out);
+
+        assertEquals("[{\"id\":\"2\",\"employee_name\":\"Aditya Mehta\",\"employee_salary\":60000,\"employee_age\":25,\"profile_image\":\"\"},"
+                + "{\"id\":\"3\",\"employee_name\":\"Diya Sharma\",\"employee_salary\":70000,\"employee_age\":28,\"profile_image\":\"\"}]",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testStreamAllEmployeesAsNdjson() throws Exception {
+        List<Employee> employees = Arrays.asList(
+                new Employee("1", "Aarav Patel", 50000, 30, ""),
+                new Employee("2", null, 60000, 25, "")
+        );
+
+        when(employeeClient.fetchAllEmployees()).thenReturn(employees);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        employeeService.streamAllEmployees(0, 10, true).writeTo(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("{\"id\":\"1\",\"employee_name\":\"Aarav Patel\",\"employee_salary\":50000,\"employee_age\":30,\"profile_image\":\"\"}", lines[0]);
+        assertEquals("{\"id\":\"2\",\"employee_name\":null,\"employee_salary\":60000,\"employee_age\":25,\"profile_image\":\"\"}", lines[1]);
+    }
+
+    @Test
+    public void testStreamAllEmployeesWhenOffsetPastEnd() throws Exception {
+        when(employeeClient.fetchAllEmployees()).thenReturn(Arrays.asList(new Employee("1", "Aarav Patel", 50000, 30, "")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        employeeService.streamAllEmployees(5, 10, false).writeTo(out);
+
+        assertEquals("[]", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testStreamAllEmployeesWhenInvalidOffset() {
+        Exception exception = assertThrows(InvalidParameterException.class, () -> {
+            employeeService.streamAllEmployees(-1, 10, false);
+        });
+
+        assertEquals("Offset should not be negative.", exception.getMessage());
+        verifyNoInteractions(employeeClient);
+    }
+
     @Test
     public void testSearchEmployeesByName() {
         List<Employee> employees = Arrays.asList(
@@ -83,6 +173,34 @@ public class EmployeeServiceTest {
         assertEquals("Error occurred while fetching employees by name Aditya", exception.getMessage());
     }
 
+    @Test
+    public void testSearchEmployeesByPrefix() {
+        List<Employee> employees = Arrays.asList(
+                new Employee("1", "Aarav Patel", 50000, 30, ""),
+                new Employee("2", "Aditya Mehta", 60000, 25, ""),
+                new Employee("3", "Isha Sharma", 65000, 25, ""),
+                new Employee("4", "aarti Rao", 45000, 28, "")
+        );
+
+        when(employeeClient.fetchAllEmployees()).thenReturn(employees);
+
+        List<Employee> result = employeeService.searchEmployeesByPrefix("AAR", 10);
+
+        assertEquals(2, result.size());
+        assertEquals("Aarav Patel", result.get(0).getEmployeeName());
+        assertEquals("aarti Rao", result.get(1).getEmployeeName());
+        assertEquals(1, employeeService.searchEmployeesByPrefix("a", 1).size());
+    }
+
+    @Test
+    public void testSearchEmployeesByPrefixWhenInvalidLimit() {
+        Exception exception = assertThrows(InvalidParameterException.class, () -> {
+            employeeService.searchEmployeesByPrefix("Aar", 0);
+        });
+
+        assertEquals("Limit should be greater than zero.", exception.getMessage());
+    }
+
     @Test
     public void testGetEmployeeById() {
         List<Employee> employees = Arrays.asList(
@@ -203,6 +321,61 @@ public class EmployeeServiceTest {
         assertEquals("Error occurred while fetching all employees with top ten salary", exception.getMessage());
     }
 
+    @Test
+    public void testGetTopEarners() {
+        List<Employee> employees = Arrays.asList(
+                new Employee("1", "Aarav Patel", 50000, 30, ""),
+                new Employee("2", "Aditya Mehta", 60000, 25, ""),
+                new Employee("3", "Isha Sharma", 65000, 25, "")
+        );
+
+        when(employeeClient.fetchAllEmployees()).thenReturn(employees);
+
+        List<Employee> result = employeeService.getTopEarners(2);
+
+        assertEquals(2, result.size());
+        assertEquals("Isha Sharma", result.get(0).getEmployeeName());
+        assertEquals("Aditya Mehta", result.get(1).getEmployeeName());
+    }
+
+    @Test
+    public void testGetTopEarnersWhenInvalidK() {
+        Exception exception = assertThrows(InvalidParameterException.class, () -> {
+            employeeService.getTopEarners(0);
+        });
+
+        assertEquals("Number of top earners should be greater than zero.", exception.getMessage());
+        verify(employeeClient, never()).fetchAllEmployees();
+    }
+
+    @Test
+    public void testGetTopEarnersForEmptyList() {
+        when(employeeClient.fetchAllEmployees()).thenReturn(Collections.emptyList());
+
+        Exception exception = assertThrows(EmployeeNotExist.class, () -> {
+            employeeService.getTopEarners(5);
+        });
+
+        assertEquals("No employees found in the list", exception.getMessage());
+    }
+
+    @Test
+    public void testGetTopEmployeesByAge() {
+        List<Employee> employees = Arrays.asList(
+                new Employee("1", "Aarav Patel", 50000, 30, ""),
+                new Employee("2", "Aditya Mehta", 60000, 25, ""),
+                new Employee("3", "Isha Sharma", 65000, 41, "")
+        );
+
+        when(employeeClient.fetchAllEmployees()).thenReturn(employees);
+
+        List<Employee> result = employeeService.getTopEmployeesByAge(2);
+
+        assertEquals(2, result.size());
+        assertEquals("Isha Sharma", result.get(0).getEmployeeName());
+        assertEquals("Aarav Patel", result.get(1).getEmployeeName());
+    }
+
     @Test
     public void testCreateEmployee() {
         Map<String, Object> input = new HashMap<>();
@@ -254,6 +427,174 @@ public class EmployeeServiceTest {
         assertEquals("Create error", exception.getMessage());
     }
 
+    @Test
+    public void testCreateEmployees() {
+        when(employeeClient.fetchAllEmployees()).thenReturn(Arrays.asList(new Employee("1", "Aarav Patel", 50000, 30, "")));
+        when(employeeClient.tryCreateEmployee(any(Employee.class))).thenAnswer(invocation -> {
+            Employee employee = invocation.getArgument(0);
+            return new Employee(String.valueOf(100 + employee.getEmployeeAge()), employee.getEmployeeName(),
+                    employee.getEmployeeSalary(), employee.getEmployeeAge(), employee.getProfileImage());
+        });
+        employeeService.getAllEmployees();
+
+        List<BatchResult> results = employeeService.createEmployees(Arrays.asList(
+                employeeInput("Sunil kadam", 40000, 30),
+                employeeInput("", 40000, 31),
+                employeeInput("Diya Sharma", 70000, 28)
+        ));
+
+        assertEquals(3, results.size());
+        assertEquals(BatchResult.Status.CREATED, results.get(0).getStatus());
+        assertEquals("130", results.get(0).getEmployee().getId());
+        assertEquals(BatchResult.Status.INVALID, results.get(1).getStatus());
+        assertEquals(1, results.get(1).getIndex());
+        assertEquals(BatchResult.Status.CREATED, results.get(2).getStatus());
+        assertEquals("Diya Sharma", employeeService.getEmployeeById("128").getEmployeeName());
+        assertEquals(1, employeeService.getRefreshStatus().getPendingMutations());
+        verify(employeeClient, times(2)).tryCreateEmployee(any(Employee.class));
+        verify(employeeClient, never()).createEmployee(any(Employee.class));
+    }
+
+    @Test
+    public void testCreateEmployeesRetriesRateLimitedItem() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "0");
+        when(employeeClient.tryCreateEmployee(any(Employee.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", headers, null, null))
+                .thenReturn(new Employee("101", "Sunil kadam", 40000, 30, ""));
+
+        List<BatchResult> results = employeeService.createEmployees(Arrays.asList(employeeInput("Sunil kadam", 40000, 30)));
+
+        assertEquals(BatchResult.Status.CREATED, results.get(0).getStatus());
+        verify(employeeClient, times(2)).tryCreateEmployee(any(Employee.class));
+    }
+
+    @Test
+    public void testCreateEmployeesSharesRateLimitBudget() {
+        when(employeeClient.tryCreateEmployee(any(Employee.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", new HttpHeaders(), null, null));
+
+        List<BatchResult> results = employeeService.createEmployees(Arrays.asList(
+                employeeInput("Sunil kadam", 40000, 30),
+                employeeInput("Diya Sharma", 70000, 28)
+        ));
+
+        assertEquals(BatchResult.Status.RATE_LIMITED, results.get(0).getStatus());
+        assertEquals(BatchResult.Status.RATE_LIMITED, results.get(1).getStatus());
+        verify(employeeClient, times(5)).tryCreateEmployee(any(Employee.class));
+        assertFalse(employeeService.getRefreshStatus().isRefreshPending());
+    }
+
+    @Test
+    public void testCreateEmployeesGivesUpOnLongRetryAfter() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "3600");
+        when(employeeClient.tryCreateEmployee(any(Employee.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", headers, null, null));
+
+        long start = System.nanoTime();
+        List<BatchResult> results = employeeService.createEmployees(Arrays.asList(
+                employeeInput("Sunil kadam", 40000, 30),
+                employeeInput("Diya Sharma", 70000, 28)
+        ));
+
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertEquals(BatchResult.Status.RATE_LIMITED, results.get(0).getStatus());
+        assertEquals(BatchResult.Status.RATE_LIMITED, results.get(1).getStatus());
+        verify(employeeClient, times(1)).tryCreateEmployee(any(Employee.class));
+    }
+
+    @Test
+    public void testCreateEmployeesWhenUpstreamFails() {
+        when(employeeClient.tryCreateEmployee(any(Employee.class))).thenThrow(new RuntimeException("Error creating employee: Bad Request"));
+
+        List<BatchResult> results = employeeService.createEmployees(Arrays.asList(employeeInput("Sunil kadam", 40000, 30)));
+
+        assertEquals(BatchResult.Status.FAILED, results.get(0).getStatus());
+        assertEquals("Error creating employee: Bad Request", results.get(0).getError());
+        verify(employeeClient, times(1)).tryCreateEmployee(any(Employee.class));
+    }
+
+    @Test
+    public void testCreateEmployeesWhenBatchSizeInvalid() {
+        List<Map<String, Object>> tooMany = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            tooMany.add(employeeInput("Sunil kadam", 40000, 30));
+        }
+
+        Exception empty = assertThrows(InvalidParameterException.class, () -> employeeService.createEmployees(new ArrayList<>()));
+        Exception large = assertThrows(InvalidParameterException.class, () -> employeeService.createEmployees(tooMany));
+
+        assertEquals("Batch should contain at least one item.", empty.getMessage());
+        assertEquals("Batch should not contain more than 10 items.", large.getMessage());
+        verifyNoInteractions(employeeClient);
+    }
+
+    @Test
+    public void testDeleteEmployees() {
+        when(employeeClient.fetchAllEmployees()).thenReturn(Arrays.asList(
+                new Employee("1", "Aarav Patel", 50000, 30, ""),
+                new Employee("2", "Aditya Mehta", 60000, 25, ""),
+                new Employee("3", "Diya Sharma", 70000, 28, "")
+        ));
+        when(employeeClient.tryDeleteEmployeeById("1")).thenReturn(true);
+        when(employeeClient.tryDeleteEmployeeById("3")).thenReturn(true);
+        when(employeeClient.tryDeleteEmployeeById("9")).thenReturn(false);
+        when(employeeClient.tryDeleteEmployeeById("2")).thenThrow(new RuntimeException("Exception occurred while deleting employee"));
+        employeeService.getAllEmployees();
+        long version = employeeService.getRefreshStatus().getSnapshotVersion();
+
+        List<BatchResult> results = employeeService.deleteEmployees(Arrays.asList("1", "9", "2", "3"));
+
+        assertEquals(Arrays.asList(BatchResult.Status.DELETED, BatchResult.Status.NOT_FOUND, BatchResult.Status.FAILED, BatchResult.Status.DELETED),
+                Arrays.asList(results.get(0).getStatus(), results.get(1).getStatus(), results.get(2).getStatus(), results.get(3).getStatus()));
+        assertEquals("9", results.get(1).getId());
+        assertEquals("Exception occurred while deleting employee", results.get(2).getError());
+        assertEquals(1, employeeService.getAllEmployees().size());
+        assertEquals(version + 1, employeeService.getRefreshStatus().getSnapshotVersion());
+        assertEquals(1, employeeService.getRefreshStatus().getPendingMutations());
+        verify(employeeClient, never()).deleteEmployeeById(anyString());
+    }
+
+    @Test
+    public void testDeleteEmployeesWhenRateLimited() {
+        when(employeeClient.tryDeleteEmployeeById(anyString()))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", new HttpHeaders(), null, null));
+
+        List<BatchResult> results = employeeService.deleteEmployees(Arrays.asList("1", "2"));
+
+        assertEquals(BatchResult.Status.RATE_LIMITED, results.get(0).getStatus());
+        assertEquals(BatchResult.Status.RATE_LIMITED, results.get(1).getStatus());
+        verify(employeeClient, times(5)).tryDeleteEmployeeById(anyString());
+        assertFalse(employeeService.getRefreshStatus().isRefreshPending());
+    }
+
+    @Test
+    public void testDeleteEmployeesRejectsInvalidIds() {
+        for (List<String> ids : Arrays.asList(Arrays.asList("1", null), Arrays.asList("1", " "), Arrays.asList("abc"))) {
+            assertThrows(InvalidIdException.class, () -> employeeService.deleteEmployees(ids));
+        }
+        assertThrows(InvalidIdException.class, () -> employeeService.deleteEmployee("null"));
+
+        verify(employeeClient, never()).tryDeleteEmployeeById(any());
+        verify(employeeClient, never()).deleteEmployeeById(any());
+    }
+
+    @Test
+    public void testDeleteEmployeesWhenBatchEmpty() {
+        Exception exception = assertThrows(InvalidParameterException.class, () -> employeeService.deleteEmployees(null));
+
+        assertEquals("Batch should contain at least one item.", exception.getMessage());
+    }
+
+    private Map<String, Object> employeeInput(String name, int salary, int age) {
+        Map<String, Object> input = new HashMap<>();
+        input.put("employee_name", name);
+        input.put("employee_salary", salary);
+        input.put("employee_age", age);
+        return input;
+    }
+
     @Test
     public void testDeleteEmployee() {
         doNothing().when(employeeClient).deleteEmployeeById("103");
@@ -261,6 +602,85 @@ public class EmployeeServiceTest {
         employeeService.deleteEmployee("103");
 
         verify(employeeClient, times(1)).deleteEmployeeById("103");
+        assertTrue(employeeService.getRefreshStatus().isRefreshPending());
+        assertEquals(1, employeeService.getRefreshStatus().getPendingMutations());
+        verify(employeeClient, never()).fetchAllEmployees();
+    }
+
+    @Test
+    public void testCreateAndDeleteAreVisibleWithoutRefetch() {
+        List<Employee> employees = Arrays.asList(
+                new Employee("1", "Aarav Patel", 50000, 30, ""),
+                new Employee("2", "Aditya Mehta", 60000, 25, "")
+        );
+        when(employeeClient.fetchAllEmployees()).thenReturn(employees);
+        when(employeeClient.createEmployee(any(Employee.class)))
+                .thenReturn(new Employee("101", "Sunil kadam", 90000, 30, ""));
+        employeeService.getAllEmployees();
+
+        Map<String, Object> input = new HashMap<>();
+        input.put("employee_name", "Sunil kadam");
+        input.put("employee_salary", 90000);
+        input.put("employee_age", 30);
+        input.put("profile_image", "");
+        employeeService.createEmployee(input);
+        employeeService.deleteEmployee("1");
+
+        assertEquals("Sunil kadam", employeeService.getEmployeeById("101").getEmployeeName());
+        assertEquals(90000, employeeService.getHighestSalaryOfEmployee());
+        assertThrows(EmployeeNotExist.class, () -> employeeService.getEmployeeById("1"));
+        assertEquals(2, employeeService.getAllEmployees().size());
+        verify(employeeClient, times(1)).fetchAllEmployees();
+    }
+
+    @Test
+    public void testGetAllEmployeesJsonIsEncodedOncePerSnapshot() throws Exception {
+        List<Employee> employees = Arrays.asList(
+                new Employee("1", "Aarav Patel", 50000, 30, ""),
+                new Employee("2", null, 60000, 25, null)
+        );
+        when(employeeClient.fetchAllEmployees()).thenReturn(employees);
+
+        EncodedList<Employee> first = employeeService.getAllEmployeesJson(false);
+        EncodedList<Employee> second = employeeService.getAllEmployeesJson(false);
+
+        assertArrayEquals(new ObjectMapper().writeValueAsBytes(employees), first.getEncoded());
+        assertSame(first.getEncoded(), second.getEncoded());
+        assertEquals(employees, first);
+    }
+
+    @Test
+    public void testEncodedBodiesFollowLocalChanges() {
+        List<Employee> employees = Arrays.asList(
+                new Employee("1", "Aarav Patel", 50000, 30, ""),
+                new Employee("2", "Aditya Mehta", 60000, 25, "")
+        );
+        when(employeeClient.fetchAllEmployees()).thenReturn(employees);
+        when(employeeClient.createEmployee(any(Employee.class)))
+                .thenReturn(new Employee("101", "Sunil kadam", 90000, 30, ""));
+        assertEquals("[\"Aditya Mehta\",\"Aarav Patel\"]",
+                new String(employeeService.getTopTenHighestSalaryEmployeeNamesJson().getEncoded(), StandardCharsets.UTF_8));
+
+        Map<String, Object> input = new HashMap<>();
+        input.put("employee_name", "Sunil kadam");
+        input.put("employee_salary", 90000);
+        input.put("employee_age", 30);
+        input.put("profile_image", "");
+        employeeService.createEmployee(input);
+
+        EncodedList<String> names = employeeService.getTopTenHighestSalaryEmployeeNamesJson();
+        assertEquals("[\"Sunil kadam\",\"Aditya Mehta\",\"Aarav Patel\"]", new String(names.getEncoded(), StandardCharsets.UTF_8));
+        assertEquals(Arrays.asList("Sunil kadam", "Aditya Mehta", "Aarav Patel"), names);
+        assertTrue(new String(employeeService.getAllEmployeesJson(false).getEncoded(), StandardCharsets.UTF_8).contains("\"id\":\"101\""));
+    }
+
+    @Test
+    public void testEncodedBodiesForEmptyList() {
+        when(employeeClient.fetchAllEmployees()).thenReturn(Collections.emptyList());
+
+        assertEquals("[]", new String(employeeService.getAllEmployeesJson(false).getEncoded(), StandardCharsets.UTF_8));
+        Exception exception = assertThrows(EmployeeNotExist.class, () -> employeeService.getTopTenHighestSalaryEmployeeNamesJson());
+        assertEquals("No employees found in the list", exception.getMessage());
     }
 
     @Test
@@ -273,4 +693,104 @@ public class EmployeeServiceTest {
 
         assertEquals("Error occurred while deleting employee by id 103", exception.getMessage());
     }
+
+    @Test
+    public void testDeleteEmployeeWhenRateLimited() {
+        RateLimitExceededException limited = new RateLimitExceededException("Upstream rate limit exceeded", 1500);
+        doThrow(limited).when(employeeClient).deleteEmployeeById("103");
+
+        RateLimitExceededException exception = assertThrows(RateLimitExceededException.class, () -> employeeService.deleteEmployee("103"));
+
+        assertSame(limited, exception);
+        assertFalse(employeeService.getRefreshStatus().isRefreshPending());
+    }
+
+    @Test
+    public void testDeleteEmployeeWhenCircuitOpen() {
+        UpstreamUnavailableException unavailable = new UpstreamUnavailableException("Employee API unavailable", 30000);
+        doThrow(unavailable).when(employeeClient).deleteEmployeeById("103");
+
+        UpstreamUnavailableException exception = assertThrows(UpstreamUnavailableException.class, () -> employeeService.deleteEmployee("103"));
+
+        assertSame(unavailable, exception);
+    }
+
+    @Test
+    public void testGetAllEmployeesAsync() {
+        List<Employee> employees = Arrays.asList(
+                new Employee("1", "Aarav Patel", 50000, 30, ""),
+                new Employee("2", "Aditya Mehta", 60000, 25, "")
+        );
+
+        when(employeeClient.fetchAllEmployees()).thenReturn(employees);
+
+        List<Employee> result = employeeService.getAllEmployeesAsync().join();
+
+        assertEquals(employees, result);
+    }
+
+    @Test
+    public void testGetEmployeeByIdAsyncWhenEmployeeNotExist() {
+        when(employeeClient.fetchAllEmployees()).thenReturn(Arrays.asList(new Employee("1", "Aarav Patel", 50000, 30, "")));
+
+        CompletionException exception = assertThrows(CompletionException.class, () -> {
+            employeeService.getEmployeeByIdAsync("2").join();
+        });
+
+        assertInstanceOf(EmployeeNotExist.class, exception.getCause());
+        assertEquals("Employee with ID 2 does not exist", exception.getCause().getMessage());
+    }
+
+    @Test
+    public void testCreateEmployeeAsync() {
+        Map<String, Object> input = new HashMap<>();
+        input.put("employee_name", "Sunil kadam");
+        input.put("employee_salary", 40000);
+        input.put("employee_age", 30);
+        Employee employee = new Employee("1", "Sunil kadam", 40000, 30, "");
+
+        when(asyncEmployeeClient.createEmployee(any(Employee.class))).thenReturn(CompletableFuture.completedFuture(employee));
+
+        Employee result = employeeService.createEmployeeAsync(input).join();
+
+        assertEquals("Sunil kadam", result.getEmployeeName());
+        assertTrue(employeeService.getRefreshStatus().isRefreshPending());
+    }
+
+    @Test
+    public void testDeleteEmployeeAsyncWhenException() {
+        when(asyncEmployeeClient.deleteEmployeeById("103")).thenReturn(CompletableFuture.failedFuture(new RuntimeException("Delete error")));
+
+        CompletionException exception = assertThrows(CompletionException.class, () -> {
+            employeeService.deleteEmployeeAsync("103").join();
+        });
+
+        assertEquals("Error occurred while deleting employee by id 103", exception.getCause().getMessage());
+        assertFalse(employeeService.getRefreshStatus().isRefreshPending());
+    }
+
+    @Test
+    public void testDeleteEmployeeAsyncWhenRateLimited() {
+        RateLimitExceededException limited = new RateLimitExceededException("Upstream rate limit exceeded", 1500);
+        when(asyncEmployeeClient.deleteEmployeeById("103")).thenReturn(CompletableFuture.failedFuture(limited));
+
+        CompletionException exception = assertThrows(CompletionException.class, () -> {
+            employeeService.deleteEmployeeAsync("103").join();
+        });
+
+        assertSame(limited, exception.getCause());
+        assertFalse(employeeService.getRefreshStatus().isRefreshPending());
+    }
+
+    @Test
+    public void testDeleteEmployeeAsyncWhenCircuitOpen() {
+        UpstreamUnavailableException unavailable = new UpstreamUnavailableException("Employee API unavailable", 30000);
+        when(asyncEmployeeClient.deleteEmployeeById("103")).thenReturn(CompletableFuture.failedFuture(unavailable));
+
+        CompletionException exception = assertThrows(CompletionException.class, () -> {
+            employeeService.deleteEmployeeAsync("103").join();
+        });
+
+        assertSame(unavailable, exception.getCause());
+    }
 }
@@ -0,0 +1,63 @@
+package com.example.rqchallenge.snapshot;
+
+import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.snapshot.EmployeeIdIndex;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmployeeIdIndexTest {
+
+    @Test
+    public void testParseId() {
+        assertEquals(0, EmployeeIdIndex.parseId("0"));
+        assertEquals(1234, EmployeeIdIndex.parseId("1234"));
+        assertEquals(-1, EmployeeIdIndex.parseId("01"));
+        assertEquals(-1, EmployeeIdIndex.parseId("1.5"));
+        assertEquals(-1, EmployeeIdIndex.parseId("-1"));
+        assertEquals(-1, EmployeeIdIndex.parseId(""));
+        assertEquals(-1, EmployeeIdIndex.parseId(null));
+    }
+
+    @Test
+    public void testRowOf() {
+        long[] ids = new long[1000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i * 7L;
+        }
+
+        EmployeeIdIndex index = EmployeeIdIndex.build(ids);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, index.rowOf(i * 7L));
+        }
+        assertEquals(EmployeeIdIndex.NOT_FOUND, index.rowOf(3));
+        assertEquals(EmployeeIdIndex.NOT_FOUND, index.rowOf(7000));
+    }
+
+    @Test
+    public void testFirstDuplicateWins() {
+        EmployeeIdIndex index = EmployeeIdIndex.build(new long[]{-1, 5, 5});
+
+        assertEquals(1, index.rowOf(5));
+    }
+
+    @Test
+    public void testFindByIdMatchesNonCanonicalIds() {
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(1, Instant.now(), Arrays.asList(
+                new Employee("1", "Aarav Patel", 50000, 30, ""),
+                new Employee("01", "Aditya Mehta", 60000, 25, ""),
+                new Employee("1e3", "Isha Sharma", 65000, 25, "")
+        ));
+
+        assertEquals("Aarav Patel", snapshot.findById("1").get().getEmployeeName());
+        assertEquals("Aditya Mehta", snapshot.findById("01").get().getEmployeeName());
+        assertFalse(snapshot.findById("2").isPresent());
+        assertEquals("Isha Sharma", snapshot.findById("1E3").get().getEmployeeName());
+        assertFalse(snapshot.findById("1.0").isPresent());
+    }
+}
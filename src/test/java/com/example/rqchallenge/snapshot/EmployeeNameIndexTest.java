@@ -0,0 +1,49 @@
+package com.example.rqchallenge.snapshot;
+
+import com.example.rqchallenge.employees.snapshot.CharPool;
+import com.example.rqchallenge.employees.snapshot.EmployeeNameIndex;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmployeeNameIndexTest {
+
+    private static final String[] NAMES = {"Aarav Patel", "Aditya Mehta", "Isha Sharma", "Kabir Rao", "Meera Iyer", "Rohan Mehra"};
+
+    @Test
+    public void testSearch() {
+        EmployeeNameIndex index = EmployeeNameIndex.build(CharPool.of(normalize(NAMES)));
+
+        assertArrayEquals(new int[]{1, 5}, index.search("meh"));
+        assertArrayEquals(new int[]{1}, index.search("mehta"));
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4, 5}, index.search(""));
+        assertArrayEquals(new int[]{0, 3, 4, 5}, index.search("ra"));
+        assertArrayEquals(new int[0], index.search("xyz"));
+        assertArrayEquals(new int[0], index.search("patel aditya"));
+    }
+
+    @Test
+    public void testSearchMatchesContainsScan() {
+        Random random = new Random(7);
+        String[] names = new String[5000];
+        for (int row = 0; row < names.length; row++) {
+            names[row] = NAMES[random.nextInt(NAMES.length)] + " " + Integer.toString(random.nextInt(100000), 36);
+        }
+        String[] normalized = normalize(names);
+        EmployeeNameIndex index = EmployeeNameIndex.build(CharPool.of(normalized));
+
+        for (String query : new String[]{"a", "ar", "ara", "aarav", "a p", "mehta 1", "1", "zz", "ma k", "iyer a1"}) {
+            int[] expected = IntStream.range(0, normalized.length).filter(row -> normalized[row].contains(query)).toArray();
+            assertArrayEquals(expected, index.search(query), query);
+        }
+    }
+
+    private String[] normalize(String[] names) {
+        return Arrays.stream(names).map(EmployeeSnapshot::normalizeName).toArray(String[]::new);
+    }
+}
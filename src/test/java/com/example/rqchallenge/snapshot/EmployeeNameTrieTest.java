@@ -0,0 +1,63 @@
+package com.example.rqchallenge.snapshot;
+
+import com.example.rqchallenge.employees.snapshot.CharPool;
+import com.example.rqchallenge.employees.snapshot.EmployeeNameTrie;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmployeeNameTrieTest {
+
+    @Test
+    public void testFind() {
+        String[] names = {"aditya mehta", "aarav patel", "isha sharma", "aarav", "aarti rao", "aarav patel"};
+        EmployeeNameTrie trie = EmployeeNameTrie.build(CharPool.of(names));
+
+        assertArrayEquals(new int[]{3, 1, 5, 4}, rows(trie, "aar"));
+        assertArrayEquals(new int[]{3, 1, 5}, rows(trie, "aarav"));
+        assertArrayEquals(new int[]{1, 5}, rows(trie, "aarav "));
+        assertArrayEquals(new int[]{3, 1, 5, 4, 0, 2}, rows(trie, ""));
+        assertEquals(EmployeeNameTrie.NO_MATCH, trie.find("aarc"));
+        assertEquals(EmployeeNameTrie.NO_MATCH, trie.find("aarav patel jr"));
+        assertEquals(EmployeeNameTrie.NO_MATCH, trie.find("z"));
+    }
+
+    @Test
+    public void testFindOnEmptyTrie() {
+        EmployeeNameTrie trie = EmployeeNameTrie.build(CharPool.of());
+
+        assertEquals(EmployeeNameTrie.NO_MATCH, trie.find("a"));
+        assertEquals(EmployeeNameTrie.NO_MATCH, trie.find(""));
+    }
+
+    @Test
+    public void testFindMatchesSortedScan() {
+        Random random = new Random(3);
+        String[] names = new String[3000];
+        for (int row = 0; row < names.length; row++) {
+            names[row] = Integer.toString(random.nextInt(5000), 5);
+        }
+        EmployeeNameTrie trie = EmployeeNameTrie.build(CharPool.of(names));
+
+        for (String prefix : new String[]{"1", "12", "123", "4", "40", "0", "2222", "31"}) {
+            int[] expected = IntStream.range(0, names.length).boxed()
+                    .filter(row -> names[row].startsWith(prefix))
+                    .sorted(Comparator.comparing((Integer row) -> names[row]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            assertArrayEquals(expected, rows(trie, prefix), prefix);
+        }
+    }
+
+    private int[] rows(EmployeeNameTrie trie, String prefix) {
+        int node = trie.find(prefix);
+        if (node == EmployeeNameTrie.NO_MATCH) {
+            return new int[0];
+        }
+        return IntStream.range(trie.rangeStart(node), trie.rangeEnd(node)).map(trie::rowAt).toArray();
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.rqchallenge.snapshot;
+
+import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.snapshot.EmployeeResponseCache;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmployeeResponseCacheTest {
+
+    private final List<Employee> employees = Arrays.asList(
+            new Employee("1", "Aarav Patel", 50000, 30, ""),
+            new Employee("2", "Aditya Mehta", 60000, 25, "")
+    );
+
+    private final EmployeeResponseCache cache = new EmployeeResponseCache(new ObjectMapper());
+
+    @Test
+    public void testBodiesAreEncodedOncePerSnapshot() {
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(1, Instant.now(), employees);
+
+        byte[] all = cache.get(snapshot, EmployeeResponseCache.Body.ALL_EMPLOYEES);
+        byte[] names = cache.get(snapshot, EmployeeResponseCache.Body.TOP_TEN_NAMES);
+
+        assertSame(all, cache.get(snapshot, EmployeeResponseCache.Body.ALL_EMPLOYEES));
+        assertSame(names, cache.get(snapshot, EmployeeResponseCache.Body.TOP_TEN_NAMES));
+        assertEquals("[\"Aditya Mehta\",\"Aarav Patel\"]", new String(names, StandardCharsets.UTF_8));
+        assertEquals(2, cache.getMisses());
+        assertEquals(2, cache.getHits());
+    }
+
+    @Test
+    public void testNewerSnapshotReplacesBodies() {
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(1, Instant.now(), employees);
+        byte[] before = cache.get(snapshot, EmployeeResponseCache.Body.TOP_TEN_NAMES);
+
+        EmployeeSnapshot changed = snapshot.withEmployee(2, new Employee("3", "Diya Sharma", 70000, 28, ""));
+        byte[] after = cache.get(changed, EmployeeResponseCache.Body.TOP_TEN_NAMES);
+
+        assertEquals("[\"Aditya Mehta\",\"Aarav Patel\"]", new String(before, StandardCharsets.UTF_8));
+        assertEquals("[\"Diya Sharma\",\"Aditya Mehta\",\"Aarav Patel\"]", new String(after, StandardCharsets.UTF_8));
+        assertSame(after, cache.get(changed, EmployeeResponseCache.Body.TOP_TEN_NAMES));
+    }
+
+    @Test
+    public void testOlderSnapshotDoesNotEvictNewerOne() {
+        EmployeeSnapshot older = new EmployeeSnapshot(1, Instant.now(), employees);
+        EmployeeSnapshot newer = older.withoutEmployee(2, "2");
+        byte[] current = cache.get(newer, EmployeeResponseCache.Body.TOP_TEN_NAMES);
+
+        byte[] stale = cache.get(older, EmployeeResponseCache.Body.TOP_TEN_NAMES);
+
+        assertEquals("[\"Aditya Mehta\",\"Aarav Patel\"]", new String(stale, StandardCharsets.UTF_8));
+        assertSame(current, cache.get(newer, EmployeeResponseCache.Body.TOP_TEN_NAMES));
+        assertEquals("[\"Aarav Patel\"]", new String(current, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testGzipVariantIsCompressedOncePerSnapshot() throws IOException {
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(1, Instant.now(), employees);
+
+        byte[] compressed = cache.get(snapshot, EmployeeResponseCache.Body.ALL_EMPLOYEES, true);
+
+        assertSame(compressed, cache.get(snapshot, EmployeeResponseCache.Body.ALL_EMPLOYEES, true));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertArrayEquals(cache.get(snapshot, EmployeeResponseCache.Body.ALL_EMPLOYEES), in.readAllBytes());
+        }
+        assertEquals(1, cache.getMisses());
+        assertEquals(2, cache.getHits());
+    }
+
+    @Test
+    public void testConcurrentMissesEncodeOnce() throws Exception {
+        List<Employee> many = new ArrayList<>();
+        for (int i = 0; i < 50000; i++) {
+            many.add(new Employee(String.valueOf(i), "Employee " + i, i, 30, ""));
+        }
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(1, Instant.now(), many);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService readers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<byte[]>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                results.add(readers.submit(() -> {
+                    start.await();
+                    return cache.get(snapshot, EmployeeResponseCache.Body.ALL_EMPLOYEES, true);
+                }));
+            }
+            start.countDown();
+
+            byte[] compressed = results.get(0).get(30, TimeUnit.SECONDS);
+            for (Future<byte[]> result : results) {
+                assertSame(compressed, result.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            readers.shutdownNow();
+        }
+        assertEquals(1, cache.getMisses());
+    }
+}
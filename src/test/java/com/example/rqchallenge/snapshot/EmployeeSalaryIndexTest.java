@@ -0,0 +1,54 @@
+package com.example.rqchallenge.snapshot;
+
+import com.example.rqchallenge.employees.snapshot.EmployeeSalaryIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmployeeSalaryIndexTest {
+
+    @Test
+    public void testOrdersBySalaryDescendingAndKeepsRowOrderForTies() {
+        EmployeeSalaryIndex index = EmployeeSalaryIndex.build(new int[]{50000, 65000, 50000, -10, 65000});
+
+        assertFalse(index.isEmpty());
+        assertEquals(65000, index.maxSalary());
+        assertArrayEquals(new int[]{1, 4, 0, 2, 3}, index.top(10));
+        assertArrayEquals(new int[]{1, 4}, index.top(2));
+    }
+
+    @Test
+    public void testTopOfEveryRank() {
+        int[] salaries = new int[5000];
+        for (int row = 0; row < salaries.length; row++) {
+            salaries[row] = row;
+        }
+        EmployeeSalaryIndex index = EmployeeSalaryIndex.build(salaries);
+
+        int[] top = index.top(salaries.length + 1);
+
+        assertEquals(salaries.length, top.length);
+        for (int rank = 0; rank < top.length; rank++) {
+            assertEquals(salaries.length - 1 - rank, top[rank]);
+        }
+        assertArrayEquals(Arrays.copyOf(top, 2000), index.top(2000));
+    }
+
+    @Test
+    public void testExtremeSalaries() {
+        EmployeeSalaryIndex index = EmployeeSalaryIndex.build(new int[]{0, Integer.MIN_VALUE, Integer.MAX_VALUE, -1});
+
+        assertEquals(Integer.MAX_VALUE, index.maxSalary());
+        assertArrayEquals(new int[]{2, 0, 3, 1}, index.top(4));
+    }
+
+    @Test
+    public void testEmptyIndex() {
+        EmployeeSalaryIndex index = EmployeeSalaryIndex.build(new int[0]);
+
+        assertTrue(index.isEmpty());
+        assertEquals(0, index.top(10).length);
+    }
+}
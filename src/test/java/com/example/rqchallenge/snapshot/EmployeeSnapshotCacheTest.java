@@ -0,0 +1,220 @@
+package com.example.rqchallenge.snapshot;
+
+import com.example.rqchallenge.employees.client.EmployeeClient;
+import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshot;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshotCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class EmployeeSnapshotCacheTest {
+
+    @Mock
+    private EmployeeClient employeeClient;
+
+    private final List<Employee> employees = Arrays.asList(
+            new Employee("1", "Aarav Patel", 50000, 30, ""),
+            new Employee("2", "Aditya Mehta", 60000, 25, "")
+    );
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    public void testGetLoadsOnceAndServesFromMemory() {
+        when(employeeClient.fetchAllEmployees()).thenReturn(employees);
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(employeeClient, 60000, Runnable::run);
+
+        EmployeeSnapshot first = cache.get();
+        EmployeeSnapshot second = cache.get();
+
+        assertSame(first, second);
+        assertEquals(2, first.getEmployees().size());
+        assertThrows(UnsupportedOperationException.class, () -> first.getEmployees().add(employees.get(0)));
+        verify(employeeClient, times(1)).fetchAllEmployees();
+    }
+
+    @Test
+    public void testExpiredSnapshotIsServedWhileRefreshing() {
+        List<Employee> changed = new ArrayList<>(employees);
+        changed.add(new Employee("3", "Diya Sharma", 75000, 28, ""));
+        when(employeeClient.fetchAllEmployees()).thenReturn(employees).thenReturn(changed);
+        List<Runnable> pending = new ArrayList<>();
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(employeeClient, 60000, pending::add);
+
+        CompletableFuture<EmployeeSnapshot> initial = cache.refresh();
+        pending.remove(0).run();
+        EmployeeSnapshot stale = initial.join();
+
+        cache.invalidate();
+        assertSame(stale, cache.get());
+        assertSame(stale, cache.get());
+        assertEquals(1, pending.size());
+
+        pending.remove(0).run();
+        EmployeeSnapshot fresh = cache.get();
+        assertEquals(stale.getVersion() + 1, fresh.getVersion());
+        verify(employeeClient, times(2)).fetchAllEmployees();
+    }
+
+    @Test
+    public void testUnchangedListKeepsSnapshot() {
+        when(employeeClient.fetchAllEmployees()).thenReturn(employees);
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(employeeClient, 60000, Runnable::run);
+        EmployeeSnapshot loaded = cache.get();
+
+        EmployeeSnapshot refreshed = cache.refresh().join();
+
+        assertSame(loaded, refreshed);
+        assertSame(loaded, cache.get());
+        verify(employeeClient, times(2)).fetchAllEmployees();
+    }
+
+    @Test
+    public void testReloadedSameEmployeesKeepVersion() {
+        when(employeeClient.fetchAllEmployees()).thenReturn(employees).thenReturn(new ArrayList<>(employees));
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(employeeClient, 60000, Runnable::run);
+        EmployeeSnapshot loaded = cache.get();
+        String etag = cache.etagOf(loaded);
+
+        EmployeeSnapshot refreshed = cache.refresh().join();
+
+        assertSame(loaded, refreshed);
+        assertEquals(loaded.getVersion(), cache.get().getVersion());
+        assertEquals(etag, cache.etagOf(cache.get()));
+        verify(employeeClient, times(2)).fetchAllEmployees();
+    }
+
+    @Test
+    public void testETagFollowsSnapshotVersion() {
+        when(employeeClient.fetchAllEmployees()).thenReturn(employees);
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(employeeClient, 60000, Runnable::run);
+        String loaded = cache.etagOf(cache.get());
+
+        assertEquals(loaded, cache.etagOf(cache.refresh().join()));
+        cache.applyDeleted(employees.get(0).getId());
+        String changed = cache.etagOf(cache.get());
+
+        assertNotEquals(loaded, changed);
+        assertTrue(changed.startsWith("\"") && changed.endsWith("\""));
+    }
+
+    @Test
+    public void testUnchangedListIsReconciledAfterLocalChange() {
+        when(employeeClient.fetchAllEmployees()).thenReturn(employees);
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(employeeClient, 60000, Runnable::run);
+        EmployeeSnapshot loaded = cache.get();
+        cache.applyDeleted(employees.get(0).getId());
+
+        EmployeeSnapshot refreshed = cache.refresh().join();
+
+        assertTrue(refreshed.getVersion() > loaded.getVersion());
+        assertEquals(employees.size(), refreshed.size());
+    }
+
+    @Test
+    public void testConcurrentColdReadsShareOneLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(employeeClient.fetchAllEmployees()).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return employees;
+        });
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(employeeClient, 60000, Executors.newSingleThreadExecutor());
+
+        ExecutorService readers = Executors.newFixedThreadPool(8);
+        List<Future<EmployeeSnapshot>> results = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            results.add(readers.submit(cache::get));
+        }
+        release.countDown();
+
+        EmployeeSnapshot snapshot = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<EmployeeSnapshot> result : results) {
+            assertSame(snapshot, result.get(5, TimeUnit.SECONDS));
+        }
+        readers.shutdown();
+        verify(employeeClient, times(1)).fetchAllEmployees();
+    }
+
+    @Test
+    public void testFailedRefreshKeepsPreviousSnapshot() {
+        when(employeeClient.fetchAllEmployees()).thenReturn(employees).thenThrow(new RuntimeException("Fetch error"));
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(employeeClient, 60000, Runnable::run);
+
+        EmployeeSnapshot snapshot = cache.get();
+        cache.invalidate();
+
+        assertSame(snapshot, cache.get());
+        assertSame(snapshot, cache.get());
+    }
+
+    @Test
+    public void testAppliedMutationsAreVisibleImmediately() {
+        when(employeeClient.fetchAllEmployees()).thenReturn(employees);
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(employeeClient, 60000, Runnable::run);
+        EmployeeSnapshot loaded = cache.get();
+
+        cache.applyCreated(new Employee("3", "Diya Sharma", 70000, 28, ""));
+        cache.applyDeleted("1");
+
+        EmployeeSnapshot snapshot = cache.get();
+        assertEquals(loaded.getVersion() + 2, snapshot.getVersion());
+        assertTrue(snapshot.findById("3").isPresent());
+        assertFalse(snapshot.findById("1").isPresent());
+        verify(employeeClient, times(1)).fetchAllEmployees();
+    }
+
+    @Test
+    public void testMutationDuringRefreshIsReplayedOntoLoadedSnapshot() {
+        AtomicReference<EmployeeSnapshotCache> cacheRef = new AtomicReference<>();
+        when(employeeClient.fetchAllEmployees()).thenReturn(employees).thenAnswer(invocation -> {
+            cacheRef.get().applyDeleted("2");
+            return employees;
+        });
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(employeeClient, 60000, Runnable::run);
+        cacheRef.set(cache);
+        cache.get();
+
+        cache.applyCreated(new Employee("3", "Diya Sharma", 70000, 28, ""));
+        EmployeeSnapshot refreshed = cache.refresh().join();
+
+        assertFalse(refreshed.findById("2").isPresent());
+        assertTrue(refreshed.findById("1").isPresent());
+        assertFalse(refreshed.findById("3").isPresent());
+        assertSame(refreshed, cache.get());
+    }
+
+    @Test
+    public void testRefreshReconcilesWithCurrentSnapshot() {
+        when(employeeClient.fetchAllEmployees()).thenReturn(employees).thenReturn(Arrays.asList(
+                new Employee("1", "Aarav Patel", 55000, 30, ""),
+                new Employee("2", "Aditya Mehta", 60000, 25, "")
+        ));
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(employeeClient, 60000, Runnable::run);
+        EmployeeSnapshot first = cache.get();
+
+        EmployeeSnapshot refreshed = cache.refresh().join();
+
+        assertSame(first.getTable(), refreshed.getTable());
+        assertEquals(55000, refreshed.findById("1").get().getEmployeeSalary());
+        assertEquals(50000, first.findById("1").get().getEmployeeSalary());
+    }
+}
@@ -0,0 +1,265 @@
+package com.example.rqchallenge.snapshot;
+
+import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmployeeSnapshotDeltaTest {
+
+    private static final String[] NAMES = {"Aarav Patel", "Aditya Mehta", "Diya Sharma", "Arjun Rao", "Ananya Iyer", "aarav"};
+
+    private final List<Employee> employees = Arrays.asList(
+            new Employee("1", "Aarav Patel", 50000, 30, ""),
+            new Employee("2", "Aditya Mehta", 60000, 25, ""),
+            new Employee("3", "Diya Sharma", 70000, 28, "")
+    );
+
+    @Test
+    public void testCreatedEmployeeIsVisible() {
+        EmployeeSnapshot base = new EmployeeSnapshot(1, Instant.now(), employees);
+
+        EmployeeSnapshot snapshot = base.withEmployee(2, new Employee("4", "Arjun Rao", 90000, 40, ""));
+
+        assertEquals(2, snapshot.getVersion());
+        assertEquals(base.getLoadedAt(), snapshot.getLoadedAt());
+        assertSame(base.getTable(), snapshot.getTable());
+        assertEquals(4, snapshot.getEmployees().size());
+        assertEquals("Arjun Rao", snapshot.getEmployees().get(3).getEmployeeName());
+        assertEquals("Arjun Rao", snapshot.findById("4").get().getEmployeeName());
+        assertEquals(90000, snapshot.getHighestSalary().getAsInt());
+        assertEquals(Arrays.asList("Arjun Rao", "Diya Sharma"), snapshot.getTopNamesBySalary(2));
+        assertEquals(1, snapshot.searchByName("rao").size());
+        assertEquals(3, base.getEmployees().size());
+        assertFalse(base.findById("4").isPresent());
+    }
+
+    @Test
+    public void testDeletedEmployeeIsHidden() {
+        EmployeeSnapshot base = new EmployeeSnapshot(1, Instant.now(), employees);
+
+        EmployeeSnapshot snapshot = base.withoutEmployee(2, "3");
+
+        assertFalse(snapshot.findById("3").isPresent());
+        assertEquals(2, snapshot.getEmployees().size());
+        assertEquals(60000, snapshot.getHighestSalary().getAsInt());
+        assertTrue(snapshot.searchByName("diya").isEmpty());
+        assertTrue(snapshot.searchByPrefix("di", 10).isEmpty());
+        assertTrue(base.findById("3").isPresent());
+        assertSame(snapshot, snapshot.withoutEmployee(3, "3"));
+    }
+
+    @Test
+    public void testDeleteManyInOneVersion() {
+        EmployeeSnapshot base = new EmployeeSnapshot(1, Instant.now(), employees)
+                .withEmployee(2, new Employee("4", "Arjun Rao", 90000, 40, ""));
+
+        EmployeeSnapshot snapshot = base.withoutEmployees(3, Arrays.asList("1", "4", "9", "1"));
+
+        assertEquals(3, snapshot.getVersion());
+        assertEquals(2, snapshot.size());
+        assertFalse(snapshot.findById("1").isPresent());
+        assertFalse(snapshot.findById("4").isPresent());
+        assertEquals(70000, snapshot.getHighestSalary().getAsInt());
+        assertSame(snapshot, snapshot.withoutEmployees(4, Arrays.asList("1", "9")));
+    }
+
+    @Test
+    public void testCreateReplacesEmployeeWithSameId() {
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(1, Instant.now(), employees)
+                .withEmployee(2, new Employee("1", "Aarav Shah", 55000, 31, ""));
+
+        assertEquals(3, snapshot.getEmployees().size());
+        assertEquals("Aarav Shah", snapshot.findById("1").get().getEmployeeName());
+        assertEquals("Aarav Shah", snapshot.getEmployees().get(2).getEmployeeName());
+    }
+
+    @Test
+    public void testDeleteEverything() {
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(1, Instant.now(), employees)
+                .withoutEmployee(2, "1").withoutEmployee(3, "2").withoutEmployee(4, "3");
+
+        assertTrue(snapshot.isEmpty());
+        assertFalse(snapshot.getHighestSalary().isPresent());
+        assertTrue(snapshot.getTopBySalary(10).isEmpty());
+    }
+
+    @Test
+    public void testQueriesMatchRebuiltSnapshot() {
+        Random random = new Random(42);
+        List<Employee> model = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            model.add(randomEmployee(random, i));
+        }
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(1, Instant.now(), model);
+        model = new ArrayList<>(model);
+
+        for (int step = 0; step < 2 * EmployeeSnapshot.MAX_DELTA_SIZE; step++) {
+            if (random.nextInt(3) == 0) {
+                String id = String.valueOf(random.nextInt(400));
+                model.removeIf(employee -> employee.getId().equals(id));
+                snapshot = snapshot.withoutEmployee(step + 2, id);
+            } else {
+                Employee employee = randomEmployee(random, random.nextInt(400));
+                model.removeIf(existing -> existing.getId().equals(employee.getId()));
+                model.add(employee);
+                snapshot = snapshot.withEmployee(step + 2, employee);
+            }
+            if (step % 97 == 0) {
+                assertSameQueries(new EmployeeSnapshot(0, Instant.now(), model), snapshot, random);
+            }
+        }
+        assertSameQueries(new EmployeeSnapshot(0, Instant.now(), model), snapshot, random);
+    }
+
+    @Test
+    public void testReconcileSharesTableWhenFewEmployeesChanged() {
+        EmployeeSnapshot base = new EmployeeSnapshot(1, Instant.now(), employees);
+        Instant refreshedAt = base.getLoadedAt().plusSeconds(60);
+
+        EmployeeSnapshot snapshot = base.reconcile(() -> 2, refreshedAt, Arrays.asList(
+                new Employee("1", "Aarav Patel", 50000, 30, ""),
+                new Employee("3", "Diya Sharma", 75000, 28, ""),
+                new Employee("4", "Arjun Rao", 40000, 40, "")
+        ));
+
+        assertSame(base.getTable(), snapshot.getTable());
+        assertEquals(2, snapshot.getVersion());
+        assertEquals(refreshedAt, snapshot.getLoadedAt());
+        assertEquals(3, snapshot.size());
+        assertFalse(snapshot.findById("2").isPresent());
+        assertEquals(75000, snapshot.getHighestSalary().getAsInt());
+        assertEquals("Arjun Rao", snapshot.findById("4").get().getEmployeeName());
+        assertEquals(3, base.size());
+        assertEquals(70000, base.getHighestSalary().getAsInt());
+    }
+
+    @Test
+    public void testReconcileWithUnchangedListKeepsEmployees() {
+        EmployeeSnapshot base = new EmployeeSnapshot(1, Instant.now(), employees);
+
+        EmployeeSnapshot snapshot = base.reconcile(() -> fail("no version for an unchanged list"), Instant.now(), new ArrayList<>(employees));
+
+        assertSame(base, snapshot);
+    }
+
+    @Test
+    public void testReconcileWithUnchangedListKeepsDelta() {
+        EmployeeSnapshot base = new EmployeeSnapshot(1, Instant.now(), employees)
+                .withEmployee(2, new Employee("4", "Arjun Rao", 40000, 40, ""))
+                .withoutEmployee(3, "2");
+        List<Employee> reordered = new ArrayList<>(base.getEmployees());
+        Collections.reverse(reordered);
+
+        assertSame(base, base.reconcile(() -> fail("no version for an unchanged list"), Instant.now(), reordered));
+        reordered.set(0, new Employee("4", "Arjun Rao", 41000, 40, ""));
+        assertEquals(4, base.reconcile(() -> 4, Instant.now(), reordered).getVersion());
+    }
+
+    @Test
+    public void testReconcileRebuildsWhenDeltaWouldBeTooLarge() {
+        List<Employee> many = new ArrayList<>();
+        for (int i = 0; i <= EmployeeSnapshot.MAX_DELTA_SIZE; i++) {
+            many.add(new Employee(String.valueOf(i), "Employee " + i, i, 30, ""));
+        }
+        EmployeeSnapshot base = new EmployeeSnapshot(1, Instant.now(), employees);
+
+        EmployeeSnapshot snapshot = base.reconcile(() -> 2, Instant.now(), many);
+
+        assertNotSame(base.getTable(), snapshot.getTable());
+        assertEquals(many, snapshot.getEmployees());
+    }
+
+    @Test
+    public void testReconcileRebuildsOnIrregularOrRepeatedIds() {
+        EmployeeSnapshot base = new EmployeeSnapshot(1, Instant.now(), employees);
+        List<Employee> irregular = Arrays.asList(new Employee("1", "Aarav Patel", 50000, 30, ""),
+                new Employee("emp-2", "Aditya Mehta", 60000, 25, ""));
+        List<Employee> repeated = Arrays.asList(new Employee("1", "Aarav Patel", 50000, 30, ""),
+                new Employee("1", "Aarav Patel", 50000, 30, ""));
+
+        EmployeeSnapshot withIrregular = base.reconcile(() -> 2, Instant.now(), irregular);
+        EmployeeSnapshot withRepeated = base.reconcile(() -> 3, Instant.now(), repeated);
+
+        assertNotSame(base.getTable(), withIrregular.getTable());
+        assertEquals(irregular, withIrregular.getEmployees());
+        assertTrue(withIrregular.findById("EMP-2").isPresent());
+        assertNotSame(base.getTable(), withRepeated.getTable());
+        assertEquals(repeated, withRepeated.getEmployees());
+    }
+
+    @Test
+    public void testReconciledQueriesMatchRebuiltSnapshot() {
+        Random random = new Random(7);
+        List<Employee> model = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            model.add(randomEmployee(random, i));
+        }
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(1, Instant.now(), model);
+
+        for (int refresh = 0; refresh < 40; refresh++) {
+            int changes = random.nextInt(refresh % 10 == 9 ? 2 * EmployeeSnapshot.MAX_DELTA_SIZE : 60);
+            for (int change = 0; change < changes; change++) {
+                int id = random.nextInt(600);
+                Employee employee = random.nextInt(3) == 0 ? null : randomEmployee(random, id);
+                int index = indexOf(model, String.valueOf(id));
+                if (index >= 0 && model.get(index).equals(employee)) {
+                    continue;
+                }
+                if (index >= 0) {
+                    model.remove(index);
+                }
+                if (employee != null) {
+                    model.add(employee);
+                }
+            }
+            if (refresh % 4 == 0) {
+                snapshot = snapshot.withEmployee(refresh + 2, randomEmployee(random, 600 + refresh));
+            }
+            long version = refresh + 2;
+            snapshot = snapshot.reconcile(() -> version, Instant.now(), new ArrayList<>(model));
+            assertSameQueries(new EmployeeSnapshot(0, Instant.now(), model), snapshot, random);
+        }
+    }
+
+    private int indexOf(List<Employee> model, String id) {
+        for (int i = 0; i < model.size(); i++) {
+            if (model.get(i).getId().equals(id)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private Employee randomEmployee(Random random, int id) {
+        return new Employee(String.valueOf(id), NAMES[random.nextInt(NAMES.length)] + " " + random.nextInt(5),
+                random.nextInt(20) * 1000, 20 + random.nextInt(40), "");
+    }
+
+    private void assertSameQueries(EmployeeSnapshot expected, EmployeeSnapshot actual, Random random) {
+        assertEquals(expected.getEmployees(), actual.getEmployees());
+        assertEquals(expected.size(), actual.size());
+        for (int id = 0; id < 400; id += 7) {
+            Optional<Employee> employee = expected.findById(String.valueOf(id));
+            assertEquals(employee, actual.findById(String.valueOf(id)));
+        }
+        for (String query : new String[]{"a", "aa", "rav", "mehta 3", "xyz", ""}) {
+            assertEquals(expected.searchByName(query), actual.searchByName(query), query);
+            assertEquals(expected.searchByPrefix(query, 25), actual.searchByPrefix(query, 25), query);
+        }
+        int k = 1 + random.nextInt(50);
+        assertEquals(expected.getHighestSalary(), actual.getHighestSalary());
+        assertEquals(expected.getTopBySalary(k), actual.getTopBySalary(k));
+        assertEquals(expected.getTopNamesBySalary(k), actual.getTopNamesBySalary(k));
+        assertEquals(expected.getTopByAge(k), actual.getTopByAge(k));
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.rqchallenge.snapshot;
+
+import com.example.rqchallenge.employees.client.EmployeeClient;
+import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.dto.RefreshStatus;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshotCache;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshotRefresher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class EmployeeSnapshotRefresherTest {
+
+    @Mock
+    private EmployeeClient employeeClient;
+
+    private EmployeeSnapshotCache cache;
+
+    private final List<Employee> employees = Arrays.asList(
+            new Employee("1", "Aarav Patel", 50000, 30, ""),
+            new Employee("2", "Aditya Mehta", 60000, 25, "")
+    );
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(employeeClient.fetchAllEmployees()).thenReturn(employees);
+        cache = new EmployeeSnapshotCache(employeeClient, 60000, Runnable::run);
+    }
+
+    @Test
+    public void testMutationsInsideWindowShareOneRefresh() {
+        EmployeeSnapshotRefresher refresher = new EmployeeSnapshotRefresher(cache, 0);
+
+        for (int i = 0; i < 1000; i++) {
+            refresher.markDirty();
+        }
+        refresher.refreshIfDue();
+        refresher.refreshIfDue();
+
+        verify(employeeClient, times(1)).fetchAllEmployees();
+        RefreshStatus status = refresher.getStatus();
+        assertFalse(status.isRefreshPending());
+        assertEquals(0, status.getPendingMutations());
+        assertEquals(1L, status.getSnapshotVersion());
+        assertNotNull(status.getLastRefreshAt());
+    }
+
+    @Test
+    public void testNoRefreshBeforeWindowPassed() {
+        EmployeeSnapshotRefresher refresher = new EmployeeSnapshotRefresher(cache, 60000);
+
+        refresher.markDirty();
+        refresher.markDirty();
+        refresher.refreshIfDue();
+
+        verify(employeeClient, never()).fetchAllEmployees();
+        RefreshStatus status = refresher.getStatus();
+        assertTrue(status.isRefreshPending());
+        assertEquals(2, status.getPendingMutations());
+        assertEquals(status.getDirtySince() + 60000, status.getNextRefreshAt());
+        assertNull(status.getSnapshotVersion());
+    }
+
+    @Test
+    public void testNoRefreshWhenClean() {
+        EmployeeSnapshotRefresher refresher = new EmployeeSnapshotRefresher(cache, 0);
+
+        refresher.refreshIfDue();
+
+        verify(employeeClient, never()).fetchAllEmployees();
+        assertFalse(refresher.getStatus().isRefreshPending());
+    }
+
+    @Test
+    public void testFailedRefreshStaysPending() {
+        when(employeeClient.fetchAllEmployees()).thenThrow(new RuntimeException("Fetch error")).thenReturn(employees);
+        EmployeeSnapshotRefresher refresher = new EmployeeSnapshotRefresher(cache, 0);
+
+        refresher.markDirty();
+        refresher.refreshIfDue();
+
+        RefreshStatus status = refresher.getStatus();
+        assertTrue(status.isRefreshPending());
+        assertEquals(1, status.getPendingMutations());
+
+        refresher.refreshIfDue();
+
+        assertFalse(refresher.getStatus().isRefreshPending());
+        verify(employeeClient, times(2)).fetchAllEmployees();
+    }
+}
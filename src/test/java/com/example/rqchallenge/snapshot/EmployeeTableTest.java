@@ -0,0 +1,137 @@
+package com.example.rqchallenge.snapshot;
+
+import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.snapshot.CharPool;
+import com.example.rqchallenge.employees.snapshot.EmployeeTable;
+import com.example.rqchallenge.employees.snapshot.EmployeeTableFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmployeeTableTest {
+
+    private final List<Employee> employees = Arrays.asList(
+            new Employee("1", "Aarav Patel", 50000, 30, ""),
+            new Employee("02", "Aditya Mehta", 60000, 25, "https://example.com/aditya.png"),
+            new Employee(null, null, 65000, 41, null)
+    );
+
+    @Test
+    public void testRoundTrip() {
+        EmployeeTable table = EmployeeTable.of(employees);
+
+        assertEquals(3, table.size());
+        assertEquals(employees, table.asList());
+        assertEquals(1, table.numericId(0));
+        assertEquals(-1, table.numericId(1));
+        assertEquals("02", table.id(1));
+        assertArrayEquals(new int[]{50000, 60000, 65000}, table.salaries());
+        assertArrayEquals(new int[]{30, 25, 41}, table.ages());
+        assertEquals("aditya mehta", table.normalizedNames().get(1));
+    }
+
+    @Test
+    public void testOfReusesTableBehindList() {
+        EmployeeTable table = EmployeeTable.of(employees);
+
+        assertSame(table, EmployeeTable.of(table.asList()));
+        assertThrows(UnsupportedOperationException.class, () -> table.asList().set(0, employees.get(0)));
+    }
+
+    @Test
+    public void testCharPool() {
+        CharPool pool = CharPool.of("aarav patel", "", null, "isha");
+
+        assertEquals(4, pool.size());
+        assertEquals("aarav patel", pool.get(0));
+        assertEquals("", pool.get(1));
+        assertNull(pool.get(2));
+        assertTrue(pool.contains(0, "v p"));
+        assertTrue(pool.contains(1, ""));
+        assertFalse(pool.contains(3, "ishaa"));
+        assertTrue(pool.compare(0, 3) < 0);
+        assertTrue(pool.compare(1, 0) < 0);
+        assertEquals(0, pool.compare(1, 2));
+    }
+
+    @Test
+    public void testCharPoolGrowsPastExpectedLength() {
+        CharPool.Builder builder = new CharPool.Builder(1, 4);
+        for (int row = 0; row < 100; row++) {
+            builder.add("employee " + row);
+        }
+        CharPool pool = builder.build();
+
+        assertEquals(100, pool.size());
+        assertEquals("employee 99", pool.get(99));
+        assertEquals("employee 0", pool.get(0));
+    }
+
+    @Test
+    public void testTableHoldsOnlyTheCharsOfItsRows() {
+        List<Employee> named = employees.subList(0, 2);
+        EmployeeTable table = EmployeeTable.of(named);
+
+        long nameLength = named.stream().mapToLong(employee -> employee.getEmployeeName().length()).sum();
+        assertEquals(2 * nameLength + 4L * (named.size() + 1), table.names().footprint());
+    }
+
+    @Test
+    public void testTruncatedFileFailsWithIOException(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("employee.snapshot");
+        EmployeeTableFile.write(EmployeeTable.of(employees), file);
+        byte[] bytes = Files.readAllBytes(file);
+        Path truncated = tempDir.resolve("truncated.snapshot");
+
+        for (int length = 0; length < bytes.length; length++) {
+            Files.write(truncated, Arrays.copyOf(bytes, length));
+            assertThrows(IOException.class, () -> EmployeeTableFile.read(truncated), "truncated at " + length);
+        }
+        assertEquals(employees, EmployeeTableFile.read(file).asList());
+    }
+
+    @Test
+    public void testConcurrentWritesLeaveReadableFile(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("employee.snapshot");
+        List<Employee> many = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            many.add(new Employee(String.valueOf(i), "Employee " + i, i, 30, ""));
+        }
+        List<EmployeeTable> tables = Arrays.asList(EmployeeTable.of(employees), EmployeeTable.of(many));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> writes = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                EmployeeTable table = tables.get(i % 2);
+                writes.add(executor.submit(() -> {
+                    EmployeeTableFile.write(table, file);
+                    return null;
+                }));
+            }
+            for (Future<?> write : writes) {
+                write.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Employee> read = EmployeeTableFile.read(file).asList();
+        assertTrue(read.equals(employees) || read.equals(many));
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(1, files.count());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.rqchallenge.utils;
+
+import com.example.rqchallenge.employees.helper.BatchExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchExecutorTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testResultsKeepItemOrder() {
+        BatchExecutor batchExecutor = new BatchExecutor(3, executor);
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            items.add(i);
+        }
+
+        List<Integer> results = batchExecutor.map(items, item -> {
+            sleep(item % 3);
+            return item * 2;
+        });
+
+        assertEquals(50, results.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i * 2, results.get(i));
+        }
+    }
+
+    @Test
+    public void testConcurrencyIsBounded() {
+        BatchExecutor batchExecutor = new BatchExecutor(4, executor);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        batchExecutor.map(Collections.nCopies(40, "item"), item -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            sleep(5);
+            inFlight.decrementAndGet();
+            return item;
+        });
+
+        assertTrue(maxInFlight.get() <= 4, "max in flight " + maxInFlight.get());
+        assertTrue(maxInFlight.get() > 1, "items did not overlap");
+    }
+
+    @Test
+    public void testConcurrentBatchesShareBoundedThreads() throws Exception {
+        BatchExecutor batchExecutor = new BatchExecutor(4, 3);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        List<Future<List<String>>> batches = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            batches.add(executor.submit(() -> batchExecutor.map(Collections.nCopies(20, "item"), item -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                sleep(5);
+                inFlight.decrementAndGet();
+                return item;
+            })));
+        }
+        for (Future<List<String>> batch : batches) {
+            assertEquals(20, batch.get(30, TimeUnit.SECONDS).size());
+        }
+
+        assertTrue(maxInFlight.get() <= 3, "max in flight " + maxInFlight.get());
+    }
+
+    @Test
+    public void testTaskExceptionIsRethrown() {
+        BatchExecutor batchExecutor = new BatchExecutor(2, executor);
+
+        Exception exception = assertThrows(IllegalStateException.class, () -> batchExecutor.map(Arrays.asList(1, 2, 3), item -> {
+            throw new IllegalStateException("Task failed");
+        }));
+
+        assertEquals("Task failed", exception.getMessage());
+    }
+
+    @Test
+    public void testEmptyBatch() {
+        assertTrue(new BatchExecutor(2, executor).map(Collections.emptyList(), item -> item).isEmpty());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.rqchallenge.utils;
 
+import com.example.rqchallenge.employees.dto.Employee;
 import com.example.rqchallenge.employees.dto.EmployeeCollectionDto;
 import com.example.rqchallenge.employees.exceptions.FileNotExist;
 import com.example.rqchallenge.employees.helper.EmployeeFileUtils;
@@ -14,6 +15,9 @@ import org.mockito.MockitoAnnotations;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -52,6 +56,46 @@ public class EmployeeFileUtilsTest {
         assertEquals(jsonString, fileContent);
     }
 
+    @Test
+    public void testSaveReplacesJsonExportWithoutLeavingTempFiles() throws IOException {
+        Path directory = Files.createDirectories(tempDir.resolve("files"));
+        Files.writeString(directory.resolve("employee.json"), "{\"status\":\"stale\",\"data\":[]}");
+        EmployeeCollectionDto employeeCollectionDto = new EmployeeCollectionDto();
+        String jsonString = "{\"status\":\"success\"}";
+
+        when(objectMapper.writeValueAsString(employeeCollectionDto)).thenReturn(jsonString);
+
+        employeeFileUtils.saveEmployeeResponseToFile(employeeCollectionDto);
+
+        assertEquals(jsonString, Files.readString(directory.resolve("employee.json")));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(2, files.count());
+        }
+    }
+
+    @Test
+    public void testSaveAndFetchBinarySnapshot() throws IOException {
+        List<Employee> employees = Arrays.asList(
+                new Employee("1", "Aarav Patel", 50000, 30, ""),
+                new Employee("x-2", "Aditya Mehta", 60000, 25, "https://example.com/aditya.png"),
+                new Employee(null, null, 65000, 41, null)
+        );
+        EmployeeCollectionDto employeeCollectionDto = new EmployeeCollectionDto();
+        employeeCollectionDto.setStatus("success");
+        employeeCollectionDto.setData(employees);
+
+        when(objectMapper.writeValueAsString(employeeCollectionDto)).thenReturn("{}");
+
+        employeeFileUtils.saveEmployeeResponseToFile(employeeCollectionDto);
+        EmployeeCollectionDto actualEmployeeCollectionDto = employeeFileUtils.fetchEmployeeFromFile();
+
+        assertEquals("success", actualEmployeeCollectionDto.getStatus());
+        assertEquals(employees, actualEmployeeCollectionDto.getData());
+        assertTrue(Files.exists(tempDir.resolve("files/employee.snapshot")));
+        assertFalse(Files.exists(tempDir.resolve("files/employee.snapshot.tmp")));
+        verify(objectMapper, never()).readValue(anyString(), eq(EmployeeCollectionDto.class));
+    }
+
     @Test
     public void testFetchEmployeeFromFileSuccess() throws IOException {
         EmployeeCollectionDto expectedEmployeeCollectionDto = new EmployeeCollectionDto();
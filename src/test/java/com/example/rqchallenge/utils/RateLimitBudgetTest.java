@@ -0,0 +1,69 @@
+package com.example.rqchallenge.utils;
+
+import com.example.rqchallenge.employees.helper.RateLimitBudget;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimitBudgetTest {
+
+    @Test
+    public void testRetryAfterInSeconds() {
+        assertEquals(3000, RateLimitBudget.retryAfterMillis(tooManyRequests("3"), 1000));
+    }
+
+    @Test
+    public void testRetryAfterAsHttpDate() {
+        String date = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(30));
+
+        long delay = RateLimitBudget.retryAfterMillis(tooManyRequests(date), 1000);
+
+        assertTrue(delay > 25000 && delay <= 30000, "delay " + delay);
+    }
+
+    @Test
+    public void testMissingOrInvalidRetryAfterUsesDefault() {
+        assertEquals(1000, RateLimitBudget.retryAfterMillis(tooManyRequests(null), 1000));
+        assertEquals(1000, RateLimitBudget.retryAfterMillis(tooManyRequests("soon"), 1000));
+    }
+
+    @Test
+    public void testRetriesAreSharedAndBatchPauses() {
+        RateLimitBudget budget = new RateLimitBudget(2, 1000, 5000);
+
+        assertTrue(budget.onRateLimited(tooManyRequests("0")));
+        assertTrue(budget.onRateLimited(tooManyRequests("0")));
+        assertFalse(budget.onRateLimited(tooManyRequests("0")));
+
+        long start = System.nanoTime();
+        budget.onRateLimited(tooManyRequests(null));
+        assertTrue(budget.awaitTurn());
+        assertTrue(System.nanoTime() - start >= 900_000_000L);
+    }
+
+    @Test
+    public void testRetryAfterBeyondMaxWaitEndsBatch() {
+        RateLimitBudget budget = new RateLimitBudget(2, 1000, 5000);
+
+        long start = System.nanoTime();
+        assertFalse(budget.onRateLimited(tooManyRequests("3600")));
+        assertFalse(budget.awaitTurn());
+        assertFalse(budget.onRateLimited(tooManyRequests("0")));
+        assertTrue(System.nanoTime() - start < 1_000_000_000L);
+    }
+
+    private static HttpClientErrorException tooManyRequests(String retryAfter) {
+        HttpHeaders headers = new HttpHeaders();
+        if (retryAfter != null) {
+            headers.set(HttpHeaders.RETRY_AFTER, retryAfter);
+        }
+        return HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", headers, null, null);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.rqchallenge.utils;
+
+import com.example.rqchallenge.employees.helper.TopKSelector;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TopKSelectorTest {
+
+    @Test
+    public void testSelectSequential() {
+        int[] keys = {50000, 65000, 50000, -10, 65000, 30000};
+
+        assertArrayEquals(new int[]{1, 4, 0}, TopKSelector.selectSequential(keys, 3));
+        assertArrayEquals(new int[]{1, 4, 0, 2, 5, 3}, TopKSelector.selectSequential(keys, 10));
+        assertArrayEquals(new int[0], TopKSelector.selectSequential(keys, 0));
+        assertArrayEquals(new int[0], TopKSelector.selectSequential(new int[0], 10));
+    }
+
+    @Test
+    public void testSelectMatchesStableSort() {
+        int[] keys = new Random(42).ints(300_000, 0, 5000).toArray();
+
+        int[] expected = IntStream.range(0, keys.length).boxed()
+                .sorted(Comparator.comparingInt((Integer row) -> keys[row]).reversed())
+                .limit(100)
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        assertArrayEquals(expected, TopKSelector.selectSequential(keys, 100));
+        assertArrayEquals(expected, TopKSelector.selectParallel(keys, 100, ForkJoinPool.commonPool()));
+    }
+}